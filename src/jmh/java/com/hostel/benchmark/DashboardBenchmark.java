@@ -0,0 +1,184 @@
+package com.hostel.benchmark;
+
+import com.hostel.model.Fee;
+import com.hostel.repository.ComplaintRepository;
+import com.hostel.repository.FeeRepository;
+import com.hostel.repository.LeaveRepository;
+import com.hostel.repository.RoomRepository;
+import com.hostel.repository.UserRepository;
+import com.hostel.service.DashboardAggregationService;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The admin dashboard: the aggregation pipelines of {@link DashboardAggregationService} against the
+ * per-status repository counts and revenue sums over loaded fee documents they replaced.
+ *
+ * Needs a running MongoDB, given by the benchmark.mongodb.uri system property of the forked JVM
+ * (default mongodb://localhost:27017/hostel_benchmark).
+ * The database is dropped when the trial ends.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    private static final String[] ROOM_STATUSES = {"AVAILABLE", "OCCUPIED", "OCCUPIED", "MAINTENANCE"};
+    private static final String[] COMPLAINT_STATUSES = {"PENDING", "IN_PROGRESS", "RESOLVED", "CLOSED"};
+    private static final String[] FEE_STATUSES = {"PENDING", "PAID", "PAID", "OVERDUE", "PARTIAL"};
+    private static final String[] LEAVE_STATUSES = {"PENDING", "APPROVED", "REJECTED"};
+
+    @Param({"10000"})
+    public int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private DashboardAggregationService aggregationService;
+    private UserRepository userRepository;
+    private RoomRepository roomRepository;
+    private ComplaintRepository complaintRepository;
+    private FeeRepository feeRepository;
+    private LeaveRepository leaveRepository;
+    private int year;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(MongoBenchmarkConfig.class);
+        aggregationService = context.getBean(DashboardAggregationService.class);
+        userRepository = context.getBean(UserRepository.class);
+        roomRepository = context.getBean(RoomRepository.class);
+        complaintRepository = context.getBean(ComplaintRepository.class);
+        feeRepository = context.getBean(FeeRepository.class);
+        leaveRepository = context.getBean(LeaveRepository.class);
+        year = LocalDate.now().getYear();
+
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        mongoTemplate.getDb().drop();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Document> users = new ArrayList<>();
+        List<Document> rooms = new ArrayList<>();
+        for (int i = 0; i < rows / 10; i++) {
+            users.add(new Document("role", "STUDENT").append("isActive", i % 20 != 0).append("email", "student" + i + "@hostel.test"));
+            rooms.add(new Document("roomNumber", "R" + i).append("status", ROOM_STATUSES[i % ROOM_STATUSES.length])
+                .append("isActive", true).append("capacity", 2));
+        }
+        mongoTemplate.insert(users, "users");
+        mongoTemplate.insert(rooms, "rooms");
+
+        List<Document> complaints = new ArrayList<>(rows);
+        List<Document> fees = new ArrayList<>(rows);
+        List<Document> leaves = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            complaints.add(new Document("status", COMPLAINT_STATUSES[i % COMPLAINT_STATUSES.length])
+                .append("priority", i % 7 == 0 ? "URGENT" : "MEDIUM")
+                .append("expectedResolutionDate", now.plusDays(i % 10 - 5)));
+            fees.add(new Document("status", FEE_STATUSES[i % FEE_STATUSES.length])
+                .append("year", year - i % 2)
+                .append("month", i % 12 + 1)
+                .append("amount", 5000.0)
+                .append("finalAmount", 5000.0)
+                .append("paidAmount", i % 2 == 0 ? 5000.0 : 0.0)
+                .append("balanceAmount", i % 2 == 0 ? 0.0 : 5000.0));
+            leaves.add(new Document("status", LEAVE_STATUSES[i % LEAVE_STATUSES.length])
+                .append("endDate", now.toLocalDate().plusDays(i % 10 - 5)));
+        }
+        mongoTemplate.insert(complaints, "complaints");
+        mongoTemplate.insert(fees, "fees");
+        mongoTemplate.insert(leaves, "leaves");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(MongoTemplate.class).getDb().drop();
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> aggregationPipelines() {
+        return aggregationService.getAdminDashboardStats(year, LocalDateTime.now());
+    }
+
+    /**
+     * The path the pipelines replaced: one count query per figure, and the paid and outstanding
+     * fees of the year loaded as documents to sum their amounts in the heap.
+     */
+    @Benchmark
+    public Map<String, Object> repositoryCountsAndLoadedFees() {
+        Map<String, Object> stats = new HashMap<>();
+
+        Map<String, Object> studentStats = new HashMap<>();
+        studentStats.put("total", userRepository.countByRoleAndIsActive("STUDENT", true));
+        studentStats.put("active", userRepository.countByRoleAndIsActive("STUDENT", true));
+        stats.put("students", studentStats);
+
+        Map<String, Object> roomStats = new HashMap<>();
+        long totalRooms = roomRepository.countByIsActive(true);
+        long occupiedRooms = roomRepository.countByStatusAndIsActive("OCCUPIED", true);
+        roomStats.put("total", totalRooms);
+        roomStats.put("occupied", occupiedRooms);
+        roomStats.put("available", totalRooms - occupiedRooms);
+        roomStats.put("occupancyRate", totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0);
+        stats.put("rooms", roomStats);
+
+        Map<String, Object> complaintStats = new HashMap<>();
+        complaintStats.put("pending", complaintRepository.countByStatus("PENDING"));
+        complaintStats.put("overdue", complaintRepository.findOverdueComplaints(LocalDateTime.now()).size());
+        stats.put("complaints", complaintStats);
+
+        Map<String, Object> feeStats = new HashMap<>();
+        feeStats.put("pending", feeRepository.countByStatus("PENDING"));
+        feeStats.put("overdue", feeRepository.countByStatus("OVERDUE"));
+        feeStats.put("totalRevenue", feeRepository.findPaidFeesByYear(year).stream().mapToDouble(Fee::getFinalAmount).sum());
+        feeStats.put("pendingRevenue", feeRepository.findPendingFeesByYear(year).stream().mapToDouble(Fee::getBalanceAmount).sum());
+        stats.put("fees", feeStats);
+
+        Map<String, Object> leaveStats = new HashMap<>();
+        leaveStats.put("pending", leaveRepository.countByStatus("PENDING"));
+        stats.put("leaves", leaveStats);
+
+        return stats;
+    }
+
+    /**
+     * Just the Mongo client, template, repositories and the aggregation service; nothing else of the
+     * application context is needed to run either path.
+     */
+    @Configuration
+    @EnableMongoRepositories(basePackageClasses = UserRepository.class)
+    @Import(DashboardAggregationService.class)
+    static class MongoBenchmarkConfig {
+
+        private final ConnectionString connectionString = new ConnectionString(
+            System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017/hostel_benchmark"));
+
+        @Bean(destroyMethod = "close")
+        MongoClient mongoClient() {
+            return MongoClients.create(connectionString);
+        }
+
+        @Bean
+        MongoTemplate mongoTemplate(MongoClient mongoClient) {
+            return new MongoTemplate(mongoClient, connectionString.getDatabase());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.yourproject.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Boots the JPA service layer against an in-memory H2 database for the repository-backed benchmarks.
+ */
+@SpringBootApplication(scanBasePackages = "com.yourproject",
+    exclude = {MongoAutoConfiguration.class, MongoDataAutoConfiguration.class, MongoRepositoriesAutoConfiguration.class})
+@EntityScan("com.yourproject.entity")
+@EnableJpaRepositories("com.yourproject.repository")
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext start() {
+        SpringApplication application = new SpringApplication(BenchmarkApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("benchmark");
+        return application.run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.yourproject.benchmark;
+
+import com.yourproject.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Detached entity graphs shaped like the ones the services load, for the in-memory benchmarks
+ * and for seeding the embedded database.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User student(long index) {
+        User user = new User();
+        user.setFirstName("Student");
+        user.setLastName("No" + index);
+        user.setEmail("student" + index + "@benchmark.local");
+        user.setPassword("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchma");
+        user.setRole(Role.STUDENT);
+        user.setPhone("9000000000");
+        user.setDateOfBirth(LocalDate.of(2002, 1, 1));
+        user.setGender(Gender.OTHER);
+        user.setStudentId("STU" + index);
+        user.setCourse("B.Tech");
+        user.setYear(2);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    public static User admin() {
+        User user = student(0);
+        user.setEmail("admin@benchmark.local");
+        user.setRole(Role.ADMIN);
+        user.setStudentId(null);
+        user.setEmployeeId("EMP0");
+        return user;
+    }
+
+    public static Room room(long index) {
+        Room room = new Room();
+        room.setRoomNumber("R" + index);
+        room.setFloor(1);
+        room.setBlock("A");
+        room.setType(RoomType.DOUBLE);
+        room.setCapacity(2);
+        room.setMonthlyRent(new BigDecimal("5000.00"));
+        room.setSecurityDeposit(new BigDecimal("10000.00"));
+        room.setCreatedAt(LocalDateTime.now());
+        room.setUpdatedAt(LocalDateTime.now());
+        return room;
+    }
+
+    public static Occupancy occupancy(Room room, User student, int bedNumber) {
+        Occupancy occupancy = new Occupancy();
+        occupancy.setRoom(room);
+        occupancy.setStudent(student);
+        occupancy.setBedNumber(bedNumber);
+        occupancy.setAllocatedDate(LocalDate.now().minusMonths(3));
+        occupancy.setCreatedAt(LocalDateTime.now());
+        room.getOccupancies().add(occupancy);
+        student.getOccupancies().add(occupancy);
+        return occupancy;
+    }
+
+    public static Fee fee(User student, Room room, long index, BigDecimal paidAmount) {
+        Fee fee = new Fee();
+        fee.setStudent(student);
+        fee.setRoom(room);
+        fee.setFeeType(FeeType.values()[(int) (index % FeeType.values().length)]);
+        fee.setAmount(new BigDecimal("5000.00"));
+        fee.setLateFee(new BigDecimal("100.00"));
+        fee.setDiscount(new BigDecimal("250.00"));
+        fee.setPaidAmount(paidAmount);
+        fee.setFinalAmount(new BigDecimal("4850.00"));
+        fee.setBalanceAmount(new BigDecimal("4850.00").subtract(paidAmount));
+        fee.setDueDate(LocalDate.now().minusDays(index % 60));
+        fee.setMonth((int) (index % 12) + 1);
+        fee.setYear(LocalDate.now().getYear());
+        fee.setStatus(FeeStatus.values()[(int) (index % 4)]);
+        fee.setDescription("Benchmark fee " + index);
+        fee.setCreatedAt(LocalDateTime.now());
+        fee.setUpdatedAt(LocalDateTime.now());
+        return fee;
+    }
+
+    public static Complaint complaint(User reportedBy, Room room, long index) {
+        Complaint complaint = new Complaint();
+        complaint.setComplaintIdString("CMP" + index);
+        complaint.setTitle("Benchmark complaint " + index);
+        complaint.setDescription("Tap leaking in the bathroom");
+        complaint.setCategory(ComplaintCategory.values()[(int) (index % ComplaintCategory.values().length)]);
+        complaint.setPriority(ComplaintPriority.values()[(int) (index % ComplaintPriority.values().length)]);
+        complaint.setStatus(ComplaintStatus.values()[(int) (index % ComplaintStatus.values().length)]);
+        complaint.setReportedBy(reportedBy);
+        complaint.setRoom(room);
+        complaint.setExpectedResolutionDate(LocalDate.now().minusDays(1));
+        complaint.getTags().add("plumbing");
+        complaint.setCreatedAt(LocalDateTime.now().minusDays(5));
+        complaint.setUpdatedAt(LocalDateTime.now());
+        return complaint;
+    }
+
+    public static Leave leave(User student, long index) {
+        Leave leave = new Leave();
+        leave.setLeaveIdString("LV" + index);
+        leave.setStudent(student);
+        leave.setLeaveType(LeaveType.HOME);
+        leave.setStartDate(LocalDate.now().minusDays(10));
+        leave.setEndDate(LocalDate.now().minusDays(2));
+        leave.setReason("Going home for the weekend");
+        leave.setStatus(LeaveStatus.APPROVED);
+        leave.setCreatedAt(LocalDateTime.now());
+        leave.setUpdatedAt(LocalDateTime.now());
+        return leave;
+    }
+}
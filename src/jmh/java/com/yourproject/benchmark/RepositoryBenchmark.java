@@ -0,0 +1,107 @@
+package com.yourproject.benchmark;
+
+import com.yourproject.dto.ComplaintDto;
+import com.yourproject.dto.FeeDto;
+import com.yourproject.entity.Room;
+import com.yourproject.entity.User;
+import com.yourproject.repository.ComplaintRepository;
+import com.yourproject.repository.FeeRepository;
+import com.yourproject.repository.RoomRepository;
+import com.yourproject.repository.UserRepository;
+import com.yourproject.service.ComplaintService;
+import com.yourproject.service.FeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The paged list endpoints end to end (specification, query, lazy loads and DTO conversion)
+ * against a seeded in-memory H2 database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    @Param({"5000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private FeeService feeService;
+    private ComplaintService complaintService;
+    private User admin;
+    private User student;
+    private Pageable pageable;
+    private int year;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        feeService = context.getBean(FeeService.class);
+        complaintService = context.getBean(ComplaintService.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoomRepository roomRepository = context.getBean(RoomRepository.class);
+        FeeRepository feeRepository = context.getBean(FeeRepository.class);
+        ComplaintRepository complaintRepository = context.getBean(ComplaintRepository.class);
+
+        admin = userRepository.save(BenchmarkFixtures.admin());
+        List<User> students = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            students.add(BenchmarkFixtures.student(i));
+        }
+        students = userRepository.saveAll(students);
+        student = students.get(0);
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            rooms.add(BenchmarkFixtures.room(i));
+        }
+        rooms = roomRepository.saveAll(rooms);
+
+        List<com.yourproject.entity.Fee> fees = new ArrayList<>(rows);
+        List<com.yourproject.entity.Complaint> complaints = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            User owner = students.get(i % students.size());
+            Room room = rooms.get(i % rooms.size());
+            fees.add(BenchmarkFixtures.fee(owner, room, i, BigDecimal.ZERO));
+            complaints.add(BenchmarkFixtures.complaint(owner, room, i));
+        }
+        feeRepository.saveAll(fees);
+        complaintRepository.saveAll(complaints);
+
+        pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+        year = LocalDate.now().getYear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<FeeDto> getAllFeesAsAdmin() {
+        return feeService.getAllFees(pageable, admin, "PENDING", null, null, year);
+    }
+
+    @Benchmark
+    public Page<FeeDto> getAllFeesAsStudent() {
+        return feeService.getAllFees(pageable, student, null, null, null, null);
+    }
+
+    @Benchmark
+    public Page<ComplaintDto> getAllComplaintsAsAdmin() {
+        return complaintService.getAllComplaints(pageable, admin, "PENDING", "PLUMBING", null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.yourproject.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the fee reminder email for a batch of recipients: a full Thymeleaf render per recipient
+ * (parsed template cached by the resolver) against one render plus a string merge per recipient.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private static final String TEMPLATE = "fee-reminder-email";
+    private static final List<String> VARIABLES = List.of("subject", "firstName", "feeType", "amountDue", "dueDate");
+
+    @Param({"10000"})
+    public int recipients;
+
+    private SpringTemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+    private List<Map<String, Object>> recipientValues;
+
+    @Setup
+    public void setUp() {
+        // Same location and settings as ThymeleafConfig, without needing an application context
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/email/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.addTemplateResolver(resolver);
+        renderer = new EmailTemplateRenderer(templateEngine, true);
+
+        recipientValues = new ArrayList<>(recipients);
+        for (int i = 0; i < recipients; i++) {
+            Map<String, Object> values = new HashMap<>();
+            values.put("subject", "Fee Reminder: HOSTEL_FEE due on 2024-07-31");
+            values.put("firstName", "Student" + i);
+            values.put("feeType", "HOSTEL_FEE");
+            values.put("amountDue", String.format("%.2f", 1000.0 + i));
+            values.put("dueDate", LocalDate.of(2024, 7, 31));
+            recipientValues.add(values);
+        }
+    }
+
+    @Benchmark
+    public void renderPerRecipient(Blackhole blackhole) {
+        for (Map<String, Object> values : recipientValues) {
+            Context context = new Context(Locale.ENGLISH);
+            context.setVariables(values);
+            blackhole.consume(templateEngine.process(TEMPLATE, context));
+        }
+    }
+
+    @Benchmark
+    public void renderOnceMergeMany(Blackhole blackhole) {
+        EmailTemplateRenderer.CompiledTemplate template = renderer.template(TEMPLATE, Locale.ENGLISH, VARIABLES);
+        for (Map<String, Object> values : recipientValues) {
+            blackhole.consume(template.merge(values));
+        }
+    }
+}
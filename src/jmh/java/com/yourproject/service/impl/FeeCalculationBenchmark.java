@@ -0,0 +1,52 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.benchmark.BenchmarkApplication;
+import com.yourproject.benchmark.BenchmarkFixtures;
+import com.yourproject.entity.Fee;
+import com.yourproject.service.FeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * calculateFeeAmountsAndStatus for the unpaid, partially paid and fully paid branches.
+ * The paid fixture already carries a receipt number, so the ID generator is never reached.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeeCalculationBenchmark {
+
+    @Param({"0.00", "1000.00", "4850.00"})
+    public String paidAmount;
+
+    private ConfigurableApplicationContext context;
+    private FeeServiceImpl feeService;
+    private Fee fee;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        // Package-private, so called on the bean behind the transactional proxy
+        feeService = AopTestUtils.getUltimateTargetObject(context.getBean(FeeService.class));
+        fee = BenchmarkFixtures.fee(BenchmarkFixtures.student(1), null, 1, new BigDecimal(paidAmount));
+        fee.setReceiptNumber("RCPT-BENCHMARK");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Fee calculateFeeAmountsAndStatus() {
+        feeService.calculateFeeAmountsAndStatus(fee);
+        return fee;
+    }
+}
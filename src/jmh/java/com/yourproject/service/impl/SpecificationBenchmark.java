@@ -0,0 +1,74 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.benchmark.BenchmarkApplication;
+import com.yourproject.benchmark.BenchmarkFixtures;
+import com.yourproject.entity.Complaint;
+import com.yourproject.entity.Fee;
+import com.yourproject.entity.User;
+import com.yourproject.service.ComplaintService;
+import com.yourproject.service.FeeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the getAllFees / getAllComplaints specifications and turning them into criteria
+ * predicates with Hibernate's CriteriaBuilder. No SQL is executed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private FeeServiceImpl feeService;
+    private ComplaintServiceImpl complaintService;
+    private User student;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        // The builders are package-private, so they are called on the beans behind the transactional proxies
+        feeService = AopTestUtils.getUltimateTargetObject(context.getBean(FeeService.class));
+        complaintService = AopTestUtils.getUltimateTargetObject(context.getBean(ComplaintService.class));
+        student = BenchmarkFixtures.student(1);
+        student.setId(1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate feeSpecification() {
+        CriteriaQuery<Fee> query = criteriaBuilder.createQuery(Fee.class);
+        Root<Fee> root = query.from(Fee.class);
+        return feeService.buildFeeSpecification(student, "pending", "room_rent", 6, 2024)
+            .toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public Predicate complaintSpecification() {
+        CriteriaQuery<Complaint> query = criteriaBuilder.createQuery(Complaint.class);
+        Root<Complaint> root = query.from(Complaint.class);
+        return complaintService.buildComplaintSpecification(student, "pending", "plumbing", "high")
+            .toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,76 @@
+package com.yourproject.util;
+
+import com.yourproject.entity.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing as done on every authenticated request: claim extraction and both validateToken
+ * variants, plus the filter's single parseClaims call with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil(10000);
+        uncachedJwtUtil = newJwtUtil(0);
+        token = jwtUtil.generateAccessToken("student1@benchmark.local", 1L, Role.STUDENT);
+        userDetails = new org.springframework.security.core.userdetails.User(
+            "student1@benchmark.local", "", Collections.emptyList());
+    }
+
+    private static JwtUtil newJwtUtil(int verifiedCacheMaxSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secretKeyString", "benchmarkSecretKeyWhichIsLongEnoughForHs256Signing");
+        ReflectionTestUtils.setField(util, "accessTokenExpirationMs", 3600000L);
+        ReflectionTestUtils.setField(util, "refreshTokenExpirationMs", 604800000L);
+        ReflectionTestUtils.setField(util, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        util.init();
+        return util;
+    }
+
+    @Benchmark
+    public Boolean filterPathCached() {
+        return jwtUtil.validateClaims(jwtUtil.parseClaims(token), userDetails);
+    }
+
+    @Benchmark
+    public Boolean filterPathUncached() {
+        return uncachedJwtUtil.validateClaims(uncachedJwtUtil.parseClaims(token), userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateTokenForUser() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
@@ -42,9 +42,14 @@ public class AdminController {
     public ResponseEntity<?> getAllStudents(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Map<String, Object> result = userService.getStudentsWithPagination(page, limit, search);
+            // A cursor (empty for the first page) switches to keyset pagination
+            Map<String, Object> result = cursor != null
+                ? userService.getStudentsWithPagination(cursor, limit, includeTotal, search)
+                : userService.getStudentsWithPagination(page, limit, search);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
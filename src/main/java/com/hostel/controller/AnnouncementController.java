@@ -23,12 +23,17 @@ public class AnnouncementController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) String priority) {
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
             String userId = (String) request.getAttribute("userId");
             String userRole = (String) request.getAttribute("userRole");
             
-            Map<String, Object> result = announcementService.getAllAnnouncements(userId, userRole, page, limit, type, priority);
+            // A cursor (empty for the first page) switches to keyset pagination
+            Map<String, Object> result = cursor != null
+                ? announcementService.getAllAnnouncements(userId, userRole, cursor, limit, includeTotal, type, priority)
+                : announcementService.getAllAnnouncements(userId, userRole, page, limit, type, priority);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -24,12 +24,17 @@ public class ComplaintController {
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String priority) {
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
             String userId = (String) request.getAttribute("userId");
             String userRole = (String) request.getAttribute("userRole");
             
-            Map<String, Object> result = complaintService.getAllComplaints(userId, userRole, page, limit, status, category, priority);
+            // A cursor (empty for the first page) switches to keyset pagination
+            Map<String, Object> result = cursor != null
+                ? complaintService.getAllComplaints(userId, userRole, cursor, limit, includeTotal, status, category, priority)
+                : complaintService.getAllComplaints(userId, userRole, page, limit, status, category, priority);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
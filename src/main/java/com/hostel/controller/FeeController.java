@@ -23,12 +23,17 @@ public class FeeController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String feeType) {
+            @RequestParam(required = false) String feeType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
             String userId = (String) request.getAttribute("userId");
             String userRole = (String) request.getAttribute("userRole");
             
-            Map<String, Object> result = feeService.getAllFees(userId, userRole, page, limit, status, feeType);
+            // A cursor (empty for the first page) switches to keyset pagination
+            Map<String, Object> result = cursor != null
+                ? feeService.getAllFees(userId, userRole, cursor, limit, includeTotal, status, feeType)
+                : feeService.getAllFees(userId, userRole, page, limit, status, feeType);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
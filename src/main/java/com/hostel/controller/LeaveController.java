@@ -23,12 +23,17 @@ public class LeaveController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String leaveType) {
+            @RequestParam(required = false) String leaveType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
             String userId = (String) request.getAttribute("userId");
             String userRole = (String) request.getAttribute("userRole");
             
-            Map<String, Object> result = leaveService.getAllLeaves(userId, userRole, page, limit, status, leaveType);
+            // A cursor (empty for the first page) switches to keyset pagination
+            Map<String, Object> result = cursor != null
+                ? leaveService.getAllLeaves(userId, userRole, cursor, limit, includeTotal, status, leaveType)
+                : leaveService.getAllLeaves(userId, userRole, page, limit, status, leaveType);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -21,9 +21,14 @@ public class RoomController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String block) {
+            @RequestParam(required = false) String block,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Map<String, Object> result = roomService.getAllRooms(page, limit, status, block);
+            // A cursor (empty for the first page) switches to keyset pagination
+            Map<String, Object> result = cursor != null
+                ? roomService.getAllRooms(cursor, limit, includeTotal, status, block)
+                : roomService.getAllRooms(page, limit, status, block);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
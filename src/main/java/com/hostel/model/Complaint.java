@@ -4,6 +4,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Document(collection = "complaints")
+@CompoundIndex(name = "createdAt_id_keyset", def = "{'createdAt': -1, '_id': -1}") // Cursor pagination
 public class Complaint {
     @Id
     private String id;
@@ -4,6 +4,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Document(collection = "fees")
+@CompoundIndex(name = "dueDate_id_keyset", def = "{'dueDate': -1, '_id': -1}") // Cursor pagination
 public class Fee {
     @Id
     private String id;
@@ -3,7 +3,9 @@ package com.hostel.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.Email;
@@ -13,6 +15,7 @@ import java.time.LocalDateTime;
 import java.time.LocalDate;
 
 @Document(collection = "users")
+@CompoundIndex(name = "role_firstName_id_keyset", def = "{'role': 1, 'firstName': 1, '_id': 1}") // Cursor pagination
 public class User {
     @Id
     private String id;
@@ -54,6 +57,8 @@ public class User {
     // Common fields
     private boolean isActive = true;
     private String profileImage;
+    // Written only by LoginActivityRecorder ($max update); a full save of a stale copy must not roll it back
+    @ReadOnlyProperty
     private LocalDateTime lastLogin;
     
     @CreatedDate
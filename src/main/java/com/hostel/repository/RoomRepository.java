@@ -25,13 +25,14 @@ public interface RoomRepository extends MongoRepository<Room, String> {
     
     List<Room> findByBlockAndFloor(String block, Integer floor);
     
-    @Query("{ 'isActive': true, 'status': 'AVAILABLE', 'currentOccupancy': { '$lt': '$capacity' } }")
+    // $expr compares the two fields; a plain { $lt: '$capacity' } would compare against the string literal
+    @Query("{ 'isActive': true, 'status': 'AVAILABLE', '$expr': { '$lt': ['$currentOccupancy', '$capacity'] } }")
     List<Room> findAvailableRooms();
     
-    @Query("{ 'isActive': true, 'status': 'AVAILABLE', 'currentOccupancy': { '$lt': '$capacity' }, 'type': ?0 }")
+    @Query("{ 'isActive': true, 'status': 'AVAILABLE', '$expr': { '$lt': ['$currentOccupancy', '$capacity'] }, 'type': ?0 }")
     List<Room> findAvailableRoomsByType(String type);
     
-    @Query("{ 'isActive': true, 'status': 'AVAILABLE', 'currentOccupancy': { '$lt': '$capacity' }, 'block': ?0 }")
+    @Query("{ 'isActive': true, 'status': 'AVAILABLE', '$expr': { '$lt': ['$currentOccupancy', '$capacity'] }, 'block': ?0 }")
     List<Room> findAvailableRoomsByBlock(String block);
     
     long countByIsActive(boolean isActive);
@@ -1,6 +1,7 @@
 package com.hostel.security;
 
 import com.hostel.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,11 +34,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwtToken = null;
+        Claims claims = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                claims = jwtUtil.parseClaims(jwtToken); // Single verification per request
+                username = claims.getSubject();
             } catch (IllegalArgumentException e) {
                 logger.error("Unable to get JWT Token");
             } catch (Exception e) {
@@ -46,9 +49,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwtToken, username)) {
-                String role = jwtUtil.extractRole(jwtToken);
-                String userId = jwtUtil.extractUserId(jwtToken);
+            if (jwtUtil.validateClaims(claims, username)) {
+                String role = claims.get("role", String.class);
+                String userId = claims.get("userId", String.class);
                 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
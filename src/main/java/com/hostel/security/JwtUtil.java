@@ -2,6 +2,9 @@ package com.hostel.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +23,42 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Key signingKey;
+    private JwtParser parser; // Immutable and thread-safe; built once for the key
+    private VerifiedTokenCache verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxSize);
+        if (meterRegistry != null) {
+            verifiedTokens.bindTo(meterRegistry, "mongo");
+        }
+    }
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
+    }
+
+    /**
+     * Verifies the token and returns its claims, answering repeat tokens from the verified-token
+     * cache until they expire. The returned claims are read-only.
+     */
+    public Claims parseClaims(String token) {
+        Claims claims = verifiedTokens.get(token);
+        if (claims == null) {
+            claims = verifiedTokens.put(token, parser.parseClaimsJws(token).getBody());
+        }
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -46,15 +83,11 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public String generateToken(String userId, String username, String role) {
@@ -75,16 +108,16 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return validateClaims(parseClaims(token), username);
+    }
+
+    public Boolean validateClaims(Claims claims, String username) {
+        return (claims.getSubject().equals(username) && !isTokenExpired(claims));
     }
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
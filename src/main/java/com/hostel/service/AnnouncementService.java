@@ -19,6 +19,9 @@ public class AnnouncementService {
     @Autowired
     private AnnouncementRepository announcementRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
     public Map<String, Object> getAllAnnouncements(String userId, String userRole, int page, int limit, String type, String priority) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("createdAt").descending());
         
@@ -37,6 +40,11 @@ public class AnnouncementService {
         return result;
     }
 
+    public Map<String, Object> getAllAnnouncements(String userId, String userRole, String cursor, int limit, boolean includeTotal, String type, String priority) {
+        // Same listing as the offset variant, paged by (createdAt, _id)
+        return keysetPaginator.page(Announcement.class, null, Sort.Order.desc("createdAt"), cursor, limit, includeTotal, "announcements");
+    }
+
     public Map<String, Object> toggleLike(String announcementId, String userId) {
         Optional<Announcement> announcementOpt = announcementRepository.findById(announcementId);
         if (announcementOpt.isPresent()) {
@@ -19,6 +19,9 @@ public class ComplaintService {
     @Autowired
     private ComplaintRepository complaintRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
     public Map<String, Object> getAllComplaints(String userId, String userRole, int page, int limit, String status, String category, String priority) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("createdAt").descending());
         
@@ -36,4 +39,9 @@ public class ComplaintService {
         
         return result;
     }
+
+    public Map<String, Object> getAllComplaints(String userId, String userRole, String cursor, int limit, boolean includeTotal, String status, String category, String priority) {
+        // Same listing as the offset variant, paged by (createdAt, _id)
+        return keysetPaginator.page(Complaint.class, null, Sort.Order.desc("createdAt"), cursor, limit, includeTotal, "complaints");
+    }
 }
\ No newline at end of file
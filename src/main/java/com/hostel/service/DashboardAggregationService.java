@@ -0,0 +1,309 @@
+package com.hostel.service;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes dashboard counters with server-side aggregation pipelines instead of
+ * loading documents into the heap. Each collection is covered by a single
+ * $group / $facet pipeline and the pipelines run in parallel.
+ */
+@Service
+public class DashboardAggregationService {
+
+    private static final List<String> OPEN_COMPLAINT_STATUSES = Arrays.asList("PENDING", "IN_PROGRESS");
+    private static final List<String> OUTSTANDING_FEE_STATUSES = Arrays.asList("PENDING", "OVERDUE", "PARTIAL");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(5, new DashboardThreadFactory());
+
+    /**
+     * Room counts per status for active rooms.
+     */
+    public Map<String, Long> countRoomsByStatus() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("isActive").is(true)),
+                Aggregation.group("status").count().as("count")
+        );
+        return toStatusCounts(mongoTemplate.aggregate(aggregation, "rooms", Document.class).getMappedResults());
+    }
+
+    /**
+     * Complaint counts per status plus the number of open complaints past their expected resolution date.
+     */
+    public ComplaintCounters countComplaints(LocalDateTime now) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.facet(Aggregation.group("status").count().as("count")).as("byStatus")
+                        .and(
+                                Aggregation.match(Criteria.where("status").in(OPEN_COMPLAINT_STATUSES)
+                                        .and("expectedResolutionDate").lt(now)),
+                                Aggregation.count().as("count")
+                        ).as("overdue")
+                        .and(
+                                Aggregation.match(Criteria.where("priority").is("URGENT")
+                                        .and("status").in(OPEN_COMPLAINT_STATUSES)),
+                                Aggregation.count().as("count")
+                        ).as("urgent")
+        );
+        Document facets = uniqueFacetResult(mongoTemplate.aggregate(aggregation, "complaints", Document.class));
+
+        ComplaintCounters counters = new ComplaintCounters();
+        counters.byStatus = toStatusCounts(facets.getList("byStatus", Document.class));
+        counters.overdue = firstLong(facets.getList("overdue", Document.class), "count");
+        counters.urgent = firstLong(facets.getList("urgent", Document.class), "count");
+        return counters;
+    }
+
+    /**
+     * Fee counts per status across all years, plus collected and outstanding revenue for the given year.
+     */
+    public FeeCounters countFees(int year) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.facet(Aggregation.group("status").count().as("count")).as("byStatus")
+                        .and(
+                                Aggregation.match(Criteria.where("status").is("PAID").and("year").is(year)),
+                                Aggregation.group().sum("finalAmount").as("total")
+                        ).as("revenue")
+                        .and(
+                                Aggregation.match(Criteria.where("status").in(OUTSTANDING_FEE_STATUSES).and("year").is(year)),
+                                Aggregation.group().sum("balanceAmount").as("total")
+                        ).as("pendingRevenue")
+        );
+        Document facets = uniqueFacetResult(mongoTemplate.aggregate(aggregation, "fees", Document.class));
+
+        FeeCounters counters = new FeeCounters();
+        counters.byStatus = toStatusCounts(facets.getList("byStatus", Document.class));
+        counters.totalRevenue = firstDouble(facets.getList("revenue", Document.class), "total");
+        counters.pendingRevenue = firstDouble(facets.getList("pendingRevenue", Document.class), "total");
+        return counters;
+    }
+
+    /**
+     * Collected (PAID final amount) and outstanding (balance amount) fee totals grouped by year.
+     */
+    public FeeTotals sumFeeTotalsByYear() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.facet(
+                                Aggregation.match(Criteria.where("status").is("PAID")),
+                                Aggregation.group("year").sum("finalAmount").as("total")
+                        ).as("revenue")
+                        .and(
+                                Aggregation.match(Criteria.where("status").in(OUTSTANDING_FEE_STATUSES)),
+                                Aggregation.group("year").sum("balanceAmount").as("total")
+                        ).as("pendingRevenue")
+        );
+        Document facets = uniqueFacetResult(mongoTemplate.aggregate(aggregation, "fees", Document.class));
+
+        FeeTotals totals = new FeeTotals();
+        totals.revenueByYear = toYearTotals(facets.getList("revenue", Document.class));
+        totals.pendingRevenueByYear = toYearTotals(facets.getList("pendingRevenue", Document.class));
+        return totals;
+    }
+
+    /**
+     * Leave counts per status.
+     */
+    public Map<String, Long> countLeavesByStatus() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("status").count().as("count")
+        );
+        return toStatusCounts(mongoTemplate.aggregate(aggregation, "leaves", Document.class).getMappedResults());
+    }
+
+    public long countOverdueLeaves(LocalDate today) {
+        Query query = new Query(Criteria.where("status").is("APPROVED")
+                .and("endDate").lt(today)
+                .and("actualReturnDate").exists(false));
+        return mongoTemplate.count(query, "leaves");
+    }
+
+    public long countActiveStudents() {
+        Query query = new Query(Criteria.where("role").is("STUDENT").and("isActive").is(true));
+        return mongoTemplate.count(query, "users");
+    }
+
+    /**
+     * Runs every collection pipeline in parallel and assembles the admin dashboard map
+     * in the same shape {@link DashboardService#getAdminDashboardStats()} has always returned.
+     * Statuses are grouped as stored (uppercase, see the models); the response keys stay lowercase.
+     */
+    public Map<String, Object> getAdminDashboardStats(int year, LocalDateTime now) {
+        CompletableFuture<Long> students = CompletableFuture.supplyAsync(this::countActiveStudents, executor);
+        CompletableFuture<Map<String, Long>> rooms = CompletableFuture.supplyAsync(this::countRoomsByStatus, executor);
+        CompletableFuture<ComplaintCounters> complaints = CompletableFuture.supplyAsync(() -> countComplaints(now), executor);
+        CompletableFuture<FeeCounters> fees = CompletableFuture.supplyAsync(() -> countFees(year), executor);
+        CompletableFuture<Map<String, Long>> leaves = CompletableFuture.supplyAsync(this::countLeavesByStatus, executor);
+
+        try {
+            CompletableFuture.allOf(students, rooms, complaints, fees, leaves).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+
+        Map<String, Object> studentStats = new HashMap<>();
+        studentStats.put("total", students.join());
+        studentStats.put("active", students.join());
+        stats.put("students", studentStats);
+
+        Map<String, Long> roomCounts = rooms.join();
+        long totalRooms = sum(roomCounts.values());
+        long occupiedRooms = roomCounts.getOrDefault("OCCUPIED", 0L);
+        Map<String, Object> roomStats = new HashMap<>();
+        roomStats.put("total", totalRooms);
+        roomStats.put("occupied", occupiedRooms);
+        roomStats.put("available", totalRooms - occupiedRooms);
+        roomStats.put("occupancyRate", totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0);
+        stats.put("rooms", roomStats);
+
+        ComplaintCounters complaintCounters = complaints.join();
+        Map<String, Object> complaintStats = new HashMap<>();
+        complaintStats.put("pending", complaintCounters.byStatus.getOrDefault("PENDING", 0L));
+        complaintStats.put("overdue", (int) complaintCounters.overdue);
+        stats.put("complaints", complaintStats);
+
+        FeeCounters feeCounters = fees.join();
+        Map<String, Object> feeStats = new HashMap<>();
+        feeStats.put("pending", feeCounters.byStatus.getOrDefault("PENDING", 0L));
+        feeStats.put("overdue", feeCounters.byStatus.getOrDefault("OVERDUE", 0L));
+        feeStats.put("totalRevenue", feeCounters.totalRevenue);
+        feeStats.put("pendingRevenue", feeCounters.pendingRevenue);
+        stats.put("fees", feeStats);
+
+        Map<String, Object> leaveStats = new HashMap<>();
+        leaveStats.put("pending", leaves.join().getOrDefault("PENDING", 0L));
+        stats.put("leaves", leaveStats);
+
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static Document uniqueFacetResult(AggregationResults<Document> results) {
+        Document document = results.getUniqueMappedResult();
+        return document != null ? document : new Document();
+    }
+
+    private static Map<String, Long> toStatusCounts(List<Document> groups) {
+        Map<String, Long> counts = new HashMap<>();
+        if (groups == null) {
+            return counts;
+        }
+        for (Document group : groups) {
+            Object status = group.get("_id");
+            Number count = group.get("count", Number.class);
+            counts.put(status != null ? status.toString() : null, count != null ? count.longValue() : 0L);
+        }
+        return counts;
+    }
+
+    private static Map<Integer, Double> toYearTotals(List<Document> groups) {
+        Map<Integer, Double> totals = new HashMap<>();
+        if (groups == null) {
+            return totals;
+        }
+        for (Document group : groups) {
+            Number year = group.get("_id", Number.class);
+            Number total = group.get("total", Number.class);
+            if (year != null) {
+                totals.put(year.intValue(), total != null ? total.doubleValue() : 0.0);
+            }
+        }
+        return totals;
+    }
+
+    private static long firstLong(List<Document> documents, String field) {
+        if (documents == null || documents.isEmpty()) {
+            return 0L;
+        }
+        Number value = documents.get(0).get(field, Number.class);
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private static double firstDouble(List<Document> documents, String field) {
+        if (documents == null || documents.isEmpty()) {
+            return 0.0;
+        }
+        Number value = documents.get(0).get(field, Number.class);
+        return value != null ? value.doubleValue() : 0.0;
+    }
+
+    private static long sum(Collection<Long> values) {
+        long total = 0;
+        for (Long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    // Result holders
+
+    public static class ComplaintCounters {
+        private Map<String, Long> byStatus = new HashMap<>();
+        private long overdue;
+        private long urgent;
+
+        public Map<String, Long> getByStatus() { return byStatus; }
+        public long getOverdue() { return overdue; }
+        public long getUrgent() { return urgent; }
+    }
+
+    public static class FeeCounters {
+        private Map<String, Long> byStatus = new HashMap<>();
+        private double totalRevenue;
+        private double pendingRevenue;
+
+        public Map<String, Long> getByStatus() { return byStatus; }
+        public double getTotalRevenue() { return totalRevenue; }
+        public double getPendingRevenue() { return pendingRevenue; }
+    }
+
+    public static class FeeTotals {
+        private Map<Integer, Double> revenueByYear = new HashMap<>();
+        private Map<Integer, Double> pendingRevenueByYear = new HashMap<>();
+
+        public Map<Integer, Double> getRevenueByYear() { return revenueByYear; }
+        public Map<Integer, Double> getPendingRevenueByYear() { return pendingRevenueByYear; }
+    }
+
+    private static class DashboardThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "dashboard-agg-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.hostel.service;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies the delta of every saved or deleted room, complaint, fee, leave and user
+ * document to the {@link DashboardCounterStore}. The previous state of an updated
+ * document is read with a narrow projection before the write so that status
+ * transitions move counts between buckets instead of double counting.
+ *
+ * The read and the write are not atomic (the models carry no version to check against),
+ * so concurrent saves of the same document can each move it out of the same bucket and
+ * drift the counters. That drift is left to {@link DashboardCounterStore#reconcile()},
+ * which rebuilds every counter from the collections on its interval.
+ */
+@Component
+public class DashboardCounterListener extends AbstractMongoEventListener<Object> {
+
+    private static final Set<String> TRACKED_COLLECTIONS = new HashSet<>(Arrays.asList(
+            DashboardCounterStore.ROOMS, DashboardCounterStore.COMPLAINTS, DashboardCounterStore.FEES,
+            DashboardCounterStore.LEAVES, DashboardCounterStore.USERS));
+
+    private static final List<String> OUTSTANDING_FEE_STATUSES = Arrays.asList("PENDING", "OVERDUE", "PARTIAL");
+
+    private static final Document PROJECTION = new Document("status", 1)
+            .append("isActive", 1)
+            .append("role", 1)
+            .append("year", 1)
+            .append("finalAmount", 1)
+            .append("balanceAmount", 1);
+
+    @Autowired
+    private DashboardCounterStore counterStore;
+
+    @Autowired
+    @Lazy
+    private MongoTemplate mongoTemplate;
+
+    // Previous state of the document this thread is saving. A save is a single synchronous
+    // before/write/after sequence on the calling thread, so one slot is enough; a save that
+    // throws between the events leaves its entry behind only until the thread's next save.
+    private final ThreadLocal<PendingSave> pendingSave = new ThreadLocal<>();
+
+    // Previous state of the documents matched by this thread's in-flight delete, same rules
+    private final ThreadLocal<PendingDelete> pendingDelete = new ThreadLocal<>();
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Object> event) {
+        pendingSave.remove();
+        String collection = event.getCollectionName();
+        Document document = event.getDocument();
+        if (!TRACKED_COLLECTIONS.contains(collection) || document == null || document.get("_id") == null) {
+            return;
+        }
+        BasicQuery query = new BasicQuery(new Document("_id", document.get("_id")), PROJECTION);
+        Document previous = mongoTemplate.findOne(query, Document.class, collection);
+        if (previous != null) {
+            pendingSave.set(new PendingSave(document, Contribution.of(collection, previous)));
+        }
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        PendingSave pending = pendingSave.get();
+        pendingSave.remove();
+        String collection = event.getCollectionName();
+        Document document = event.getDocument();
+        if (!TRACKED_COLLECTIONS.contains(collection) || document == null) {
+            return;
+        }
+        if (pending != null && pending.document == document) {
+            pending.previous.apply(counterStore, -1);
+        }
+        Contribution.of(collection, document).apply(counterStore, 1);
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<Object> event) {
+        pendingDelete.remove();
+        String collection = event.getCollectionName();
+        if (!TRACKED_COLLECTIONS.contains(collection)) {
+            return;
+        }
+        Document filter = event.getDocument() != null ? event.getDocument() : new Document();
+        List<Document> matched = mongoTemplate.find(new BasicQuery(filter, PROJECTION), Document.class, collection);
+        List<Contribution> contributions = new ArrayList<>(matched.size());
+        for (Document document : matched) {
+            contributions.add(Contribution.of(collection, document));
+        }
+        pendingDelete.set(new PendingDelete(collection, contributions));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        PendingDelete pending = pendingDelete.get();
+        pendingDelete.remove();
+        if (pending == null || !pending.collection.equals(event.getCollectionName())) {
+            return;
+        }
+        for (Contribution contribution : pending.contributions) {
+            contribution.apply(counterStore, -1);
+        }
+    }
+
+    private static class PendingSave {
+        private final Document document;
+        private final Contribution previous;
+
+        PendingSave(Document document, Contribution previous) {
+            this.document = document;
+            this.previous = previous;
+        }
+    }
+
+    private static class PendingDelete {
+        private final String collection;
+        private final List<Contribution> contributions;
+
+        PendingDelete(String collection, List<Contribution> contributions) {
+            this.collection = collection;
+            this.contributions = contributions;
+        }
+    }
+
+    /**
+     * What a single document adds to the counters.
+     */
+    private static class Contribution {
+        private final String collection;
+        private final String key;
+        private final Integer year;
+        private final double revenue;
+        private final double pendingRevenue;
+
+        private Contribution(String collection, String key, Integer year, double revenue, double pendingRevenue) {
+            this.collection = collection;
+            this.key = key;
+            this.year = year;
+            this.revenue = revenue;
+            this.pendingRevenue = pendingRevenue;
+        }
+
+        static Contribution of(String collection, Document document) {
+            String status = document.getString("status");
+            switch (collection) {
+                case DashboardCounterStore.ROOMS:
+                    return new Contribution(collection, Boolean.TRUE.equals(document.get("isActive")) ? status : null, null, 0, 0);
+                case DashboardCounterStore.USERS:
+                    boolean activeStudent = "STUDENT".equals(document.getString("role")) && Boolean.TRUE.equals(document.get("isActive"));
+                    return new Contribution(collection, activeStudent ? "STUDENT" : null, null, 0, 0);
+                case DashboardCounterStore.FEES:
+                    Number year = document.get("year", Number.class);
+                    double revenue = "PAID".equals(status) ? amount(document, "finalAmount") : 0;
+                    double pending = OUTSTANDING_FEE_STATUSES.contains(status) ? amount(document, "balanceAmount") : 0;
+                    return new Contribution(collection, status, year != null ? year.intValue() : null, revenue, pending);
+                default:
+                    return new Contribution(collection, status, null, 0, 0);
+            }
+        }
+
+        void apply(DashboardCounterStore store, int sign) {
+            store.increment(collection, key, sign);
+            store.addRevenue(year, sign * revenue);
+            store.addPendingRevenue(year, sign * pendingRevenue);
+        }
+
+        private static double amount(Document document, String field) {
+            Number value = document.get(field, Number.class);
+            return value != null ? value.doubleValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.hostel.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Materialized dashboard counters. Per-status counts and per-year fee sums are
+ * updated incrementally by {@link DashboardCounterListener} on every write and
+ * corrected periodically from the aggregation pipelines, so dashboard reads never
+ * scan the collections.
+ *
+ * Time-dependent counters (overdue/urgent complaints, overdue leaves) cannot be
+ * maintained from write events alone and are refreshed by the reconciliation job.
+ *
+ * Deltas applied while a reconciliation runs are journaled and merged into the rebuilt
+ * counters before they are swapped in. A write that lands while the pipelines are still
+ * reading can be counted both by them and by its delta; the next pass corrects it.
+ */
+@Component
+public class DashboardCounterStore {
+
+    public static final String ROOMS = "rooms";
+    public static final String COMPLAINTS = "complaints";
+    public static final String FEES = "fees";
+    public static final String LEAVES = "leaves";
+    public static final String USERS = "users";
+
+    @Autowired
+    private DashboardAggregationService dashboardAggregationService;
+
+    private volatile Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile Map<Integer, DoubleAdder> revenueByYear = new ConcurrentHashMap<>();
+    private volatile Map<Integer, DoubleAdder> pendingRevenueByYear = new ConcurrentHashMap<>();
+
+    // Deltas applied since the running reconciliation started (null when none is running).
+    // Writers hold the read lock so the swap, under the write lock, never misses one.
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Map<String, LongAdder> journalCounts;
+    private Map<Integer, DoubleAdder> journalRevenue;
+    private Map<Integer, DoubleAdder> journalPendingRevenue;
+
+    private volatile long overdueComplaints;
+    private volatile long urgentComplaints;
+    private volatile long overdueLeaves;
+    private volatile LocalDateTime lastReconciledAt;
+
+    public boolean isInitialized() {
+        return lastReconciledAt != null;
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    public long getCount(String collection, String key) {
+        LongAdder adder = counts.get(counterKey(collection, key));
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public long getTotal(String collection) {
+        String prefix = collection + ":";
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                total += entry.getValue().sum();
+            }
+        }
+        return total;
+    }
+
+    public double getRevenue(int year) {
+        DoubleAdder adder = revenueByYear.get(year);
+        return adder != null ? adder.sum() : 0.0;
+    }
+
+    public double getPendingRevenue(int year) {
+        DoubleAdder adder = pendingRevenueByYear.get(year);
+        return adder != null ? adder.sum() : 0.0;
+    }
+
+    public long getOverdueComplaints() { return overdueComplaints; }
+
+    public long getUrgentComplaints() { return urgentComplaints; }
+
+    public long getOverdueLeaves() { return overdueLeaves; }
+
+    public void increment(String collection, String key, long delta) {
+        if (key == null || delta == 0) {
+            return;
+        }
+        String counterKey = counterKey(collection, key);
+        swapLock.readLock().lock();
+        try {
+            counts.computeIfAbsent(counterKey, k -> new LongAdder()).add(delta);
+            if (journalCounts != null) {
+                journalCounts.computeIfAbsent(counterKey, k -> new LongAdder()).add(delta);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public void addRevenue(Integer year, double delta) {
+        if (year == null || delta == 0) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            revenueByYear.computeIfAbsent(year, y -> new DoubleAdder()).add(delta);
+            if (journalRevenue != null) {
+                journalRevenue.computeIfAbsent(year, y -> new DoubleAdder()).add(delta);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public void addPendingRevenue(Integer year, double delta) {
+        if (year == null || delta == 0) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            pendingRevenueByYear.computeIfAbsent(year, y -> new DoubleAdder()).add(delta);
+            if (journalPendingRevenue != null) {
+                journalPendingRevenue.computeIfAbsent(year, y -> new DoubleAdder()).add(delta);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds every counter from the aggregation pipelines and swaps them in, correcting
+     * any drift from missed or bulk writes that bypassed the entity events.
+     */
+    @Scheduled(initialDelayString = "${dashboard.counters.reconcile-initial-delay-ms:0}",
+               fixedDelayString = "${dashboard.counters.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        startJournal();
+        try {
+            rebuild(now);
+        } finally {
+            stopJournal();
+        }
+    }
+
+    private void rebuild(LocalDateTime now) {
+        Map<String, LongAdder> freshCounts = new ConcurrentHashMap<>();
+        putAll(freshCounts, ROOMS, dashboardAggregationService.countRoomsByStatus());
+        DashboardAggregationService.ComplaintCounters complaintCounters = dashboardAggregationService.countComplaints(now);
+        putAll(freshCounts, COMPLAINTS, complaintCounters.getByStatus());
+        putAll(freshCounts, FEES, dashboardAggregationService.countFees(now.getYear()).getByStatus());
+        putAll(freshCounts, LEAVES, dashboardAggregationService.countLeavesByStatus());
+        LongAdder students = new LongAdder();
+        students.add(dashboardAggregationService.countActiveStudents());
+        freshCounts.put(counterKey(USERS, "STUDENT"), students);
+
+        DashboardAggregationService.FeeTotals feeTotals = dashboardAggregationService.sumFeeTotalsByYear();
+
+        Map<Integer, DoubleAdder> freshRevenue = toAdders(feeTotals.getRevenueByYear());
+        Map<Integer, DoubleAdder> freshPendingRevenue = toAdders(feeTotals.getPendingRevenueByYear());
+        long freshOverdueLeaves = dashboardAggregationService.countOverdueLeaves(now.toLocalDate());
+
+        swapLock.writeLock().lock();
+        try {
+            mergeLongs(journalCounts, freshCounts);
+            mergeDoubles(journalRevenue, freshRevenue);
+            mergeDoubles(journalPendingRevenue, freshPendingRevenue);
+            this.counts = freshCounts;
+            this.revenueByYear = freshRevenue;
+            this.pendingRevenueByYear = freshPendingRevenue;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        this.overdueComplaints = complaintCounters.getOverdue();
+        this.urgentComplaints = complaintCounters.getUrgent();
+        this.overdueLeaves = freshOverdueLeaves;
+        this.lastReconciledAt = now;
+    }
+
+    private void startJournal() {
+        swapLock.writeLock().lock();
+        try {
+            journalCounts = new ConcurrentHashMap<>();
+            journalRevenue = new ConcurrentHashMap<>();
+            journalPendingRevenue = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void stopJournal() {
+        swapLock.writeLock().lock();
+        try {
+            journalCounts = null;
+            journalRevenue = null;
+            journalPendingRevenue = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static <K> void mergeLongs(Map<K, LongAdder> journal, Map<K, LongAdder> target) {
+        for (Map.Entry<K, LongAdder> entry : journal.entrySet()) {
+            target.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(entry.getValue().sum());
+        }
+    }
+
+    private static <K> void mergeDoubles(Map<K, DoubleAdder> journal, Map<K, DoubleAdder> target) {
+        for (Map.Entry<K, DoubleAdder> entry : journal.entrySet()) {
+            target.computeIfAbsent(entry.getKey(), k -> new DoubleAdder()).add(entry.getValue().sum());
+        }
+    }
+
+    private static void putAll(Map<String, LongAdder> target, String collection, Map<String, Long> source) {
+        for (Map.Entry<String, Long> entry : source.entrySet()) {
+            if (entry.getKey() == null) {
+                continue;
+            }
+            LongAdder adder = new LongAdder();
+            adder.add(entry.getValue());
+            target.put(counterKey(collection, entry.getKey()), adder);
+        }
+    }
+
+    private static Map<Integer, DoubleAdder> toAdders(Map<Integer, Double> source) {
+        Map<Integer, DoubleAdder> adders = new ConcurrentHashMap<>();
+        for (Map.Entry<Integer, Double> entry : source.entrySet()) {
+            DoubleAdder adder = new DoubleAdder();
+            adder.add(entry.getValue());
+            adders.put(entry.getKey(), adder);
+        }
+        return adders;
+    }
+
+    private static String counterKey(String collection, String key) {
+        return collection + ":" + key;
+    }
+}
@@ -6,6 +6,7 @@ import com.hostel.model.Fee;
 import com.hostel.model.Complaint;
 import com.hostel.model.Leave;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -36,19 +37,36 @@ public class DashboardService {
     @Autowired
     private AnnouncementRepository announcementRepository;
 
+    @Autowired
+    private DashboardAggregationService dashboardAggregationService;
+
+    @Autowired
+    private DashboardCounterStore counterStore;
+
+    @Value("${dashboard.counters.enabled:true}")
+    private boolean countersEnabled;
+
     public Map<String, Object> getAdminDashboardStats() {
+        if (!countersEnabled) {
+            // Counters are computed server-side by per-collection pipelines running in parallel
+            return dashboardAggregationService.getAdminDashboardStats(LocalDate.now().getYear(), LocalDateTime.now());
+        }
+        ensureCountersLoaded();
+        int year = LocalDate.now().getYear();
+
         Map<String, Object> stats = new HashMap<>();
         
         // Student statistics
         Map<String, Object> studentStats = new HashMap<>();
-        studentStats.put("total", userRepository.countByRoleAndIsActive("STUDENT", true));
-        studentStats.put("active", userRepository.countByRoleAndIsActive("STUDENT", true));
+        long activeStudents = counterStore.getCount(DashboardCounterStore.USERS, "STUDENT");
+        studentStats.put("total", activeStudents);
+        studentStats.put("active", activeStudents);
         stats.put("students", studentStats);
         
         // Room statistics
         Map<String, Object> roomStats = new HashMap<>();
-        long totalRooms = roomRepository.countByIsActive(true);
-        long occupiedRooms = roomRepository.countByStatusAndIsActive("occupied", true);
+        long totalRooms = counterStore.getTotal(DashboardCounterStore.ROOMS);
+        long occupiedRooms = counterStore.getCount(DashboardCounterStore.ROOMS, "OCCUPIED");
         roomStats.put("total", totalRooms);
         roomStats.put("occupied", occupiedRooms);
         roomStats.put("available", totalRooms - occupiedRooms);
@@ -57,32 +75,21 @@ public class DashboardService {
         
         // Complaint statistics
         Map<String, Object> complaintStats = new HashMap<>();
-        complaintStats.put("pending", complaintRepository.countByStatus("pending"));
-        
-        // Calculate overdue complaints
-        List<Complaint> overdueComplaints = complaintRepository.findOverdueComplaints(LocalDateTime.now());
-        complaintStats.put("overdue", overdueComplaints.size());
+        complaintStats.put("pending", counterStore.getCount(DashboardCounterStore.COMPLAINTS, "PENDING"));
+        complaintStats.put("overdue", (int) counterStore.getOverdueComplaints());
         stats.put("complaints", complaintStats);
         
         // Fee statistics
         Map<String, Object> feeStats = new HashMap<>();
-        feeStats.put("pending", feeRepository.countByStatus("pending"));
-        feeStats.put("overdue", feeRepository.countByStatus("overdue"));
-        
-        // Calculate total revenue (paid fees)
-        List<Fee> paidFees = feeRepository.findPaidFeesByYear(LocalDate.now().getYear());
-        double totalRevenue = paidFees.stream().mapToDouble(Fee::getFinalAmount).sum();
-        feeStats.put("totalRevenue", totalRevenue);
-        
-        // Calculate pending revenue
-        List<Fee> pendingFees = feeRepository.findPendingFeesByYear(LocalDate.now().getYear());
-        double pendingRevenue = pendingFees.stream().mapToDouble(Fee::getBalanceAmount).sum();
-        feeStats.put("pendingRevenue", pendingRevenue);
+        feeStats.put("pending", counterStore.getCount(DashboardCounterStore.FEES, "PENDING"));
+        feeStats.put("overdue", counterStore.getCount(DashboardCounterStore.FEES, "OVERDUE"));
+        feeStats.put("totalRevenue", counterStore.getRevenue(year));
+        feeStats.put("pendingRevenue", counterStore.getPendingRevenue(year));
         stats.put("fees", feeStats);
         
         // Leave statistics
         Map<String, Object> leaveStats = new HashMap<>();
-        leaveStats.put("pending", leaveRepository.countByStatus("pending"));
+        leaveStats.put("pending", counterStore.getCount(DashboardCounterStore.LEAVES, "PENDING"));
         stats.put("leaves", leaveStats);
         
         return stats;
@@ -115,7 +122,7 @@ public class DashboardService {
             
             // Leave stats
             Map<String, Object> leaveStats = new HashMap<>();
-            leaveStats.put("active", leaveRepository.countByStudentIdAndStatus(studentId, "approved"));
+            leaveStats.put("active", leaveRepository.countByStudentIdAndStatus(studentId, "APPROVED"));
             stats.put("leaves", leaveStats);
             
             data.put("stats", stats);
@@ -128,6 +135,38 @@ public class DashboardService {
     }
 
     public Map<String, Object> getWardenDashboardStats() {
+        if (!countersEnabled) {
+            return getWardenDashboardStatsFromQueries();
+        }
+        ensureCountersLoaded();
+
+        Map<String, Object> stats = new HashMap<>();
+        
+        // Similar to admin but focused on warden responsibilities
+        stats.put("students", counterStore.getCount(DashboardCounterStore.USERS, "STUDENT"));
+        
+        Map<String, Object> roomStats = new HashMap<>();
+        long totalRooms = counterStore.getTotal(DashboardCounterStore.ROOMS);
+        long occupiedRooms = counterStore.getCount(DashboardCounterStore.ROOMS, "OCCUPIED");
+        roomStats.put("total", totalRooms);
+        roomStats.put("occupied", occupiedRooms);
+        roomStats.put("available", totalRooms - occupiedRooms);
+        stats.put("rooms", roomStats);
+        
+        Map<String, Object> complaintStats = new HashMap<>();
+        complaintStats.put("pending", counterStore.getCount(DashboardCounterStore.COMPLAINTS, "PENDING"));
+        complaintStats.put("urgent", (int) counterStore.getUrgentComplaints());
+        stats.put("complaints", complaintStats);
+        
+        Map<String, Object> leaveStats = new HashMap<>();
+        leaveStats.put("pending", counterStore.getCount(DashboardCounterStore.LEAVES, "PENDING"));
+        leaveStats.put("overdue", (int) counterStore.getOverdueLeaves());
+        stats.put("leaves", leaveStats);
+        
+        return Map.of("stats", stats);
+    }
+
+    private Map<String, Object> getWardenDashboardStatsFromQueries() {
         Map<String, Object> stats = new HashMap<>();
         
         // Similar to admin but focused on warden responsibilities
@@ -135,14 +174,14 @@ public class DashboardService {
         
         Map<String, Object> roomStats = new HashMap<>();
         long totalRooms = roomRepository.countByIsActive(true);
-        long occupiedRooms = roomRepository.countByStatusAndIsActive("occupied", true);
+        long occupiedRooms = roomRepository.countByStatusAndIsActive("OCCUPIED", true);
         roomStats.put("total", totalRooms);
         roomStats.put("occupied", occupiedRooms);
         roomStats.put("available", totalRooms - occupiedRooms);
         stats.put("rooms", roomStats);
         
         Map<String, Object> complaintStats = new HashMap<>();
-        complaintStats.put("pending", complaintRepository.countByStatus("pending"));
+        complaintStats.put("pending", complaintRepository.countByStatus("PENDING"));
         
         // Calculate urgent complaints
         List<Complaint> urgentComplaints = complaintRepository.findUrgentComplaints();
@@ -150,7 +189,7 @@ public class DashboardService {
         stats.put("complaints", complaintStats);
         
         Map<String, Object> leaveStats = new HashMap<>();
-        leaveStats.put("pending", leaveRepository.countByStatus("pending"));
+        leaveStats.put("pending", leaveRepository.countByStatus("PENDING"));
         
         // Calculate overdue leaves
         List<Leave> overdueLeaves = leaveRepository.findOverdueLeaves(LocalDate.now());
@@ -159,4 +198,14 @@ public class DashboardService {
         
         return Map.of("stats", stats);
     }
-}
\ No newline at end of file
+
+    private void ensureCountersLoaded() {
+        if (!counterStore.isInitialized()) {
+            synchronized (counterStore) {
+                if (!counterStore.isInitialized()) {
+                    counterStore.reconcile();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hostel.service;
+
+import com.hostel.model.Fee;
+import com.hostel.repository.FeeRepository;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves past-due PENDING/PARTIAL fees to OVERDUE with a single updateMulti.
+ */
+@Service
+public class FeeOverdueSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeeOverdueSweeper.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private DashboardCounterStore counterStore;
+
+    private final Counter transitionedCounter;
+    private final Timer sweepTimer;
+
+    @Autowired
+    public FeeOverdueSweeper(MeterRegistry meterRegistry) {
+        this.transitionedCounter = Counter.builder("fees.overdue.sweep.transitioned")
+                .description("Fees moved to OVERDUE by the sweeper")
+                .tag("store", "mongo")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("fees.overdue.sweep.duration")
+                .description("Time taken by an overdue fee sweep")
+                .tag("store", "mongo")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${fee.overdue-sweep.cron:0 5 0 * * *}")
+    public long sweep() {
+        long transitioned = sweepTimer.record(() -> {
+            LocalDate today = LocalDate.now();
+            if (logger.isDebugEnabled()) {
+                // Audit only: the transition itself never loads the documents
+                List<String> candidateIds = feeRepository.findOverdueFees(today).stream()
+                        .map(Fee::getId).collect(Collectors.toList());
+                logger.debug("Overdue sweep candidates: {}", candidateIds);
+            }
+            Query query = new Query(Criteria.where("dueDate").lt(today)
+                    .and("status").in(Arrays.asList("PENDING", "PARTIAL")));
+            Update update = new Update().set("status", "OVERDUE").set("updatedAt", LocalDateTime.now());
+            UpdateResult result = mongoTemplate.updateMulti(query, update, Fee.class);
+            return result.getModifiedCount();
+        });
+        transitionedCounter.increment(transitioned);
+        logger.info("Overdue sweep moved {} fees to OVERDUE", transitioned);
+
+        if (transitioned > 0) {
+            // Bulk updates bypass the entity events that keep the dashboard counters current
+            counterStore.reconcile();
+        }
+        return transitioned;
+    }
+}
@@ -18,6 +18,9 @@ public class FeeService {
     @Autowired
     private FeeRepository feeRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
     public Map<String, Object> getAllFees(String userId, String userRole, int page, int limit, String status, String feeType) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("dueDate").descending());
         
@@ -35,4 +38,9 @@ public class FeeService {
         
         return result;
     }
+
+    public Map<String, Object> getAllFees(String userId, String userRole, String cursor, int limit, boolean includeTotal, String status, String feeType) {
+        // Same listing as the offset variant, paged by (dueDate, _id)
+        return keysetPaginator.page(Fee.class, null, Sort.Order.desc("dueDate"), cursor, limit, includeTotal, "fees");
+    }
 }
\ No newline at end of file
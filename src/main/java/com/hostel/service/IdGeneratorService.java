@@ -0,0 +1,101 @@
+package com.hostel.service;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hi/lo business ID generator. Blocks of sequence values are leased from the
+ * id_sequences collection with an atomic $inc and handed out from memory, so only
+ * one in blockSize calls touches the database.
+ *
+ * Sequences backing a business ID field are seeded once per process, before their first
+ * lease, to at least the highest numeric suffix already stored under the prefix ($max upsert),
+ * so IDs issued before the sequence existed are skipped without checking each value.
+ */
+@Service
+public class IdGeneratorService {
+
+    private static final String COLLECTION = "id_sequences";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${id.generator.block-size:100}")
+    private int blockSize;
+
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Next value of the named sequence, starting at 1.
+     */
+    public long nextValue(String sequenceName) {
+        return nextValue(sequenceName, null, null);
+    }
+
+    /**
+     * Next value of the named sequence for IDs of the form sequenceName + number stored in the
+     * given field, never at or below a suffix already present in the collection.
+     */
+    public long nextValue(String sequenceName, String collection, String field) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        synchronized (block) {
+            if (!block.seeded && collection != null) {
+                seed(sequenceName, maxSuffix(sequenceName, collection, field));
+                block.seeded = true;
+            }
+            if (block.next >= block.limit) {
+                long limit = leaseBlock(sequenceName);
+                block.next = limit - blockSize;
+                block.limit = limit;
+            }
+            return block.next++;
+        }
+    }
+
+    // Returns the exclusive upper bound of the leased block
+    private long leaseBlock(String sequenceName) {
+        Query query = new Query(Criteria.where("_id").is(sequenceName));
+        Update update = new Update().inc("value", (long) blockSize);
+        Document sequence = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+        Number value = sequence.get("value", Number.class);
+        return value.longValue() + 1;
+    }
+
+    // Raises the sequence to at least value, creating it if needed
+    private void seed(String sequenceName, long value) {
+        Query query = new Query(Criteria.where("_id").is(sequenceName));
+        mongoTemplate.upsert(query, new Update().max("value", value), COLLECTION);
+    }
+
+    private long maxSuffix(String prefix, String collection, String field) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(field).regex("^" + prefix + "[0-9]+$")),
+                Aggregation.project().and(ConvertOperators.valueOf(
+                        StringOperators.valueOf(field).substring(prefix.length())).convertToLong()).as("suffix"),
+                Aggregation.group().max("suffix").as("max")
+        );
+        Document result = mongoTemplate.aggregate(aggregation, collection, Document.class).getUniqueMappedResult();
+        Number max = result != null ? result.get("max", Number.class) : null;
+        return max != null ? max.longValue() : 0L;
+    }
+
+    private static class Block {
+        private boolean seeded;
+        private long next;
+        private long limit;
+    }
+}
@@ -0,0 +1,128 @@
+package com.hostel.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pages collections by (sort field, _id) instead of skip/limit: each page continues after the
+ * last document of the previous one, so deep pages cost the same as the first and no count is
+ * run unless the total is asked for.
+ *
+ * The cursor is an opaque URL-safe token holding the sort direction and the last document's sort
+ * value and ID. Documents missing the sort field are kept in MongoDB's order (before all values
+ * ascending, after them descending).
+ */
+@Component
+public class KeysetPaginator {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Returns { contentKey: documents, pagination: { limit, hasNext, nextCursor[, total] } }.
+     */
+    public <T> Map<String, Object> page(Class<T> type, Criteria filter, Sort.Order order, String cursor,
+                                        int limit, boolean includeTotal, String contentKey) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        MongoPersistentProperty sortProperty = entity.getRequiredPersistentProperty(order.getProperty());
+        boolean ascending = order.isAscending();
+
+        Query query = new Query();
+        if (cursor != null && !cursor.isEmpty()) {
+            Criteria seek = after(decode(cursor, ascending, sortProperty.getType()), order.getProperty(), ascending);
+            // Combined under $and so a filter using $or does not clash with the seek condition
+            query.addCriteria(filter != null ? new Criteria().andOperator(filter, seek) : seek);
+        } else if (filter != null) {
+            query.addCriteria(filter);
+        }
+        query.with(Sort.by(order.getDirection(), order.getProperty(), "id"));
+        // One extra document tells whether there is a next page
+        query.limit(limit + 1);
+
+        List<T> documents = mongoTemplate.find(query, type);
+        String nextCursor = null;
+        if (documents.size() > limit) {
+            documents = new ArrayList<>(documents.subList(0, limit));
+            PersistentPropertyAccessor<T> last = entity.getPropertyAccessor(documents.get(limit - 1));
+            nextCursor = encode(ascending, last.getProperty(sortProperty), last.getProperty(entity.getRequiredIdProperty()));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put(contentKey, documents);
+
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("limit", limit);
+        pagination.put("hasNext", nextCursor != null);
+        pagination.put("nextCursor", nextCursor);
+        if (includeTotal) {
+            pagination.put("total", mongoTemplate.count(filter != null ? new Query(filter) : new Query(), type));
+        }
+        result.put("pagination", pagination);
+
+        return result;
+    }
+
+    private Criteria after(Object[] last, String field, boolean ascending) {
+        Object value = last[0];
+        Object id = last[1];
+        Criteria sameValueLaterId = ascending
+            ? new Criteria().andOperator(Criteria.where(field).is(value), Criteria.where("id").gt(id))
+            : new Criteria().andOperator(Criteria.where(field).is(value), Criteria.where("id").lt(id));
+        if (value == null) {
+            // Missing values sort first ascending and last descending
+            return ascending
+                ? new Criteria().orOperator(sameValueLaterId, Criteria.where(field).ne(null))
+                : sameValueLaterId;
+        }
+        return ascending
+            ? new Criteria().orOperator(Criteria.where(field).gt(value), sameValueLaterId)
+            : new Criteria().orOperator(Criteria.where(field).lt(value), sameValueLaterId, Criteria.where(field).is(null));
+    }
+
+    private String encode(boolean ascending, Object value, Object id) {
+        String token = (ascending ? "A" : "D") + "|" + id + "|" + (value == null ? "N|" : "V|" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object[] decode(String cursor, boolean ascending, Class<?> valueType) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 4 || !parts[0].equals(ascending ? "A" : "D")) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new Object[] { "N".equals(parts[2]) ? null : parseValue(parts[3], valueType), parts[1] };
+    }
+
+    private Object parseValue(String value, Class<?> type) {
+        try {
+            if (type == String.class) return value;
+            if (type == LocalDate.class) return LocalDate.parse(value);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+            if (type == Integer.class || type == int.class) return Integer.valueOf(value);
+            if (type == Double.class || type == double.class) return Double.valueOf(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        throw new IllegalArgumentException("Cursor pagination is not supported on " + type.getSimpleName() + " fields");
+    }
+}
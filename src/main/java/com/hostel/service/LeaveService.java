@@ -18,6 +18,9 @@ public class LeaveService {
     @Autowired
     private LeaveRepository leaveRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
     public Map<String, Object> getAllLeaves(String userId, String userRole, int page, int limit, String status, String leaveType) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("createdAt").descending());
         
@@ -35,4 +38,9 @@ public class LeaveService {
         
         return result;
     }
+
+    public Map<String, Object> getAllLeaves(String userId, String userRole, String cursor, int limit, boolean includeTotal, String status, String leaveType) {
+        // Same listing as the offset variant, paged by (createdAt, _id)
+        return keysetPaginator.page(Leave.class, null, Sort.Order.desc("createdAt"), cursor, limit, includeTotal, "leaves");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.hostel.service;
+
+import com.hostel.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces last-login timestamps per user in memory and writes them as one unordered bulk
+ * write of $max updates every flush interval, so login never waits on a users write and an
+ * older timestamp can never overwrite a newer one.
+ */
+@Component
+public class LoginActivityRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginActivityRecorder.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${security.login-activity.batch-size:500}")
+    private int batchSize;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushedCounter;
+
+    @Autowired
+    public LoginActivityRecorder(MeterRegistry meterRegistry) {
+        this.flushedCounter = Counter.builder("security.login-activity.flushed")
+                .description("Last-login timestamps written to the users collection")
+                .tag("store", "mongo")
+                .register(meterRegistry);
+        Gauge.builder("security.login-activity.pending", pending, Map::size)
+                .description("Users whose last login has not been written yet")
+                .tag("store", "mongo")
+                .register(meterRegistry);
+    }
+
+    public void recordLogin(String userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-activity.flush-interval-ms:5000}")
+    public void flush() {
+        List<Map.Entry<String, LocalDateTime>> batch;
+        while (!(batch = drain()).isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+            for (Map.Entry<String, LocalDateTime> entry : batch) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(entry.getKey())),
+                        new Update().max("lastLogin", entry.getValue()));
+            }
+            try {
+                bulk.execute();
+                flushedCounter.increment(batch.size());
+            } catch (DataAccessException e) {
+                logger.warn("Failed to write last login for {} users, retrying on next flush: {}", batch.size(), e.getMessage());
+                for (Map.Entry<String, LocalDateTime> entry : batch) {
+                    recordLogin(entry.getKey(), entry.getValue());
+                }
+                return;
+            }
+        }
+    }
+
+    private List<Map.Entry<String, LocalDateTime>> drain() {
+        List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<Map.Entry<String, LocalDateTime>> iterator = pending.entrySet().iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            Map.Entry<String, LocalDateTime> entry = iterator.next();
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        return batch;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        logger.info("Login activity recorder drained");
+    }
+}
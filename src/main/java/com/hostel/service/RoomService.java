@@ -18,6 +18,9 @@ public class RoomService {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
     public Map<String, Object> getAllRooms(int page, int limit, String status, String block) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("roomNumber"));
         
@@ -35,6 +38,11 @@ public class RoomService {
         return result;
     }
 
+    public Map<String, Object> getAllRooms(String cursor, int limit, boolean includeTotal, String status, String block) {
+        // Same listing as the offset variant, paged by (roomNumber, _id)
+        return keysetPaginator.page(Room.class, null, Sort.Order.asc("roomNumber"), cursor, limit, includeTotal, "rooms");
+    }
+
     public Map<String, Object> getRoomStats() {
         long total = roomRepository.countByIsActive(true);
         long occupied = roomRepository.countByStatusAndIsActive("occupied", true);
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -21,6 +22,15 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private IdGeneratorService idGeneratorService;
+
+    @Autowired
+    private LoginActivityRecorder loginActivityRecorder;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -87,14 +97,9 @@ public class UserService {
         return userRepository.existsByEmail(email);
     }
 
-    public User updateLastLogin(String userId) {
-        Optional<User> optionalUser = userRepository.findById(userId);
-        if (optionalUser.isPresent()) {
-            User user = optionalUser.get();
-            user.setLastLogin(LocalDateTime.now());
-            return userRepository.save(user);
-        }
-        return null;
+    // Written asynchronously in bulk by LoginActivityRecorder
+    public void updateLastLogin(String userId) {
+        loginActivityRecorder.recordLogin(userId, LocalDateTime.now());
     }
 
     public User deactivateUser(String id) {
@@ -129,14 +134,28 @@ public class UserService {
         return result;
     }
 
+    public Map<String, Object> getStudentsWithPagination(String cursor, int limit, boolean includeTotal, String search) {
+        // Mirrors findByRoleAndSearch / findByRoleAndIsActive, paged by (firstName, _id)
+        Criteria filter;
+        if (search != null && !search.trim().isEmpty()) {
+            filter = Criteria.where("role").is("STUDENT").orOperator(
+                    Criteria.where("firstName").regex(search, "i"),
+                    Criteria.where("lastName").regex(search, "i"),
+                    Criteria.where("email").regex(search, "i"),
+                    Criteria.where("studentId").regex(search, "i"));
+        } else {
+            filter = Criteria.where("role").is("STUDENT").and("isActive").is(true);
+        }
+        return keysetPaginator.page(User.class, filter, Sort.Order.asc("firstName"), cursor, limit, includeTotal, "students");
+    }
+
     private String generateStudentId() {
-        int year = LocalDateTime.now().getYear();
-        int random = (int) (Math.random() * 10000);
-        return String.format("STU%d%04d", year, random);
+        String prefix = "STU" + LocalDateTime.now().getYear();
+        // Seeded past the IDs issued before sequences were used, see IdGeneratorService
+        return String.format("%s%04d", prefix, idGeneratorService.nextValue(prefix, "users", "studentId"));
     }
 
     private String generateEmployeeId() {
-        int random = (int) (Math.random() * 10000);
-        return String.format("EMP%04d", random);
+        return String.format("EMP%04d", idGeneratorService.nextValue("EMP", "users", "employeeId"));
     }
 }
\ No newline at end of file
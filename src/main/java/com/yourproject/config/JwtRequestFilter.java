@@ -1,7 +1,9 @@
 package com.yourproject.config;
 
 import com.yourproject.util.JwtUtil;
-import com.yourproject.service.impl.UserDetailsServiceImpl; // Your UserDetailsService impl
+import com.yourproject.repository.UserRepository;
+import com.yourproject.service.impl.UserSnapshotCache;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
@@ -13,7 +15,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,12 +25,12 @@ import java.io.IOException;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final UserDetailsServiceImpl userDetailsService;
+    private final UserSnapshotCache userSnapshotCache;
     private final JwtUtil jwtUtil;
 
     @Autowired
-    public JwtRequestFilter(UserDetailsServiceImpl userDetailsService, JwtUtil jwtUtil) {
-        this.userDetailsService = userDetailsService;
+    public JwtRequestFilter(UserSnapshotCache userSnapshotCache, JwtUtil jwtUtil) {
+        this.userSnapshotCache = userSnapshotCache;
         this.jwtUtil = jwtUtil;
     }
 
@@ -41,11 +42,15 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwt = null;
+        Claims claims = null;
 
         if (StringUtils.hasText(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Verified once per request; everything below reads these claims
+                claims = jwtUtil.parseClaims(jwt);
+                // Refresh tokens are only accepted by /api/auth/refresh-token, where their rotation state is checked
+                username = jwtUtil.isRefreshToken(claims) ? null : claims.getSubject();
             } catch (IllegalArgumentException e) {
                 logger.warn("Unable to get JWT Token's username", e);
             } catch (ExpiredJwtException e) {
@@ -67,17 +72,23 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         // Once we get the token validate it.
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // The principal comes from the token; only active/role/email are checked, from a short-lived cache
+            Long userId = claims.get("userId", Long.class);
+            UserRepository.AuthSnapshot user = userId != null ? userSnapshotCache.get(userId) : null;
 
-            // if token is valid configure Spring Security to manually set authentication
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                // After setting the Authentication in the context, we specify
-                // that the current user is authenticated. So it passes the Spring Security Configurations successfully.
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+            if (user != null && Boolean.TRUE.equals(user.getActive()) && user.getEmail().equals(username)) {
+                AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+
+                // if token is valid configure Spring Security to manually set authentication
+                if (jwtUtil.validateClaims(claims, principal)) {
+                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                            principal, null, principal.getAuthorities());
+                    usernamePasswordAuthenticationToken
+                            .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    // After setting the Authentication in the context, we specify
+                    // that the current user is authenticated. So it passes the Spring Security Configurations successfully.
+                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                }
             }
         }
         chain.doFilter(request, response);
@@ -74,6 +74,7 @@ public class SecurityConfig {
                         "/api/auth/login",
                         "/api/auth/register",
                         "/api/auth/refresh-token",
+                        "/api/auth/logout",
                         "/api/auth/forgot-password",
                         "/api/auth/reset-password"
                         // Add any other public endpoints here (e.g., Swagger UI if used)
@@ -1,5 +1,6 @@
 package com.yourproject.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.thymeleaf.spring6.SpringTemplateEngine;
@@ -14,13 +15,13 @@ public class ThymeleafConfig {
 
     // Configure Template Resolver for HTML emails
     @Bean
-    public ITemplateResolver htmlEmailTemplateResolver() {
+    public ITemplateResolver htmlEmailTemplateResolver(@Value("${email.templates.cacheable:true}") boolean cacheable) {
         SpringResourceTemplateResolver templateResolver = new SpringResourceTemplateResolver();
         templateResolver.setPrefix("classpath:/templates/email/"); // Location of email templates
         templateResolver.setSuffix(".html");
         templateResolver.setTemplateMode(TemplateMode.HTML);
         templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
-        templateResolver.setCacheable(false); // Set to true in production for performance
+        templateResolver.setCacheable(cacheable); // Disable while editing templates locally
         templateResolver.setOrder(1); // Order if multiple resolvers
         return templateResolver;
     }
@@ -6,6 +6,8 @@ import com.yourproject.service.RoomService; // For room assignment
 // import com.yourproject.service.ReportService; // For report generation
 // import com.yourproject.service.DashboardService; // For dashboard stats
 import com.yourproject.entity.Role; // For creating wardens
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,7 +47,14 @@ public class AdminController {
     @GetMapping("/students")
     public ResponseEntity<ApiResponse<PageResponseDto<UserDto>>> getAllStudents(
             @PageableDefault(size = 10) Pageable pageable,
-            @RequestParam(required = false) String searchTerm) {
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (cursor != null) { // Cursor pagination; an empty cursor asks for the first page
+            KeysetPageRequest pageRequest = KeysetPageRequest.of(cursor, pageable, includeTotal);
+            KeysetPage<UserDto> studentsPage = userService.getAllUsers(pageRequest, Role.STUDENT.name(), searchTerm);
+            return ResponseEntity.ok(ApiResponse.success(new PageResponseDto<>(studentsPage, pageRequest.isFirstPage()), "Students fetched successfully"));
+        }
         Page<UserDto> studentsPage = userService.getAllUsers(pageable, Role.STUDENT.name(), searchTerm);
         PageResponseDto<UserDto> pageResponseDto = new PageResponseDto<>(studentsPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponseDto, "Students fetched successfully"));
@@ -85,7 +94,14 @@ public class AdminController {
     @GetMapping("/wardens")
     public ResponseEntity<ApiResponse<PageResponseDto<UserDto>>> getAllWardens(
              @PageableDefault(size = 10) Pageable pageable,
-             @RequestParam(required = false) String searchTerm) {
+             @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (cursor != null) { // Cursor pagination; an empty cursor asks for the first page
+            KeysetPageRequest pageRequest = KeysetPageRequest.of(cursor, pageable, includeTotal);
+            KeysetPage<UserDto> wardensPage = userService.getAllUsers(pageRequest, Role.WARDEN.name(), searchTerm);
+            return ResponseEntity.ok(ApiResponse.success(new PageResponseDto<>(wardensPage, pageRequest.isFirstPage()), "Wardens fetched successfully"));
+        }
         Page<UserDto> wardensPage = userService.getAllUsers(pageable, Role.WARDEN.name(), searchTerm);
         PageResponseDto<UserDto> pageResponseDto = new PageResponseDto<>(wardensPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponseDto, "Wardens fetched successfully"));
@@ -112,6 +128,14 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(occupancyDto, "Room assigned to student successfully"));
     }
 
+    // Intake day: allocate many students at once; the report lists the outcome per student
+    @PostMapping("/rooms/assign/bulk")
+    public ResponseEntity<ApiResponse<BulkRoomAllocationResultDto>> allocateRooms(@Valid @RequestBody BulkRoomAllocationRequestDto requestDto) {
+        BulkRoomAllocationResultDto result = roomService.allocateRooms(requestDto);
+        String message = requestDto.isDryRun() ? "Room allocation plan computed" : "Bulk room allocation completed";
+        return ResponseEntity.ok(ApiResponse.success(result, message));
+    }
+
     @PostMapping("/rooms/remove")
     public ResponseEntity<ApiResponse<String>> removeStudentFromRoom(@Valid @RequestBody RemoveStudentFromRoomRequestDto requestDto) {
         // Assuming studentId and roomId are in the DTO. RoomService needs to handle this.
@@ -1,5 +1,6 @@
 package com.yourproject.controller;
 
+import com.yourproject.config.AuthenticatedUser;
 import com.yourproject.dto.*;
 import com.yourproject.entity.User;
 import com.yourproject.service.AnnouncementService;
@@ -35,8 +36,7 @@ public class AnnouncementController {
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userService.findUserEntityByEmail(email); // Assuming UserService has this helper
+        return userService.getUserReference(((AuthenticatedUser) authentication.getPrincipal()).getId());
     }
 
     @GetMapping
@@ -50,6 +50,16 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success(authResponse, "Token refreshed successfully"));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(@RequestBody Map<String, String> requestBody) {
+        String refreshTokenValue = requestBody.get("refreshToken");
+        if (refreshTokenValue == null || refreshTokenValue.isEmpty()) {
+            return new ResponseEntity<>(ApiResponse.error("Refresh token is required"), HttpStatus.BAD_REQUEST);
+        }
+        authService.logout(refreshTokenValue);
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully"));
+    }
+
     @GetMapping("/profile")
     public ResponseEntity<ApiResponse<UserDto>> getProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -1,9 +1,12 @@
 package com.yourproject.controller;
 
+import com.yourproject.config.AuthenticatedUser;
 import com.yourproject.dto.*;
 import com.yourproject.entity.User;
 import com.yourproject.service.ComplaintService;
 import com.yourproject.service.UserService;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -34,7 +37,7 @@ public class ComplaintController {
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findUserEntityByEmail(authentication.getName());
+        return userService.getUserReference(((AuthenticatedUser) authentication.getPrincipal()).getId());
     }
 
     @PostMapping
@@ -51,8 +54,15 @@ public class ComplaintController {
             @PageableDefault(size = 10, sort = "createdAt") Pageable pageable,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String priority) {
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         User currentUser = getCurrentUser();
+        if (cursor != null) { // Cursor pagination; an empty cursor asks for the first page
+            KeysetPageRequest pageRequest = KeysetPageRequest.of(cursor, pageable, includeTotal);
+            KeysetPage<ComplaintDto> complaintsPage = complaintService.getAllComplaints(pageRequest, currentUser, status, category, priority);
+            return ResponseEntity.ok(ApiResponse.success(new PageResponseDto<>(complaintsPage, pageRequest.isFirstPage()), "Complaints fetched successfully"));
+        }
         Page<ComplaintDto> complaintsPage = complaintService.getAllComplaints(pageable, currentUser, status, category, priority);
         PageResponseDto<ComplaintDto> pageResponseDto = new PageResponseDto<>(complaintsPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponseDto, "Complaints fetched successfully"));
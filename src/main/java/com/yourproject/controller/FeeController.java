@@ -1,9 +1,12 @@
 package com.yourproject.controller;
 
+import com.yourproject.config.AuthenticatedUser;
 import com.yourproject.dto.*;
 import com.yourproject.entity.User;
 import com.yourproject.service.FeeService;
 import com.yourproject.service.UserService;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -33,7 +36,7 @@ public class FeeController {
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findUserEntityByEmail(authentication.getName());
+        return userService.getUserReference(((AuthenticatedUser) authentication.getPrincipal()).getId());
     }
 
     @PostMapping
@@ -51,8 +54,15 @@ public class FeeController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String feeType,
             @RequestParam(required = false) Integer month,
-            @RequestParam(required = false) Integer year) {
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         User currentUser = getCurrentUser();
+        if (cursor != null) { // Cursor pagination; an empty cursor asks for the first page
+            KeysetPageRequest pageRequest = KeysetPageRequest.of(cursor, pageable, includeTotal);
+            KeysetPage<FeeDto> feesPage = feeService.getAllFees(pageRequest, currentUser, status, feeType, month, year);
+            return ResponseEntity.ok(ApiResponse.success(new PageResponseDto<>(feesPage, pageRequest.isFirstPage()), "Fees fetched successfully"));
+        }
         Page<FeeDto> feesPage = feeService.getAllFees(pageable, currentUser, status, feeType, month, year);
         PageResponseDto<FeeDto> pageResponseDto = new PageResponseDto<>(feesPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponseDto, "Fees fetched successfully"));
@@ -99,13 +109,21 @@ public class FeeController {
 
     @PostMapping("/bulk-reminders")
     @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
-    public ResponseEntity<ApiResponse<String>> sendBulkReminders(
+    public ResponseEntity<ApiResponse<FeeReminderJobDto>> sendBulkReminders(
             @RequestBody(required = false) Map<String, String> requestBody) { // Optional: {"status": "OVERDUE", "type": "email"}
         User currentUser = getCurrentUser();
         String status = (requestBody != null && requestBody.containsKey("status")) ? requestBody.get("status") : "OVERDUE";
         String reminderType = (requestBody != null && requestBody.containsKey("type")) ? requestBody.get("type") : "email";
-        feeService.sendBulkFeeReminders(currentUser, status, reminderType);
-        return ResponseEntity.ok(ApiResponse.success("Bulk fee reminders processed"));
+        FeeReminderJobDto job = feeService.sendBulkFeeReminders(currentUser, status, reminderType);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job, "Bulk fee reminders started"));
+    }
+
+    @GetMapping("/bulk-reminders/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
+    public ResponseEntity<ApiResponse<FeeReminderJobDto>> getBulkReminderJob(@PathVariable Long jobId) {
+        User currentUser = getCurrentUser();
+        FeeReminderJobDto job = feeService.getBulkReminderJob(jobId, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(job, "Bulk reminder job fetched successfully"));
     }
 
     @GetMapping("/stats")
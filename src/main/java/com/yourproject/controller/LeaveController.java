@@ -1,9 +1,12 @@
 package com.yourproject.controller;
 
+import com.yourproject.config.AuthenticatedUser;
 import com.yourproject.dto.*;
 import com.yourproject.entity.User;
 import com.yourproject.service.LeaveService;
 import com.yourproject.service.UserService;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -35,7 +38,7 @@ public class LeaveController {
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findUserEntityByEmail(authentication.getName());
+        return userService.getUserReference(((AuthenticatedUser) authentication.getPrincipal()).getId());
     }
 
     @PostMapping
@@ -51,8 +54,15 @@ public class LeaveController {
     public ResponseEntity<ApiResponse<PageResponseDto<LeaveDto>>> getAllLeaveApplications(
             @PageableDefault(size = 10, sort = "appliedDate") Pageable pageable,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String leaveType) {
+            @RequestParam(required = false) String leaveType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         User currentUser = getCurrentUser();
+        if (cursor != null) { // Cursor pagination; an empty cursor asks for the first page
+            KeysetPageRequest pageRequest = KeysetPageRequest.of(cursor, pageable, includeTotal);
+            KeysetPage<LeaveDto> leavesPage = leaveService.getAllLeaveApplications(pageRequest, currentUser, status, leaveType);
+            return ResponseEntity.ok(ApiResponse.success(new PageResponseDto<>(leavesPage, pageRequest.isFirstPage()), "Leave applications fetched successfully"));
+        }
         Page<LeaveDto> leavesPage = leaveService.getAllLeaveApplications(pageable, currentUser, status, leaveType);
         PageResponseDto<LeaveDto> pageResponseDto = new PageResponseDto<>(leavesPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponseDto, "Leave applications fetched successfully"));
@@ -4,6 +4,9 @@ import com.yourproject.dto.ApiResponse; // Though not directly used for file res
 import com.yourproject.dto.ReportRequestDto;
 import com.yourproject.service.ReportService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
@@ -12,8 +15,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated; // Added
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 
 @RestController
@@ -22,6 +26,8 @@ import java.time.LocalDate;
 @Validated // Added for @Pattern on @RequestParam to work with GlobalExceptionHandler
 public class ReportController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+
     private final ReportService reportService;
 
     @Autowired
@@ -64,39 +70,40 @@ public class ReportController {
     // }
 
     // Option 2: Using Request Parameters (more aligned with original Node.js GET /reports)
+    // The report is written straight to the response as rows are read, so memory stays flat regardless of row count.
+    // Parameters are validated up front because errors after the first bytes can no longer change the status.
      @GetMapping
-    public ResponseEntity<InputStreamResource> generateReport(
+    public ResponseEntity<StreamingResponseBody> generateReport(
             @RequestParam @Pattern(regexp = "students|fees|complaints|rooms|leaves", message = "Invalid report type") String type,
             @RequestParam @Pattern(regexp = "pdf|excel", message = "Invalid report format") String format,
             @RequestParam(required = false) LocalDate startDate,
             @RequestParam(required = false) LocalDate endDate) {
-        try {
-            ByteArrayInputStream bis = reportService.generateReport(type, format, startDate, endDate);
-            String filename = reportService.getReportFilename(type, format, startDate, endDate);
-            String contentType = reportService.getReportContentType(format);
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String filename = reportService.getReportFilename(type, format, startDate, endDate);
+        String contentType = reportService.getReportContentType(format);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
-            // headers.add("Cache-Control", "no-cache, no-store, must-revalidate");
-            // headers.add("Pragma", "no-cache");
-            // headers.add("Expires", "0");
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        // headers.add("Cache-Control", "no-cache, no-store, must-revalidate");
+        // headers.add("Pragma", "no-cache");
+        // headers.add("Expires", "0");
 
-            return ResponseEntity
-                    .ok()
-                    .headers(headers)
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(new InputStreamResource(bis));
+        StreamingResponseBody body = out -> {
+            try {
+                reportService.writeReport(type, format, startDate, endDate, out);
+            } catch (IOException | RuntimeException e) {
+                // The response is already committed; the client sees a truncated download
+                logger.error("Error generating {} report ({}): {}", type, format, e.getMessage(), e);
+                throw e;
+            }
+        };
 
-        } catch (IllegalArgumentException e) { // For invalid type/format before service call
-             // This ideally should be handled by ConstraintViolationException via GlobalExceptionHandler if params are method-validated
-            return ResponseEntity.badRequest().body(null); // Or an ApiResponse.error()
-        }
-        catch (Exception e) {
-            // Log error properly
-            // GlobalExceptionHandler should catch this if it throws a known exception type
-            System.err.println("Error generating report: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.internalServerError().build(); // Build simple error response
-        }
+        return ResponseEntity
+                .ok()
+                .headers(headers)
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(body);
     }
 }
@@ -2,6 +2,8 @@ package com.yourproject.controller;
 
 import com.yourproject.dto.*;
 import com.yourproject.service.RoomService;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -32,7 +34,14 @@ public class RoomController {
             @RequestParam(required = false) String block,
             @RequestParam(required = false) Integer floor,
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (cursor != null) { // Cursor pagination; an empty cursor asks for the first page
+            KeysetPageRequest pageRequest = KeysetPageRequest.of(cursor, pageable, includeTotal);
+            KeysetPage<RoomDto> roomsPage = roomService.getAllRooms(pageRequest, block, floor, type, status);
+            return ResponseEntity.ok(ApiResponse.success(new PageResponseDto<>(roomsPage, pageRequest.isFirstPage()), "Rooms fetched successfully"));
+        }
         Page<RoomDto> roomsPage = roomService.getAllRooms(pageable, block, floor, type, status);
         PageResponseDto<RoomDto> pageResponseDto = new PageResponseDto<>(roomsPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponseDto, "Rooms fetched successfully"));
@@ -47,6 +56,16 @@ public class RoomController {
         return ResponseEntity.ok(ApiResponse.success(availableRooms, "Available rooms fetched successfully"));
     }
 
+    @GetMapping("/available/first")
+    @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
+    public ResponseEntity<ApiResponse<RoomSlimDto>> getFirstAvailableRoom(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String block,
+            @RequestParam(required = false) Integer floor) {
+        RoomSlimDto room = roomService.findFirstAvailableRoom(type, block, floor);
+        return ResponseEntity.ok(ApiResponse.success(room, "Available room found"));
+    }
+
     // @GetMapping("/stats")
     // @PreAuthorize("isAuthenticated()") // Or specific roles like ADMIN, WARDEN
     // public ResponseEntity<ApiResponse<RoomStatsDto>> getRoomStats() {
@@ -1,5 +1,6 @@
 package com.yourproject.controller;
 
+import com.yourproject.config.AuthenticatedUser;
 import com.yourproject.dto.*;
 import com.yourproject.entity.User;
 import com.yourproject.service.*; // Import all services
@@ -40,7 +41,7 @@ public class StudentController {
 
     private User getCurrentUserEntity() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findUserEntityByEmail(authentication.getName());
+        return userService.getUserReference(((AuthenticatedUser) authentication.getPrincipal()).getId());
     }
 
     private UserDto getCurrentUserDto() {
@@ -110,8 +111,7 @@ public class StudentController {
     @PostMapping("/announcements/{announcementId}/read")
     public ResponseEntity<ApiResponse<String>> markAnnouncementRead(@PathVariable Long announcementId) {
         User currentUser = getCurrentUserEntity();
-        // The getAnnouncementById service method handles marking as read for students
-        announcementService.getAnnouncementById(announcementId, currentUser);
+        announcementService.markAsRead(announcementId, currentUser);
         return ResponseEntity.ok(ApiResponse.success("Announcement marked as read (if applicable)"));
     }
 
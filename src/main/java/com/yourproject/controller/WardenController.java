@@ -1,5 +1,6 @@
 package com.yourproject.controller;
 
+import com.yourproject.config.AuthenticatedUser;
 import com.yourproject.dto.*;
 import com.yourproject.entity.Role;
 import com.yourproject.entity.User; // For getCurrentUserEntity
@@ -42,7 +43,7 @@ public class WardenController {
 
     private User getCurrentUserEntity() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findUserEntityByEmail(authentication.getName());
+        return userService.getUserReference(((AuthenticatedUser) authentication.getPrincipal()).getId());
     }
 
     // @GetMapping("/dashboard")
@@ -45,5 +45,8 @@ public class AnnouncementDto {
     // Calculated fields (can be added by a mapper or service)
     private Integer likeCount;
     private Integer commentCount;
+    private Integer readCount;
+    private Boolean likedByCurrentUser;
+    private Boolean readByCurrentUser;
     private Boolean isActive; // Based on status and expiryDate
 }
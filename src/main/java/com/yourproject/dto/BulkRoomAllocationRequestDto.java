@@ -0,0 +1,24 @@
+package com.yourproject.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoomAllocationRequestDto {
+
+    @NotEmpty(message = "At least one student is required")
+    @Valid
+    private List<RoomAllocationPreferenceDto> students = new ArrayList<>();
+
+    private boolean groupByCourseAndYear = true; // Place students of the same course and year together where possible
+
+    private boolean dryRun = false; // Compute and return the plan without saving it
+}
@@ -0,0 +1,19 @@
+package com.yourproject.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoomAllocationResultDto {
+    private int requested;
+    private int allocated;
+    private int failed;
+    private boolean dryRun;
+    private List<RoomAllocationResultDto> results = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.yourproject.dto;
+
+import com.yourproject.entity.FeeReminderJobStatus;
+import com.yourproject.entity.FeeStatus;
+import com.yourproject.entity.ReminderType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeReminderJobDto {
+    private Long id;
+    private FeeStatus feeStatus;
+    private ReminderType reminderType;
+    private FeeReminderJobStatus status;
+    private long processedCount;
+    private Long lastProcessedFeeId;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -3,6 +3,7 @@ package com.yourproject.dto;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import com.yourproject.util.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -14,10 +15,11 @@ public class PageResponseDto<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements; // null for cursor pages unless includeTotal was requested
+    private Integer totalPages;
     private boolean isLast;
     private boolean isFirst;
+    private String nextCursor; // Pass as ?cursor= to fetch the following page; null on the last page
 
     public PageResponseDto(Page<T> page) {
         this.content = page.getContent();
@@ -28,4 +30,16 @@ public class PageResponseDto<T> {
         this.isLast = page.isLast();
         this.isFirst = page.isFirst();
     }
+
+    public PageResponseDto(KeysetPage<T> page, boolean isFirst) {
+        this.content = page.getContent();
+        this.pageSize = page.getSize();
+        this.totalElements = page.getTotalElements();
+        if (page.getTotalElements() != null && page.getSize() > 0) {
+            this.totalPages = (int) ((page.getTotalElements() + page.getSize() - 1) / page.getSize());
+        }
+        this.isLast = !page.hasNext();
+        this.isFirst = isFirst;
+        this.nextCursor = page.getNextCursor();
+    }
 }
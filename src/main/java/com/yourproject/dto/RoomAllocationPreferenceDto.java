@@ -0,0 +1,21 @@
+package com.yourproject.dto;
+
+import com.yourproject.entity.RoomType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAllocationPreferenceDto {
+
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    // Optional preferences; a null preference matches any room
+    private String block;
+    private Integer floor;
+    private RoomType roomType;
+}
@@ -0,0 +1,17 @@
+package com.yourproject.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAllocationResultDto {
+    private Long studentId;
+    private boolean allocated;
+    private Long roomId;
+    private String roomNumber;
+    private Integer bedNumber;
+    private String reason; // Why the student was not allocated
+}
@@ -27,6 +27,9 @@ import java.util.Set;
         @Index(name = "idx_announcement_expiry_date", columnList = "expiryDate"),
         @Index(name = "idx_announcement_target_audience", columnList = "targetAudience")
 })
+@NamedEntityGraph(name = "Announcement.list", attributeNodes = {
+        @NamedAttributeNode("createdBy")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -122,9 +125,20 @@ public class Announcement {
     @Column(nullable = false)
     private boolean notificationSent = false; // For in-app notifications
 
-    @Column(nullable = false)
+    // Engagement counters are only changed by atomic UPDATEs in AnnouncementRepository,
+    // never written back from a loaded entity, so concurrent likes and views cannot lose counts.
+    @Column(nullable = false, updatable = false)
     private int viewCount = 0;
 
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int likeCount = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int commentCount = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int readCount = 0;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,55 @@
+package com.yourproject.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per announcement email recipient. Rows are created set-based when the announcement
+// is dispatched and move from PENDING to SENT or FAILED as the mail workers report back.
+@Entity
+@Table(name = "announcement_deliveries", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"announcement_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_announcement_delivery_status", columnList = "announcement_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "announcement_id", nullable = false)
+    private Long announcementId;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(nullable = false, length = 100)
+    private String email;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AnnouncementDeliveryStatus status = AnnouncementDeliveryStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,7 @@
+package com.yourproject.entity;
+
+public enum AnnouncementDeliveryStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
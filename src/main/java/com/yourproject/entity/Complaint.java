@@ -27,7 +27,12 @@ import java.util.Set;
         @Index(name = "idx_complaint_status", columnList = "status"),
         @Index(name = "idx_complaint_category", columnList = "category"),
         @Index(name = "idx_complaint_priority", columnList = "priority"),
-        @Index(name = "idx_complaint_created_at", columnList = "createdAt")
+        @Index(name = "idx_complaint_created_at", columnList = "createdAt, id") // id breaks ties for cursor pagination
+})
+@NamedEntityGraph(name = "Complaint.list", attributeNodes = {
+        @NamedAttributeNode("reportedBy"),
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("room")
 })
 @Data
 @NoArgsConstructor
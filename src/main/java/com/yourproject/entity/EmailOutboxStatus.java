@@ -0,0 +1,8 @@
+package com.yourproject.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING, // Claimed by a relay instance, see claimToken
+    SENT,
+    FAILED
+}
@@ -24,10 +24,16 @@ import java.util.List;
 @Table(name = "fees", indexes = {
         @Index(name = "idx_fee_student", columnList = "student_id"),
         @Index(name = "idx_fee_status", columnList = "status"),
-        @Index(name = "idx_fee_due_date", columnList = "dueDate"),
+        @Index(name = "idx_fee_due_date", columnList = "dueDate, id"), // id breaks ties for cursor pagination
         @Index(name = "idx_fee_month_year", columnList = "month, year"),
         @Index(name = "idx_fee_type", columnList = "feeType")
 })
+@NamedEntityGraph(name = "Fee.list", attributeNodes = {
+        @NamedAttributeNode("student"),
+        @NamedAttributeNode("room"),
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("updatedBy")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
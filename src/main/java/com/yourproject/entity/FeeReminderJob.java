@@ -0,0 +1,66 @@
+package com.yourproject.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// Progress of a bulk fee reminder run. The last processed fee ID is the keyset cursor,
+// so an interrupted job resumes after the last committed chunk.
+@Entity
+@Table(name = "fee_reminder_jobs", indexes = {
+        @Index(name = "idx_fee_reminder_job_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeReminderJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private FeeStatus feeStatus;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private ReminderType reminderType;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private FeeReminderJobStatus status = FeeReminderJobStatus.RUNNING;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long lastProcessedFeeId = 0L;
+
+    @Column(nullable = false)
+    private long processedCount = 0;
+
+    @Column(length = 500)
+    private String failureReason;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_id")
+    private User createdBy;
+
+    private LocalDateTime completedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.yourproject.entity;
+
+public enum FeeReminderJobStatus {
+    RUNNING,
+    WAITING,   // Paused until the email outbox has room; failureReason says why
+    COMPLETED,
+    FAILED
+}
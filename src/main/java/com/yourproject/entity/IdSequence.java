@@ -0,0 +1,23 @@
+package com.yourproject.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+// High-water mark for business ID sequences (e.g. "CMP20250101"). Blocks of values are leased
+// from this row and handed out from memory, see IdGeneratorServiceImpl.
+@Entity
+@Table(name = "id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSequence {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private long nextValue;
+}
@@ -23,7 +23,12 @@ import java.util.List;
         @Index(name = "idx_leave_status", columnList = "status"),
         @Index(name = "idx_leave_start_date", columnList = "startDate"),
         @Index(name = "idx_leave_end_date", columnList = "endDate"),
-        @Index(name = "idx_leave_type", columnList = "leaveType")
+        @Index(name = "idx_leave_type", columnList = "leaveType"),
+        @Index(name = "idx_leave_applied_date", columnList = "appliedDate, id") // id breaks ties for cursor pagination
+})
+@NamedEntityGraph(name = "Leave.list", attributeNodes = {
+        @NamedAttributeNode("student"),
+        @NamedAttributeNode("approvedBy")
 })
 @Data
 @NoArgsConstructor
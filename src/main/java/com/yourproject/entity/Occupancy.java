@@ -14,6 +14,9 @@ import java.time.LocalDateTime;
 @Table(name = "occupancies", indexes = {
         @Index(name = "idx_occupancy_user", columnList = "user_id"),
         @Index(name = "idx_occupancy_room", columnList = "room_id")
+}, uniqueConstraints = {
+        // One active occupant per bed; vacated rows have a null active_bed_number and never collide
+        @UniqueConstraint(name = "uk_occupancy_room_active_bed", columnNames = {"room_id", "active_bed_number"})
 })
 @Data
 @NoArgsConstructor
@@ -41,6 +44,10 @@ public class Occupancy {
 
     private Integer bedNumber;
 
+    // Equals bedNumber while the occupancy is active, null once vacated (backs the unique constraint)
+    @Column(name = "active_bed_number")
+    private Integer activeBedNumber;
+
     @Column(nullable = false)
     private boolean isActive = true; // True if this is the current occupancy for the student in this room
 
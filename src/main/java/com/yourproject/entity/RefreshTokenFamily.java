@@ -0,0 +1,47 @@
+package com.yourproject.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per login session. Every refresh token issued in the session carries the family ID;
+// only currentTokenId may be exchanged, and presenting an older one revokes the whole family.
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+        @Index(name = "idx_refresh_family_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_family_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenFamily {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(nullable = false, length = 36)
+    private String currentTokenId;
+
+    @Column(nullable = false)
+    private boolean isRevoked = false;
+
+    @Column(length = 30)
+    private String revokedReason;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -23,6 +23,11 @@ import java.util.Set;
         @Index(name = "idx_room_type", columnList = "type"),
         @Index(name = "idx_room_status", columnList = "status")
 })
+@NamedEntityGraph(name = "Room.detail", attributeNodes = {
+        @NamedAttributeNode(value = "occupancies", subgraph = "occupancy.student")
+}, subgraphs = {
+        @NamedSubgraph(name = "occupancy.student", attributeNodes = @NamedAttributeNode("student"))
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -103,6 +108,12 @@ public class Room {
     @Column(nullable = false)
     private boolean isActive = true;
 
+    // Bumped by every allocation and release, so concurrent assignments to the same room conflict.
+    // Rooms that predate the column start at 0 (BedAllocator backfills them at startup)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -122,6 +122,9 @@ public class User {
     @Column(length = 255)
     private String profileImageUrl;
 
+    // Written only by LoginActivityRecorder's JDBC update, never from a loaded entity,
+    // so saving a user that was read before a login cannot put back the older value
+    @Column(updatable = false)
     private LocalDateTime lastLogin;
 
     @Column(nullable = false)
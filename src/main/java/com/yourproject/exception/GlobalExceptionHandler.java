@@ -51,6 +51,18 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(ApiResponse.error(ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConflictException(ConflictException ex, WebRequest request) {
+        return new ResponseEntity<>(ApiResponse.error(ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ResponseEntity<>(ApiResponse.error(ex.getMessage()), headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // Handle Spring Security exceptions
     @ExceptionHandler(AccessDeniedException.class) // This is org.springframework.security.access.AccessDeniedException
     public ResponseEntity<ApiResponse<Object>> handleSpringAccessDeniedException(AccessDeniedException ex, WebRequest request) {
@@ -0,0 +1,267 @@
+package com.yourproject.mapper;
+
+import com.yourproject.dto.*;
+import com.yourproject.entity.*;
+import com.yourproject.entity.embeddable.MaintenanceRecord;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Hand-written entity to DTO mappers for the read paths.
+ * These replace reflective ModelMapper.map calls in every convertToDto; ModelMapper is still
+ * used for request DTO to entity mapping, which is not on a hot path.
+ * Only the plain fields are copied here; derived fields (counts, overdue flags, ...) stay in the services.
+ */
+@Component
+public class DtoMapper {
+
+    public UserSlimDto toUserSlimDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserSlimDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+            user.getRole(), user.getStudentId(), user.getEmployeeId(), user.getProfileImageUrl());
+    }
+
+    public RoomSlimDto toRoomSlimDto(Room room) {
+        if (room == null) {
+            return null;
+        }
+        return new RoomSlimDto(room.getId(), room.getRoomNumber(), room.getBlock(), room.getFloor(), room.getType());
+    }
+
+    public UserDto toUserDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setFullName(user.getFirstName() + " " + user.getLastName());
+        dto.setEmail(user.getEmail());
+        dto.setRole(user.getRole());
+        dto.setPhone(user.getPhone());
+        dto.setAddress(user.getAddress());
+        dto.setDateOfBirth(user.getDateOfBirth());
+        dto.setGender(user.getGender());
+        dto.setEmergencyContact(user.getEmergencyContact());
+        dto.setStudentId(user.getStudentId());
+        dto.setCourse(user.getCourse());
+        dto.setYear(user.getYear());
+        dto.setEmployeeId(user.getEmployeeId());
+        dto.setDepartment(user.getDepartment());
+        dto.setJoinDate(user.getJoinDate());
+        dto.setActive(user.isActive());
+        dto.setProfileImageUrl(user.getProfileImageUrl());
+        dto.setLastLogin(user.getLastLogin());
+        dto.setEmailVerified(user.isEmailVerified());
+        dto.setCreatedAt(user.getCreatedAt());
+        dto.setUpdatedAt(user.getUpdatedAt());
+        return dto;
+    }
+
+    public FeeDto toFeeDto(Fee fee) {
+        FeeDto dto = new FeeDto();
+        dto.setId(fee.getId());
+        dto.setStudent(toUserSlimDto(fee.getStudent()));
+        dto.setFeeType(fee.getFeeType());
+        dto.setAmount(fee.getAmount());
+        dto.setDueDate(fee.getDueDate());
+        dto.setPaidDate(fee.getPaidDate());
+        dto.setStatus(fee.getStatus());
+        dto.setPaymentMethod(fee.getPaymentMethod());
+        dto.setTransactionId(fee.getTransactionId());
+        dto.setReceiptNumber(fee.getReceiptNumber());
+        dto.setMonth(fee.getMonth());
+        dto.setYear(fee.getYear());
+        dto.setDescription(fee.getDescription());
+        dto.setLateFee(fee.getLateFee());
+        dto.setDiscount(fee.getDiscount());
+        dto.setFinalAmount(fee.getFinalAmount());
+        dto.setPaidAmount(fee.getPaidAmount());
+        dto.setBalanceAmount(fee.getBalanceAmount());
+        dto.setPaymentHistory(copyList(fee.getPaymentHistory()));
+        dto.setReminders(copyList(fee.getReminders()));
+        dto.setRoom(toRoomSlimDto(fee.getRoom()));
+        dto.setCreatedBy(toUserSlimDto(fee.getCreatedBy()));
+        dto.setUpdatedBy(toUserSlimDto(fee.getUpdatedBy()));
+        dto.setNotes(fee.getNotes());
+        dto.setCreatedAt(fee.getCreatedAt());
+        dto.setUpdatedAt(fee.getUpdatedAt());
+        return dto;
+    }
+
+    public ComplaintDto toComplaintDto(Complaint complaint) {
+        ComplaintDto dto = new ComplaintDto();
+        dto.setId(complaint.getId());
+        dto.setComplaintIdString(complaint.getComplaintIdString());
+        dto.setTitle(complaint.getTitle());
+        dto.setDescription(complaint.getDescription());
+        dto.setCategory(complaint.getCategory());
+        dto.setPriority(complaint.getPriority());
+        dto.setStatus(complaint.getStatus());
+        dto.setReportedBy(toUserSlimDto(complaint.getReportedBy()));
+        dto.setAssignedTo(toUserSlimDto(complaint.getAssignedTo()));
+        dto.setRoom(toRoomSlimDto(complaint.getRoom()));
+        dto.setLocation(complaint.getLocation());
+        dto.setImages(copyList(complaint.getImages()));
+        dto.setStatusHistory(copyList(complaint.getStatusHistory()));
+        dto.setResolution(complaint.getResolution());
+        dto.setExpectedResolutionDate(complaint.getExpectedResolutionDate());
+        dto.setActualResolutionDate(complaint.getActualResolutionDate());
+        dto.setUrgent(complaint.isUrgent());
+        dto.setTags(copySet(complaint.getTags()));
+        dto.setCreatedAt(complaint.getCreatedAt());
+        dto.setUpdatedAt(complaint.getUpdatedAt());
+        return dto;
+    }
+
+    public LeaveDto toLeaveDto(Leave leave) {
+        LeaveDto dto = new LeaveDto();
+        dto.setId(leave.getId());
+        dto.setLeaveIdString(leave.getLeaveIdString());
+        dto.setStudent(toUserSlimDto(leave.getStudent()));
+        dto.setLeaveType(leave.getLeaveType());
+        dto.setStartDate(leave.getStartDate());
+        dto.setEndDate(leave.getEndDate());
+        dto.setReason(leave.getReason());
+        dto.setStatus(leave.getStatus());
+        dto.setAppliedDate(leave.getAppliedDate());
+        dto.setApprovedBy(toUserSlimDto(leave.getApprovedBy()));
+        dto.setApprovedDate(leave.getApprovedDate());
+        dto.setRejectionReason(leave.getRejectionReason());
+        dto.setEmergencyContact(leave.getEmergencyContact());
+        dto.setDestination(leave.getDestination());
+        dto.setAttachments(copyList(leave.getAttachments()));
+        dto.setActualReturnDate(leave.getActualReturnDate());
+        dto.setExtended(leave.isExtended());
+        dto.setExtensionRequests(copyList(leave.getExtensionRequests()));
+        dto.setStatusHistory(copyList(leave.getStatusHistory()));
+        dto.setParentalApprovalInfo(leave.getParentalApprovalInfo());
+        dto.setMedicalCertificateInfo(leave.getMedicalCertificateInfo());
+        dto.setCreatedAt(leave.getCreatedAt());
+        dto.setUpdatedAt(leave.getUpdatedAt());
+        return dto;
+    }
+
+    public RoomDto toRoomDto(Room room) {
+        RoomDto dto = new RoomDto();
+        dto.setId(room.getId());
+        dto.setRoomNumber(room.getRoomNumber());
+        dto.setFloor(room.getFloor());
+        dto.setBlock(room.getBlock());
+        dto.setType(room.getType());
+        dto.setCapacity(room.getCapacity());
+        dto.setAmenities(copySet(room.getAmenities()));
+        dto.setMonthlyRent(room.getMonthlyRent());
+        dto.setSecurityDeposit(room.getSecurityDeposit());
+        dto.setStatus(room.getStatus());
+        dto.setMaintenanceHistory(mapList(room.getMaintenanceHistory(), this::toMaintenanceRecordDto));
+        dto.setImages(copyList(room.getImages()));
+        dto.setDescription(room.getDescription());
+        dto.setActive(room.isActive());
+        dto.setCreatedAt(room.getCreatedAt());
+        dto.setUpdatedAt(room.getUpdatedAt());
+        return dto;
+    }
+
+    public OccupancyDto toOccupancyDto(Occupancy occupancy) {
+        OccupancyDto dto = new OccupancyDto();
+        dto.setId(occupancy.getId());
+        dto.setStudent(toUserSlimDto(occupancy.getStudent()));
+        dto.setAllocatedDate(occupancy.getAllocatedDate());
+        dto.setVacatedDate(occupancy.getVacatedDate());
+        dto.setBedNumber(occupancy.getBedNumber());
+        dto.setActive(occupancy.isActive());
+        dto.setCreatedAt(occupancy.getCreatedAt());
+        return dto;
+    }
+
+    public MaintenanceRecordDto toMaintenanceRecordDto(MaintenanceRecord record) {
+        MaintenanceRecordDto dto = new MaintenanceRecordDto();
+        dto.setIssue(record.getIssue());
+        dto.setReportedDate(record.getReportedDate());
+        dto.setResolvedDate(record.getResolvedDate());
+        dto.setCost(record.getCost());
+        dto.setDescription(record.getDescription());
+        dto.setReportedById(record.getReportedById());
+        return dto;
+    }
+
+    // Header fields and counters only; likes, comments and read receipts are mapped separately by the caller
+    public AnnouncementDto toAnnouncementDto(Announcement announcement) {
+        AnnouncementDto dto = new AnnouncementDto();
+        dto.setId(announcement.getId());
+        dto.setTitle(announcement.getTitle());
+        dto.setContent(announcement.getContent());
+        dto.setType(announcement.getType());
+        dto.setPriority(announcement.getPriority());
+        dto.setTargetAudience(announcement.getTargetAudience());
+        dto.setCreatedBy(toUserSlimDto(announcement.getCreatedBy()));
+        dto.setPublishDate(announcement.getPublishDate());
+        dto.setExpiryDate(announcement.getExpiryDate());
+        dto.setStatus(announcement.getStatus());
+        dto.setAttachments(copyList(announcement.getAttachments()));
+        dto.setTags(copySet(announcement.getTags()));
+        dto.setSticky(announcement.isSticky());
+        dto.setEmailSent(announcement.isEmailSent());
+        dto.setSmsSent(announcement.isSmsSent());
+        dto.setNotificationSent(announcement.isNotificationSent());
+        dto.setViewCount(announcement.getViewCount());
+        dto.setLikeCount(announcement.getLikeCount());
+        dto.setCommentCount(announcement.getCommentCount());
+        dto.setReadCount(announcement.getReadCount());
+        dto.setCreatedAt(announcement.getCreatedAt());
+        dto.setUpdatedAt(announcement.getUpdatedAt());
+        return dto;
+    }
+
+    public LikeDto toLikeDto(Like like) {
+        return new LikeDto(like.getId(), toUserSlimDto(like.getUser()), like.getLikedAt());
+    }
+
+    public CommentDto toCommentDto(Comment comment) {
+        return new CommentDto(comment.getId(), toUserSlimDto(comment.getUser()), comment.getText(), comment.getCommentedAt());
+    }
+
+    public ReadReceiptDto toReadReceiptDto(ReadReceipt readReceipt) {
+        return new ReadReceiptDto(readReceipt.getId(), toUserSlimDto(readReceipt.getUser()), readReceipt.getReadAt());
+    }
+
+    public <S, T> List<T> mapList(Collection<S> source, Function<S, T> mapper) {
+        if (source == null) {
+            return null;
+        }
+        List<T> target = new ArrayList<>(source.size());
+        for (S item : source) {
+            target.add(mapper.apply(item));
+        }
+        return target;
+    }
+
+    public <S, T> Set<T> mapSet(Collection<S> source, Function<S, T> mapper) {
+        if (source == null) {
+            return null;
+        }
+        Set<T> target = new HashSet<>(source.size() * 2);
+        for (S item : source) {
+            target.add(mapper.apply(item));
+        }
+        return target;
+    }
+
+    private static <T> List<T> copyList(Collection<T> source) {
+        return source != null ? new ArrayList<>(source) : null;
+    }
+
+    private static <T> Set<T> copySet(Collection<T> source) {
+        return source != null ? new HashSet<>(source) : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.yourproject.repository;
+
+import com.yourproject.entity.AnnouncementDelivery;
+import com.yourproject.entity.AnnouncementDeliveryStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AnnouncementDeliveryRepository extends JpaRepository<AnnouncementDelivery, Long> {
+
+    // Recipient resolution runs set-based in the database: one INSERT ... SELECT per audience creates a
+    // PENDING row per active recipient, skipping users that already have one (safe to re-run).
+
+    @Modifying
+    @Query(value = "INSERT INTO announcement_deliveries (announcement_id, user_id, email, status, attempts, created_at) " +
+           "SELECT :announcementId, u.id, u.email, 'PENDING', 0, :now FROM users u " +
+           "WHERE u.is_active = true AND u.email IS NOT NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM announcement_deliveries d WHERE d.announcement_id = :announcementId AND d.user_id = u.id)",
+           nativeQuery = true)
+    int enqueueAllUsers(@Param("announcementId") Long announcementId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO announcement_deliveries (announcement_id, user_id, email, status, attempts, created_at) " +
+           "SELECT :announcementId, u.id, u.email, 'PENDING', 0, :now FROM users u " +
+           "WHERE u.is_active = true AND u.email IS NOT NULL AND u.role = :role " +
+           "AND NOT EXISTS (SELECT 1 FROM announcement_deliveries d WHERE d.announcement_id = :announcementId AND d.user_id = u.id)",
+           nativeQuery = true)
+    int enqueueUsersWithRole(@Param("announcementId") Long announcementId, @Param("role") String role, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO announcement_deliveries (announcement_id, user_id, email, status, attempts, created_at) " +
+           "SELECT :announcementId, u.id, u.email, 'PENDING', 0, :now FROM users u " +
+           "WHERE u.is_active = true AND u.email IS NOT NULL " +
+           "AND EXISTS (SELECT 1 FROM announcement_target_user_map m WHERE m.announcement_id = :announcementId AND m.user_id = u.id) " +
+           "AND NOT EXISTS (SELECT 1 FROM announcement_deliveries d WHERE d.announcement_id = :announcementId AND d.user_id = u.id)",
+           nativeQuery = true)
+    int enqueueTargetUsers(@Param("announcementId") Long announcementId, @Param("now") LocalDateTime now);
+
+    // Current occupants of the targeted rooms
+    @Modifying
+    @Query(value = "INSERT INTO announcement_deliveries (announcement_id, user_id, email, status, attempts, created_at) " +
+           "SELECT :announcementId, u.id, u.email, 'PENDING', 0, :now FROM users u " +
+           "WHERE u.is_active = true AND u.email IS NOT NULL " +
+           "AND EXISTS (SELECT 1 FROM occupancies o JOIN announcement_target_room_map m ON m.room_id = o.room_id " +
+           "WHERE m.announcement_id = :announcementId AND o.user_id = u.id AND o.is_active = true) " +
+           "AND NOT EXISTS (SELECT 1 FROM announcement_deliveries d WHERE d.announcement_id = :announcementId AND d.user_id = u.id)",
+           nativeQuery = true)
+    int enqueueTargetRoomOccupants(@Param("announcementId") Long announcementId, @Param("now") LocalDateTime now);
+
+    // Email-only projection of pending recipients, read with keyset pagination on the delivery ID
+    @Query("SELECT d.id AS id, d.email AS email FROM AnnouncementDelivery d " +
+           "WHERE d.announcementId = :announcementId AND d.status = com.yourproject.entity.AnnouncementDeliveryStatus.PENDING " +
+           "AND d.id > :afterId ORDER BY d.id ASC")
+    List<DeliveryTarget> findPendingTargets(@Param("announcementId") Long announcementId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT d.announcementId FROM AnnouncementDelivery d WHERE d.status = :status")
+    List<Long> findAnnouncementIdsWithStatus(@Param("status") AnnouncementDeliveryStatus status);
+
+    long countByAnnouncementIdAndStatus(Long announcementId, AnnouncementDeliveryStatus status);
+
+    @Modifying
+    @Query("UPDATE AnnouncementDelivery d SET d.status = com.yourproject.entity.AnnouncementDeliveryStatus.SENT, " +
+           "d.attempts = d.attempts + 1, d.sentAt = :now, d.lastError = NULL WHERE d.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AnnouncementDelivery d SET d.status = com.yourproject.entity.AnnouncementDeliveryStatus.FAILED, " +
+           "d.attempts = d.attempts + 1, d.lastError = :error WHERE d.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    interface DeliveryTarget {
+        Long getId();
+        String getEmail();
+    }
+}
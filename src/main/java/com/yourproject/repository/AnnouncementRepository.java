@@ -6,18 +6,26 @@ import com.yourproject.entity.AnnouncementType;
 import com.yourproject.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long>, JpaSpecificationExecutor<Announcement> {
 
+    @Override
+    @EntityGraph("Announcement.list")
+    Page<Announcement> findAll(Specification<Announcement> spec, Pageable pageable);
+
     List<Announcement> findByCreatedBy(User createdBy);
 
     List<Announcement> findByStatus(AnnouncementStatus status);
@@ -49,4 +57,40 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     // Add more specific finders or use Specifications as needed
 
     List<Announcement> findByStatusAndExpiryDateBefore(AnnouncementStatus status, LocalDateTime now);
+
+    // Atomic counter updates; the columns are not updatable through the entity
+    @Modifying
+    @Query("UPDATE Announcement a SET a.likeCount = a.likeCount + :delta WHERE a.id = :id")
+    int incrementLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Announcement a SET a.commentCount = a.commentCount + :delta WHERE a.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // A first read by a user counts as both a read and a view
+    @Modifying
+    @Query("UPDATE Announcement a SET a.readCount = a.readCount + :delta, a.viewCount = a.viewCount + :delta WHERE a.id = :id")
+    int incrementReadCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // Recomputes the counters from the like, comment and read-receipt tables (backfill / repair)
+    @Modifying
+    @Query(value = "UPDATE announcements SET " +
+           "like_count = (SELECT COUNT(*) FROM announcement_likes l WHERE l.announcement_id = announcements.id), " +
+           "comment_count = (SELECT COUNT(*) FROM announcement_comments c WHERE c.announcement_id = announcements.id), " +
+           "read_count = (SELECT COUNT(*) FROM announcement_read_receipts r WHERE r.announcement_id = announcements.id)",
+           nativeQuery = true)
+    int resyncEngagementCounters();
+
+    // Per-user list-view flags for a page of announcements (0 or 1 each; the unique constraints allow at most one row)
+    @Query(value = "SELECT a.id AS announcementId, " +
+           "(SELECT COUNT(*) FROM announcement_likes ul WHERE ul.announcement_id = a.id AND ul.user_id = :userId) AS likedByUser, " +
+           "(SELECT COUNT(*) FROM announcement_read_receipts ur WHERE ur.announcement_id = a.id AND ur.user_id = :userId) AS readByUser " +
+           "FROM announcements a WHERE a.id IN (:ids)", nativeQuery = true)
+    List<AnnouncementUserFlags> findUserFlags(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    interface AnnouncementUserFlags {
+        Long getAnnouncementId();
+        Long getLikedByUser();
+        Long getReadByUser();
+    }
 }
@@ -5,19 +5,33 @@ import com.yourproject.entity.ComplaintStatus;
 import com.yourproject.entity.ComplaintCategory;
 import com.yourproject.entity.User;
 import com.yourproject.entity.Room;
+import com.yourproject.entity.ComplaintPriority;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.time.LocalDate;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long>, JpaSpecificationExecutor<Complaint> {
 
+    @Override
+    @EntityGraph("Complaint.list")
+    Page<Complaint> findAll(Specification<Complaint> spec, Pageable pageable);
+
     Optional<Complaint> findByComplaintIdString(String complaintIdString);
 
     Page<Complaint> findByReportedBy(User reportedBy, Pageable pageable);
@@ -47,4 +61,29 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long>, Jpa
             com.yourproject.entity.ComplaintPriority priority, // FQCN to avoid import clash if any
             Pageable pageable
     );
+
+    // Forward-only read of the complaints report
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.complaintIdString AS complaintId, c.title AS title, c.category AS category, c.priority AS priority, " +
+           "c.status AS status, r.firstName AS reportedByFirstName, r.lastName AS reportedByLastName, " +
+           "a.firstName AS assignedToFirstName, a.lastName AS assignedToLastName, rm.roomNumber AS roomNumber, " +
+           "c.createdAt AS createdAt, c.actualResolutionDate AS resolvedDate " +
+           "FROM Complaint c JOIN c.reportedBy r LEFT JOIN c.assignedTo a LEFT JOIN c.room rm " +
+           "WHERE (:from IS NULL OR c.createdAt >= :from) AND (:to IS NULL OR c.createdAt < :to) ORDER BY c.id")
+    Stream<ComplaintReportRow> streamComplaintReportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface ComplaintReportRow {
+        String getComplaintId();
+        String getTitle();
+        ComplaintCategory getCategory();
+        ComplaintPriority getPriority();
+        ComplaintStatus getStatus();
+        String getReportedByFirstName();
+        String getReportedByLastName();
+        String getAssignedToFirstName();
+        String getAssignedToLastName();
+        String getRoomNumber();
+        LocalDateTime getCreatedAt();
+        LocalDate getResolvedDate();
+    }
 }
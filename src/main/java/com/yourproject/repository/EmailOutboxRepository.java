@@ -0,0 +1,56 @@
+package com.yourproject.repository;
+
+import com.yourproject.entity.EmailOutboxMessage;
+import com.yourproject.entity.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Due rows, plus rows claimed by a relay that has not finished them within the claim timeout
+    @Query("SELECT m.id FROM EmailOutboxMessage m WHERE (m.status = com.yourproject.entity.EmailOutboxStatus.PENDING " +
+           "AND m.nextAttemptAt <= :now) OR (m.status = com.yourproject.entity.EmailOutboxStatus.SENDING " +
+           "AND m.claimedAt < :staleBefore) ORDER BY m.id ASC")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+    // Re-checks the due condition so that rows another relay claimed in the meantime are skipped
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.yourproject.entity.EmailOutboxStatus.SENDING, " +
+           "m.claimToken = :token, m.claimedAt = :now WHERE m.id IN :ids AND ((m.status = com.yourproject.entity.EmailOutboxStatus.PENDING " +
+           "AND m.nextAttemptAt <= :now) OR (m.status = com.yourproject.entity.EmailOutboxStatus.SENDING AND m.claimedAt < :staleBefore))")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    List<EmailOutboxMessage> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    long countByStatusIn(Collection<EmailOutboxStatus> statuses);
+
+    // The updates below only apply while the row is still held under the caller's claim
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.yourproject.entity.EmailOutboxStatus.SENT, " +
+           "m.attempts = m.attempts + 1, m.sentAt = :now, m.lastError = NULL, m.claimToken = NULL " +
+           "WHERE m.id IN :ids AND m.claimToken = :token")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.yourproject.entity.EmailOutboxStatus.PENDING, " +
+           "m.attempts = m.attempts + 1, m.nextAttemptAt = :nextAttemptAt, m.lastError = :error, m.claimToken = NULL " +
+           "WHERE m.id = :id AND m.claimToken = :token")
+    int reschedule(@Param("id") Long id, @Param("token") String token,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.yourproject.entity.EmailOutboxStatus.FAILED, " +
+           "m.attempts = m.attempts + 1, m.lastError = :error, m.claimToken = NULL WHERE m.id = :id AND m.claimToken = :token")
+    int markFailed(@Param("id") Long id, @Param("token") String token, @Param("error") String error);
+}
@@ -0,0 +1,14 @@
+package com.yourproject.repository;
+
+import com.yourproject.entity.FeeReminderJob;
+import com.yourproject.entity.FeeReminderJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FeeReminderJobRepository extends JpaRepository<FeeReminderJob, Long> {
+
+    List<FeeReminderJob> findByStatus(FeeReminderJobStatus status);
+}
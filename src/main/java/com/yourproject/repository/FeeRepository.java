@@ -5,21 +5,36 @@ import com.yourproject.entity.FeeStatus;
 import com.yourproject.entity.FeeType;
 import com.yourproject.entity.User;
 import com.yourproject.entity.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 @Repository
 public interface FeeRepository extends JpaRepository<Fee, Long>, JpaSpecificationExecutor<Fee> {
 
+    // Paged list endpoints: to-one associations come back with the page query; collections
+    // are loaded in batches (hibernate.default_batch_fetch_size) as convertToDto touches them.
+    @Override
+    @EntityGraph("Fee.list")
+    Page<Fee> findAll(Specification<Fee> spec, Pageable pageable);
+
     Page<Fee> findByStudent(User student, Pageable pageable);
     List<Fee> findByStudent(User student);
 
@@ -54,4 +69,65 @@ public interface FeeRepository extends JpaRepository<Fee, Long>, JpaSpecificatio
     Optional<BigDecimal> sumBalanceAmountByStatusInAndYear(@Param("statuses") List<FeeStatus> statuses, @Param("year") int year);
 
     List<Fee> findByDueDateBeforeAndStatusIn(LocalDate date, List<FeeStatus> statuses);
+
+    // Set-based status transition used by the overdue sweeper
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Fee f SET f.status = :newStatus, f.updatedAt = :now WHERE f.dueDate < :date AND f.status IN :statuses")
+    int updateStatusForDueDateBefore(@Param("date") LocalDate date, @Param("statuses") List<FeeStatus> statuses,
+                                     @Param("newStatus") FeeStatus newStatus, @Param("now") LocalDateTime now);
+
+    // Counts and sums for a year grouped by month, fee type and status in a single scan
+    @Query("SELECT f.month AS month, f.feeType AS feeType, f.status AS status, COUNT(f) AS feeCount, " +
+           "SUM(f.finalAmount) AS totalAmount, SUM(f.paidAmount) AS paidAmount, SUM(f.balanceAmount) AS balanceAmount " +
+           "FROM Fee f WHERE f.year = :year GROUP BY f.month, f.feeType, f.status")
+    List<FeeAggregateRow> aggregateByMonthTypeAndStatus(@Param("year") int year);
+
+    // Keyset-paginated read of bulk reminder targets; pass the last seen fee ID as the cursor
+    @Query("SELECT f.id AS id, s.email AS studentEmail, s.firstName AS studentFirstName, f.feeType AS feeType, " +
+           "f.balanceAmount AS balanceAmount, f.dueDate AS dueDate " +
+           "FROM Fee f JOIN f.student s WHERE f.status = :status AND f.id > :afterId ORDER BY f.id ASC")
+    List<FeeReminderTarget> findReminderTargets(@Param("status") FeeStatus status, @Param("afterId") Long afterId, Pageable pageable);
+
+    interface FeeReminderTarget {
+        Long getId();
+        String getStudentEmail();
+        String getStudentFirstName();
+        FeeType getFeeType();
+        BigDecimal getBalanceAmount();
+        LocalDate getDueDate();
+    }
+
+    interface FeeAggregateRow {
+        Integer getMonth();
+        FeeType getFeeType();
+        FeeStatus getStatus();
+        Long getFeeCount();
+        BigDecimal getTotalAmount();
+        BigDecimal getPaidAmount();
+        BigDecimal getBalanceAmount();
+    }
+
+    // Forward-only read of the fees report, by due date
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.studentId AS studentId, s.firstName AS studentFirstName, s.lastName AS studentLastName, " +
+           "f.feeType AS feeType, f.month AS month, f.year AS year, f.dueDate AS dueDate, f.finalAmount AS finalAmount, " +
+           "f.paidAmount AS paidAmount, f.balanceAmount AS balanceAmount, f.status AS status, f.paidDate AS paidDate " +
+           "FROM Fee f JOIN f.student s WHERE (:from IS NULL OR f.dueDate >= :from) AND (:to IS NULL OR f.dueDate <= :to) " +
+           "ORDER BY f.dueDate, f.id")
+    Stream<FeeReportRow> streamFeeReportRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface FeeReportRow {
+        String getStudentId();
+        String getStudentFirstName();
+        String getStudentLastName();
+        FeeType getFeeType();
+        Integer getMonth();
+        Integer getYear();
+        LocalDate getDueDate();
+        BigDecimal getFinalAmount();
+        BigDecimal getPaidAmount();
+        BigDecimal getBalanceAmount();
+        FeeStatus getStatus();
+        LocalDate getPaidDate();
+    }
 }
@@ -4,21 +4,32 @@ import com.yourproject.entity.Leave;
 import com.yourproject.entity.LeaveStatus;
 import com.yourproject.entity.LeaveType;
 import com.yourproject.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 @Repository
 public interface LeaveRepository extends JpaRepository<Leave, Long>, JpaSpecificationExecutor<Leave> {
 
+    @Override
+    @EntityGraph("Leave.list")
+    Page<Leave> findAll(Specification<Leave> spec, Pageable pageable);
+
     Optional<Leave> findByLeaveIdString(String leaveIdString);
 
     Page<Leave> findByStudent(User student, Pageable pageable);
@@ -45,4 +56,26 @@ public interface LeaveRepository extends JpaRepository<Leave, Long>, JpaSpecific
 
     // Find leaves within a date range for a particular student
     List<Leave> findByStudentAndStartDateBetweenOrEndDateBetween(User student, LocalDate rangeStart1, LocalDate rangeEnd1, LocalDate rangeStart2, LocalDate rangeEnd2);
+
+    // Forward-only read of the leaves report, by application date
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT l.leaveIdString AS leaveId, s.studentId AS studentId, s.firstName AS studentFirstName, " +
+           "s.lastName AS studentLastName, l.leaveType AS leaveType, l.startDate AS startDate, l.endDate AS endDate, " +
+           "l.status AS status, l.appliedDate AS appliedDate, l.approvedDate AS approvedDate " +
+           "FROM Leave l JOIN l.student s WHERE (:from IS NULL OR l.appliedDate >= :from) AND (:to IS NULL OR l.appliedDate < :to) " +
+           "ORDER BY l.id")
+    Stream<LeaveReportRow> streamLeaveReportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface LeaveReportRow {
+        String getLeaveId();
+        String getStudentId();
+        String getStudentFirstName();
+        String getStudentLastName();
+        LeaveType getLeaveType();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        LeaveStatus getStatus();
+        LocalDateTime getAppliedDate();
+        LocalDateTime getApprovedDate();
+    }
 }
@@ -1,12 +1,17 @@
 package com.yourproject.repository;
 
+import com.yourproject.entity.Gender;
 import com.yourproject.entity.Occupancy;
 import com.yourproject.entity.Room;
 import com.yourproject.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +30,25 @@ public interface OccupancyRepository extends JpaRepository<Occupancy, Long>, Jpa
 
     long countByRoomAndIsActiveTrue(Room room);
 
+    // Who sleeps where, with the fields bulk allocation groups by
+    @Query("SELECT o.room.id AS roomId, o.bedNumber AS bedNumber, s.gender AS gender, s.course AS course, s.year AS year " +
+           "FROM Occupancy o JOIN o.student s WHERE o.isActive = true")
+    List<BedOccupant> findActiveBedOccupants();
+
+    @Query("SELECT o.student.id FROM Occupancy o WHERE o.isActive = true AND o.student.id IN :studentIds")
+    List<Long> findActiveStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    // Occupancies created before active_bed_number existed
+    @Modifying
+    @Query("UPDATE Occupancy o SET o.activeBedNumber = o.bedNumber WHERE o.isActive = true AND o.activeBedNumber IS NULL")
+    int backfillActiveBedNumbers();
+
+    interface BedOccupant {
+        Long getRoomId();
+        Integer getBedNumber();
+        Gender getGender();
+        String getCourse();
+        Integer getYear();
+    }
+
 }
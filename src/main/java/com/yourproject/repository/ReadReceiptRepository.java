@@ -4,8 +4,12 @@ import com.yourproject.entity.ReadReceipt;
 import com.yourproject.entity.Announcement;
 import com.yourproject.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 
@@ -21,4 +25,14 @@ public interface ReadReceiptRepository extends JpaRepository<ReadReceipt, Long>
     long countByAnnouncement(Announcement announcement);
 
     boolean existsByAnnouncementAndUser(Announcement announcement, User user);
+
+    // Inserts the row only if the announcement is published and the user has none yet; returns 0 or 1.
+    // A concurrent insert that slips past NOT EXISTS is rejected by the (announcement_id, user_id) unique constraint.
+    @Modifying
+    @Query(value = "INSERT INTO announcement_read_receipts (announcement_id, user_id, read_at) " +
+           "SELECT a.id, :userId, :readAt FROM announcements a " +
+           "WHERE a.id = :announcementId AND a.status = 'PUBLISHED' " +
+           "AND NOT EXISTS (SELECT 1 FROM announcement_read_receipts x WHERE x.announcement_id = :announcementId AND x.user_id = :userId)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("announcementId") Long announcementId, @Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
 }
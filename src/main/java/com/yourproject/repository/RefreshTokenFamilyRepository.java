@@ -0,0 +1,36 @@
+package com.yourproject.repository;
+
+import com.yourproject.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    List<RefreshTokenFamily> findByExpiresAtAfter(LocalDateTime now);
+
+    // Succeeds only for the holder of the current token; a concurrent or replayed exchange updates nothing
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.currentTokenId = :newTokenId, f.expiresAt = :expiresAt " +
+           "WHERE f.id = :id AND f.currentTokenId = :currentTokenId AND f.isRevoked = false")
+    int rotate(@Param("id") String id, @Param("currentTokenId") String currentTokenId,
+               @Param("newTokenId") String newTokenId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.isRevoked = true, f.revokedReason = :reason WHERE f.id = :id AND f.isRevoked = false")
+    int revoke(@Param("id") String id, @Param("reason") String reason);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.isRevoked = true, f.revokedReason = :reason WHERE f.userId = :userId AND f.isRevoked = false")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("reason") String reason);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,13 +3,24 @@ package com.yourproject.repository;
 import com.yourproject.entity.Room;
 import com.yourproject.entity.RoomStatus;
 import com.yourproject.entity.RoomType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.math.BigDecimal;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
@@ -33,4 +44,83 @@ public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificat
      List<Room> findByTypeAndIsActiveTrue(RoomType type);
      List<Room> findByBlockAndIsActiveTrue(String block);
 
+    // Loaded by BedAllocator; the version is incremented at commit even if only occupancies change
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findForAllocation(@Param("id") Long id);
+
+    @Query("SELECT r.block FROM Room r WHERE r.id = :id")
+    Optional<String> findBlockById(@Param("id") Long id);
+
+    // Rooms assignment accepts, with the version the bulk allocation plan is checked against
+    @Query("SELECT r.id AS id, r.roomNumber AS roomNumber, r.block AS block, r.floor AS floor, r.type AS type, " +
+           "r.capacity AS capacity, r.version AS version FROM Room r WHERE r.isActive = true " +
+           "AND r.status IN (com.yourproject.entity.RoomStatus.AVAILABLE, com.yourproject.entity.RoomStatus.OCCUPIED) " +
+           "ORDER BY r.block, r.floor, r.roomNumber")
+    List<AllocationCandidate> findAllocationCandidates();
+
+    // Rooms created before the version column existed; a null version would make Hibernate treat them as new
+    @Modifying
+    @Query("UPDATE Room r SET r.version = 0 WHERE r.version IS NULL")
+    int backfillVersions();
+
+    @EntityGraph("Room.detail")
+    List<Room> findByIdIn(Collection<Long> ids);
+
+    // Allocation state of every room with its active occupant count, for the availability index
+    @Query("SELECT r.id AS id, r.roomNumber AS roomNumber, r.block AS block, r.floor AS floor, r.type AS type, " +
+           "r.capacity AS capacity, r.status AS status, r.isActive AS active, r.version AS version, COUNT(o) AS occupied " +
+           "FROM Room r LEFT JOIN r.occupancies o ON o.isActive = true " +
+           "GROUP BY r.id, r.roomNumber, r.block, r.floor, r.type, r.capacity, r.status, r.isActive, r.version")
+    List<AvailabilitySnapshot> findAvailabilitySnapshots();
+
+    @Query("SELECT r.id AS id, r.roomNumber AS roomNumber, r.block AS block, r.floor AS floor, r.type AS type, " +
+           "r.capacity AS capacity, r.status AS status, r.isActive AS active, r.version AS version, COUNT(o) AS occupied " +
+           "FROM Room r LEFT JOIN r.occupancies o ON o.isActive = true WHERE r.id = :id " +
+           "GROUP BY r.id, r.roomNumber, r.block, r.floor, r.type, r.capacity, r.status, r.isActive, r.version")
+    Optional<AvailabilitySnapshot> findAvailabilitySnapshotById(@Param("id") Long id);
+
+    interface AllocationCandidate {
+        Long getId();
+        String getRoomNumber();
+        String getBlock();
+        Integer getFloor();
+        RoomType getType();
+        Integer getCapacity();
+        Long getVersion();
+    }
+
+    interface AvailabilitySnapshot {
+        Long getId();
+        String getRoomNumber();
+        String getBlock();
+        Integer getFloor();
+        RoomType getType();
+        Integer getCapacity();
+        RoomStatus getStatus();
+        Boolean getActive();
+        Long getVersion();
+        Long getOccupied();
+    }
+
+    // Forward-only read of the rooms report with each room's active occupant count
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.roomNumber AS roomNumber, r.block AS block, r.floor AS floor, r.type AS type, r.capacity AS capacity, " +
+           "COUNT(o) AS occupied, r.status AS status, r.monthlyRent AS monthlyRent, r.isActive AS active " +
+           "FROM Room r LEFT JOIN r.occupancies o ON o.isActive = true " +
+           "GROUP BY r.id, r.roomNumber, r.block, r.floor, r.type, r.capacity, r.status, r.monthlyRent, r.isActive " +
+           "ORDER BY r.block, r.floor, r.roomNumber")
+    Stream<RoomReportRow> streamRoomReportRows();
+
+    interface RoomReportRow {
+        String getRoomNumber();
+        String getBlock();
+        Integer getFloor();
+        RoomType getType();
+        Integer getCapacity();
+        Long getOccupied();
+        RoomStatus getStatus();
+        BigDecimal getMonthlyRent();
+        Boolean getActive();
+    }
 }
@@ -2,18 +2,36 @@ package com.yourproject.repository;
 
 import com.yourproject.entity.User;
 import com.yourproject.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; // For complex queries
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByEmail(String email);
 
+    // Login: the user with their occupancies and rooms in one query, usable outside a transaction
+    @EntityGraph(attributePaths = {"occupancies", "occupancies.room"})
+    Optional<User> findWithOccupanciesByEmail(String email);
+
+    // Conditional on the hash that was read, so a password changed in the meantime is not overwritten
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :expectedHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("expectedHash") String expectedHash, @Param("newHash") String newHash);
+
     Optional<User> findByStudentId(String studentId);
 
     Optional<User> findByEmployeeId(String employeeId);
@@ -28,7 +46,38 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     Optional<User> findByPasswordResetToken(String token);
 
+    // The fields request authentication depends on, without loading the entity
+    @Query("SELECT u.id AS id, u.email AS email, u.role AS role, u.isActive AS active FROM User u WHERE u.id = :id")
+    Optional<AuthSnapshot> findAuthSnapshotById(@Param("id") Long id);
+
     // Example for searching users (can be expanded or use Specifications)
     List<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
             String firstName, String lastName, String email);
+
+    interface AuthSnapshot {
+        Long getId();
+        String getEmail();
+        Role getRole();
+        Boolean getActive();
+    }
+
+    // Forward-only read of the students report; projected rows are not managed, so nothing builds up in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.studentId AS studentId, u.firstName AS firstName, u.lastName AS lastName, u.email AS email, " +
+           "u.phone AS phone, u.course AS course, u.year AS year, u.isActive AS active, u.createdAt AS createdAt " +
+           "FROM User u WHERE u.role = :role AND (:from IS NULL OR u.createdAt >= :from) AND (:to IS NULL OR u.createdAt < :to) " +
+           "ORDER BY u.id")
+    Stream<StudentReportRow> streamStudentReportRows(@Param("role") Role role, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface StudentReportRow {
+        String getStudentId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getPhone();
+        String getCourse();
+        Integer getYear();
+        Boolean getActive();
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -15,6 +15,7 @@ public interface AnnouncementService {
 
     AnnouncementDto createAnnouncement(AnnouncementRequestDto announcementRequestDto, User currentUser);
     AnnouncementDto getAnnouncementById(Long announcementId, User currentUser); // currentUser to mark as read
+    void markAsRead(Long announcementId, User currentUser);
     Page<AnnouncementDto> getAllAnnouncements(Pageable pageable, User currentUser, String type, String status, String priority);
     AnnouncementDto updateAnnouncement(Long announcementId, AnnouncementRequestDto announcementRequestDto, User currentUser);
     void deleteAnnouncement(Long announcementId, User currentUser);
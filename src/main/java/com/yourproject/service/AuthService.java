@@ -13,6 +13,7 @@ public interface AuthService {
     AuthResponseDto registerUser(UserRegistrationRequestDto registrationRequest);
     AuthResponseDto loginUser(LoginRequestDto loginRequest);
     AuthResponseDto refreshToken(String refreshTokenValue);
+    void logout(String refreshTokenValue); // Revokes the refresh token's session
     void forgotPassword(ForgotPasswordRequestDto forgotPasswordRequest);
     void resetPassword(ResetPasswordRequestDto resetPasswordRequest);
     void changePassword(String userEmail, PasswordChangeRequestDto passwordChangeRequest);
@@ -5,6 +5,8 @@ import com.yourproject.dto.ComplaintRequestDto;
 import com.yourproject.dto.ComplaintStatusUpdateRequestDto;
 import com.yourproject.dto.ComplaintStatsDto;
 import com.yourproject.entity.User;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile; // For image uploads
@@ -16,6 +18,7 @@ public interface ComplaintService {
     ComplaintDto createComplaint(ComplaintRequestDto complaintRequestDto, User currentUser);
     ComplaintDto getComplaintById(Long complaintId, User currentUser);
     Page<ComplaintDto> getAllComplaints(Pageable pageable, User currentUser, String status, String category, String priority);
+    KeysetPage<ComplaintDto> getAllComplaints(KeysetPageRequest pageRequest, User currentUser, String status, String category, String priority);
     ComplaintDto updateComplaint(Long complaintId, ComplaintRequestDto complaintRequestDto, User currentUser);
     ComplaintDto updateComplaintStatus(Long complaintId, ComplaintStatusUpdateRequestDto statusUpdateRequestDto, User currentUser);
     void deleteComplaint(Long complaintId, User currentUser);
@@ -5,15 +5,22 @@ import com.yourproject.entity.User;
 // e.g., import com.yourproject.entity.Fee;
 // import com.yourproject.entity.Announcement;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 public interface EmailService {
 
+    // Queued in the persistent outbox and sent in the background, with retry.
+    // Throws ServiceUnavailableException when the outbox is full; the email is not stored.
     void sendSimpleMessage(String to, String subject, String text);
 
     void sendHtmlMessage(String to, String subject, String htmlContent);
 
+    // Sends the same message to each recipient over a single SMTP connection, synchronously.
+    // Returns the recipients that failed, with the cause; an empty map means all were sent.
+    Map<String, Exception> sendHtmlMessages(Collection<String> recipients, String subject, String htmlContent);
+
     // void sendWelcomeEmail(User user);
 
     // void sendPasswordResetEmail(User user, String resetUrl);
@@ -0,0 +1,13 @@
+package com.yourproject.service;
+
+public interface IdGeneratorService {
+
+    // Next value of the named sequence, starting at 1. Thread-safe and unique across instances.
+    long nextValue(String sequenceName);
+
+    String nextReceiptNumber();     // RCPYYYYMMNNNN
+    String nextComplaintIdString(); // CMPYYYYMMDDNNNN
+    String nextLeaveIdString();     // LVYYYYMMDDNNNN
+    String nextStudentId();         // STUYYYYNNNN
+    String nextEmployeeId();        // EMPNNNN
+}
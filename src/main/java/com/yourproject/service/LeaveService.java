@@ -2,6 +2,8 @@ package com.yourproject.service;
 
 import com.yourproject.dto.*;
 import com.yourproject.entity.User;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile; // If attachments are handled as file uploads
@@ -13,6 +15,7 @@ public interface LeaveService {
     LeaveDto createLeaveApplication(LeaveRequestDto leaveRequestDto, User currentUser);
     LeaveDto getLeaveApplicationById(Long leaveId, User currentUser);
     Page<LeaveDto> getAllLeaveApplications(Pageable pageable, User currentUser, String status, String leaveType);
+    KeysetPage<LeaveDto> getAllLeaveApplications(KeysetPageRequest pageRequest, User currentUser, String status, String leaveType);
     LeaveDto updateLeaveApplication(Long leaveId, LeaveRequestDto leaveRequestDto, User currentUser); // For student updating their own pending leave
     LeaveDto updateLeaveStatus(Long leaveId, LeaveStatusUpdateRequestDto statusUpdateRequestDto, User currentUser); // For admin/warden approving/rejecting
     LeaveDto cancelLeaveApplication(Long leaveId, String reason, User currentUser); // Student or admin cancelling
@@ -4,7 +4,8 @@ import com.yourproject.dto.ReportRequestDto; // To be created
 import com.yourproject.dto.ReportResponseDto; // To be created
 // Or directly return byte[] or Resource for the file
 
-import java.io.ByteArrayInputStream; // For returning file as stream
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 
 public interface ReportService {
@@ -16,15 +17,16 @@ public interface ReportService {
     // This is often more flexible for controller to then serve as download.
 
     /**
-     * Generates a report based on the specified parameters.
+     * Generates a report based on the specified parameters and writes it to out as rows are read,
+     * so memory use does not grow with the number of rows. The caller closes out.
      * @param reportType Type of report (e.g., "students", "fees")
      * @param format Format of report ("pdf" or "excel")
      * @param startDate Optional start date for report data
      * @param endDate Optional end date for report data
-     * @return ByteArrayInputStream containing the report file.
-     * @throws Exception if report generation fails.
+     * @param out Stream the report file is written to
+     * @throws IOException if writing the report fails.
      */
-    ByteArrayInputStream generateReport(String reportType, String format, LocalDate startDate, LocalDate endDate) throws Exception;
+    void writeReport(String reportType, String format, LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException;
 
     String getReportFilename(String reportType, String format, LocalDate startDate, LocalDate endDate);
     String getReportContentType(String format);
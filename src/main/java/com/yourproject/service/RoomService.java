@@ -1,10 +1,15 @@
 package com.yourproject.service;
 
+import com.yourproject.dto.BulkRoomAllocationRequestDto;
+import com.yourproject.dto.BulkRoomAllocationResultDto;
 import com.yourproject.dto.OccupancyDto;
 import com.yourproject.dto.RoomDto;
 import com.yourproject.dto.RoomRequestDto;
+import com.yourproject.dto.RoomSlimDto;
 // import com.yourproject.dto.RoomStatsDto;
 import com.yourproject.entity.Room;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -16,12 +21,15 @@ public interface RoomService {
     RoomDto getRoomById(Long roomId);
     RoomDto getRoomByNumber(String roomNumber);
     Page<RoomDto> getAllRooms(Pageable pageable, String block, Integer floor, String type, String status);
+    KeysetPage<RoomDto> getAllRooms(KeysetPageRequest pageRequest, String block, Integer floor, String type, String status);
     List<RoomDto> getAvailableRooms(String type, String block);
+    RoomSlimDto findFirstAvailableRoom(String type, String block, Integer floor); // Answered from the availability index
     RoomDto updateRoom(Long roomId, RoomRequestDto roomRequestDto);
     void deleteRoom(Long roomId); // Typically deactivation
 
     OccupancyDto assignStudentToRoom(Long studentId, Long roomId, Integer bedNumber);
     void removeStudentFromRoom(Long studentId, Long roomId); // Or using Occupancy ID
+    BulkRoomAllocationResultDto allocateRooms(BulkRoomAllocationRequestDto request); // Intake-day bulk allocation
 
     // RoomStatsDto getRoomStats();
 
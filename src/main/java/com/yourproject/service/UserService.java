@@ -5,6 +5,8 @@ import com.yourproject.dto.UserDto;
 import com.yourproject.dto.UserRegistrationRequestDto; // For admin creating users
 import com.yourproject.entity.Role;
 import com.yourproject.entity.User;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
@@ -27,6 +29,7 @@ public interface UserService {
     void activateUser(Long userId);
 
     Page<UserDto> getAllUsers(Pageable pageable, String role, String searchTerm);
+    KeysetPage<UserDto> getAllUsers(KeysetPageRequest pageRequest, String role, String searchTerm);
     List<UserDto> findUsersByRole(Role role);
 
     // Room assignment related (might be better in a dedicated RoomAssignmentService or AdminService)
@@ -35,4 +38,5 @@ public interface UserService {
 
     User findUserEntityById(Long id); // Helper to get raw entity for internal service use
     User findUserEntityByEmail(String email);
+    User getUserReference(Long id); // Lazy reference: no query until a non-ID attribute is read
 }
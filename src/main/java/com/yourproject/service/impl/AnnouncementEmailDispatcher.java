@@ -0,0 +1,227 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.entity.Announcement;
+import com.yourproject.entity.AnnouncementDeliveryStatus;
+import com.yourproject.entity.AnnouncementStatus;
+import com.yourproject.entity.Role;
+import com.yourproject.repository.AnnouncementDeliveryRepository;
+import com.yourproject.repository.AnnouncementRepository;
+import com.yourproject.service.EmailService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends announcement emails once the publishing transaction has committed.
+ * Recipients are resolved in the database into one PENDING delivery row each (including the current
+ * occupants of targeted rooms). The rows are then read back as an email-only projection in keyset
+ * order and sent in small batches: each batch reuses one SMTP connection, the batches go through a
+ * bounded worker pool, and submission is paced to a maximum rate. Every row ends up SENT or FAILED,
+ * and rows still PENDING after a restart are picked up again.
+ */
+@Component
+public class AnnouncementEmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnnouncementEmailDispatcher.class);
+
+    private final AnnouncementRepository announcementRepository;
+    private final AnnouncementDeliveryRepository deliveryRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${announcement.email.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${announcement.email.smtp-batch-size:50}")
+    private int smtpBatchSize;
+
+    private final long nanosPerMessage;
+    private long nextSendAt = System.nanoTime();
+
+    private final ExecutorService dispatchExecutor;
+    private final ThreadPoolExecutor emailExecutor;
+
+    @Autowired
+    public AnnouncementEmailDispatcher(AnnouncementRepository announcementRepository,
+                                       AnnouncementDeliveryRepository deliveryRepository,
+                                       EmailService emailService,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${announcement.email.workers:4}") int emailWorkers,
+                                       @Value("${announcement.email.queue-capacity:20}") int emailQueueCapacity,
+                                       @Value("${announcement.email.max-per-second:20}") int maxPerSecond) {
+        this.announcementRepository = announcementRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nanosPerMessage = TimeUnit.SECONDS.toNanos(1) / Math.max(maxPerSecond, 1);
+        this.dispatchExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "announcement-dispatch"));
+        // Bounded queue of SMTP batches; when full the dispatch thread sends the batch itself
+        this.emailExecutor = new ThreadPoolExecutor(emailWorkers, emailWorkers, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(emailQueueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Schedules the emails for the announcement to go out after the current transaction commits,
+     * or immediately when called outside a transaction. Nothing is sent if the transaction rolls back.
+     */
+    public void dispatchAfterCommit(Long announcementId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(announcementId);
+                }
+            });
+        } else {
+            submit(announcementId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingDeliveries() {
+        for (Long announcementId : deliveryRepository.findAnnouncementIdsWithStatus(AnnouncementDeliveryStatus.PENDING)) {
+            logger.info("Resuming email delivery for announcement {}", announcementId);
+            submit(announcementId);
+        }
+    }
+
+    private void submit(Long announcementId) {
+        dispatchExecutor.submit(() -> run(announcementId));
+    }
+
+    private void run(Long announcementId) {
+        try {
+            RenderedAnnouncement rendered = transactionTemplate.execute(tx -> enqueueRecipients(announcementId));
+            if (rendered == null) {
+                return;
+            }
+            long afterId = 0L;
+            while (true) {
+                List<AnnouncementDeliveryRepository.DeliveryTarget> chunk = deliveryRepository.findPendingTargets(
+                    announcementId, afterId, PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                for (int from = 0; from < chunk.size(); from += smtpBatchSize) {
+                    List<AnnouncementDeliveryRepository.DeliveryTarget> batch =
+                        new ArrayList<>(chunk.subList(from, Math.min(from + smtpBatchSize, chunk.size())));
+                    pace(batch.size());
+                    emailExecutor.execute(() -> deliver(batch, rendered));
+                }
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } catch (Exception e) {
+            logger.error("Email dispatch for announcement {} failed", announcementId, e);
+        }
+    }
+
+    // Creates the delivery rows and renders subject and body once for all recipients
+    private RenderedAnnouncement enqueueRecipients(Long announcementId) {
+        Announcement announcement = announcementRepository.findById(announcementId).orElse(null);
+        if (announcement == null || announcement.getStatus() != AnnouncementStatus.PUBLISHED) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int enqueued;
+        switch (announcement.getTargetAudience()) {
+            case ALL:
+                enqueued = deliveryRepository.enqueueAllUsers(announcementId, now);
+                break;
+            case STUDENTS:
+                enqueued = deliveryRepository.enqueueUsersWithRole(announcementId, Role.STUDENT.name(), now);
+                break;
+            case WARDENS:
+                enqueued = deliveryRepository.enqueueUsersWithRole(announcementId, Role.WARDEN.name(), now);
+                break;
+            case ADMINS:
+                enqueued = deliveryRepository.enqueueUsersWithRole(announcementId, Role.ADMIN.name(), now);
+                break;
+            case SPECIFIC_USERS:
+                enqueued = deliveryRepository.enqueueTargetUsers(announcementId, now);
+                break;
+            case SPECIFIC_ROOMS:
+                enqueued = deliveryRepository.enqueueTargetRoomOccupants(announcementId, now);
+                break;
+            default:
+                enqueued = 0;
+        }
+        logger.debug("Announcement {}: {} email deliveries enqueued", announcementId, enqueued);
+        String htmlContent = String.format("<h3>%s</h3><p>%s</p>", announcement.getTitle(), announcement.getContent());
+        return new RenderedAnnouncement(announcement.getTitle(), htmlContent);
+    }
+
+    private void deliver(List<AnnouncementDeliveryRepository.DeliveryTarget> batch, RenderedAnnouncement rendered) {
+        List<String> recipients = new ArrayList<>(batch.size());
+        for (AnnouncementDeliveryRepository.DeliveryTarget target : batch) {
+            recipients.add(target.getEmail());
+        }
+        Map<String, Exception> failures = emailService.sendHtmlMessages(recipients, rendered.subject, rendered.htmlContent);
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (AnnouncementDeliveryRepository.DeliveryTarget target : batch) {
+                Exception failure = failures.get(target.getEmail());
+                if (failure == null) {
+                    sentIds.add(target.getId());
+                } else {
+                    deliveryRepository.markFailed(target.getId(), truncate(failure.getMessage()));
+                }
+            }
+            if (!sentIds.isEmpty()) {
+                deliveryRepository.markSent(sentIds, LocalDateTime.now());
+            }
+        });
+    }
+
+    // Spaces submissions so that at most max-per-second messages are handed to the workers per second
+    private void pace(int messages) {
+        long now = System.nanoTime();
+        if (nextSendAt > now) {
+            LockSupport.parkNanos(nextSendAt - now);
+        } else {
+            nextSendAt = now;
+        }
+        nextSendAt += nanosPerMessage * messages;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchExecutor.shutdownNow();
+        emailExecutor.shutdown();
+    }
+
+    private static final class RenderedAnnouncement {
+        private final String subject;
+        private final String htmlContent;
+
+        RenderedAnnouncement(String subject, String htmlContent) {
+            this.subject = subject;
+            this.htmlContent = htmlContent;
+        }
+    }
+}
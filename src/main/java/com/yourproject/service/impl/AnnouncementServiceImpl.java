@@ -9,22 +9,33 @@ import com.yourproject.repository.*;
 import com.yourproject.service.AnnouncementService;
 import com.yourproject.service.EmailService; // For notifications
 import com.yourproject.service.FileUploadService; // Added
+import com.yourproject.mapper.DtoMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.multipart.MultipartFile; // Added
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,6 +51,14 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     private final ModelMapper modelMapper;
     private final EmailService emailService;
     private final FileUploadService fileUploadService; // Added
+    private final DtoMapper dtoMapper;
+    private final TransactionTemplate engagementTransaction;
+    private final TransactionTemplate readTransaction;
+    private final ReadReceiptBuffer readReceiptBuffer;
+    private final AnnouncementEmailDispatcher announcementEmailDispatcher;
+
+    @Value("${announcement.counters.resync-on-startup:false}")
+    private boolean resyncCountersOnStartup;
 
     @Autowired
     public AnnouncementServiceImpl(AnnouncementRepository announcementRepository,
@@ -50,7 +69,11 @@ public class AnnouncementServiceImpl implements AnnouncementService {
                                  ReadReceiptRepository readReceiptRepository,
                                  ModelMapper modelMapper,
                                  EmailService emailService,
-                                 FileUploadService fileUploadService) { // Added
+                                 FileUploadService fileUploadService,
+                                   DtoMapper dtoMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   ReadReceiptBuffer readReceiptBuffer,
+                                   AnnouncementEmailDispatcher announcementEmailDispatcher) { // Added
         this.announcementRepository = announcementRepository;
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
@@ -60,58 +83,64 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         this.modelMapper = modelMapper;
         this.emailService = emailService;
         this.fileUploadService = fileUploadService; // Added
+        this.dtoMapper = dtoMapper;
+        // Like rows and their counter commit on their own, so a unique-constraint race
+        // only rolls back the losing insert and never the caller's transaction
+        this.engagementTransaction = new TransactionTemplate(transactionManager);
+        this.engagementTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readReceiptBuffer = readReceiptBuffer;
+        this.announcementEmailDispatcher = announcementEmailDispatcher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resyncEngagementCounters() {
+        if (resyncCountersOnStartup) {
+            engagementTransaction.execute(tx -> announcementRepository.resyncEngagementCounters());
+        }
     }
 
     private AnnouncementDto convertToDto(Announcement announcement, User currentUser) {
-        AnnouncementDto dto = modelMapper.map(announcement, AnnouncementDto.class);
-        dto.setCreatedBy(modelMapper.map(announcement.getCreatedBy(), UserSlimDto.class));
-
-        dto.setTargetUsers(announcement.getTargetUsers().stream()
-            .map(user -> modelMapper.map(user, UserSlimDto.class))
-            .collect(Collectors.toSet()));
-        dto.setTargetRooms(announcement.getTargetRooms().stream()
-            .map(room -> modelMapper.map(room, RoomSlimDto.class))
-            .collect(Collectors.toSet()));
-
-        dto.setLikes(announcement.getLikes().stream()
-            .map(like -> {
-                LikeDto likeDto = modelMapper.map(like, LikeDto.class);
-                likeDto.setUser(modelMapper.map(like.getUser(), UserSlimDto.class));
-                return likeDto;
-            })
-            .collect(Collectors.toSet()));
-        dto.setLikeCount(dto.getLikes().size());
-
-        dto.setCommentEntries(announcement.getCommentEntries().stream()
-            .map(comment -> {
-                CommentDto commentDto = modelMapper.map(comment, CommentDto.class);
-                commentDto.setUser(modelMapper.map(comment.getUser(), UserSlimDto.class));
-                return commentDto;
-            })
-            .collect(Collectors.toList()));
-        dto.setCommentCount(dto.getCommentEntries().size());
-
-        dto.setReadReceipts(announcement.getReadReceipts().stream()
-            .map(rr -> {
-                ReadReceiptDto rrDto = modelMapper.map(rr, ReadReceiptDto.class);
-                rrDto.setUser(modelMapper.map(rr.getUser(), UserSlimDto.class));
-                return rrDto;
-            })
-            .collect(Collectors.toSet()));
-
-        dto.setActive(announcement.getStatus() == AnnouncementStatus.PUBLISHED &&
-                      (announcement.getExpiryDate() == null || announcement.getExpiryDate().isAfter(LocalDateTime.now())));
-
-        // Mark as read if current user is student and viewing a published announcement
-        if (currentUser != null && currentUser.getRole() == Role.STUDENT &&
-            announcement.getStatus() == AnnouncementStatus.PUBLISHED &&
-            !readReceiptRepository.existsByAnnouncementAndUser(announcement, currentUser)) {
-                // This marking logic might be better placed in getAnnouncementById after fetching
+        AnnouncementDto dto = dtoMapper.toAnnouncementDto(announcement);
+
+        dto.setTargetUsers(dtoMapper.mapSet(announcement.getTargetUsers(), dtoMapper::toUserSlimDto));
+        dto.setTargetRooms(dtoMapper.mapSet(announcement.getTargetRooms(), dtoMapper::toRoomSlimDto));
+
+        dto.setLikes(dtoMapper.mapSet(announcement.getLikes(), dtoMapper::toLikeDto));
+        dto.setCommentEntries(dtoMapper.mapList(announcement.getCommentEntries(), dtoMapper::toCommentDto));
+        dto.setReadReceipts(dtoMapper.mapSet(announcement.getReadReceipts(), dtoMapper::toReadReceiptDto));
+
+        if (currentUser != null) {
+            dto.setLikedByCurrentUser(announcement.getLikes().stream()
+                .anyMatch(like -> like.getUser().getId().equals(currentUser.getId())));
+            dto.setReadByCurrentUser(announcement.getReadReceipts().stream()
+                .anyMatch(receipt -> receipt.getUser().getId().equals(currentUser.getId())));
         }
 
+        dto.setActive(isActive(announcement));
+        return dto;
+    }
+
+    // List view: header fields and counters, plus per-user flags from AnnouncementRepository.findUserFlags.
+    // Likes, comments and read receipts are left null; they are only loaded for a single announcement.
+    private AnnouncementDto convertToListDto(Announcement announcement, AnnouncementRepository.AnnouncementUserFlags flags) {
+        AnnouncementDto dto = dtoMapper.toAnnouncementDto(announcement);
+        dto.setTargetUsers(dtoMapper.mapSet(announcement.getTargetUsers(), dtoMapper::toUserSlimDto));
+        dto.setTargetRooms(dtoMapper.mapSet(announcement.getTargetRooms(), dtoMapper::toRoomSlimDto));
+
+        dto.setLikedByCurrentUser(flags != null && flags.getLikedByUser() > 0);
+        dto.setReadByCurrentUser(flags != null && flags.getReadByUser() > 0);
+
+        dto.setActive(isActive(announcement));
         return dto;
     }
 
+    private boolean isActive(Announcement announcement) {
+        return announcement.getStatus() == AnnouncementStatus.PUBLISHED &&
+               (announcement.getExpiryDate() == null || announcement.getExpiryDate().isAfter(LocalDateTime.now()));
+    }
+
     private Announcement findAnnouncementEntityById(Long announcementId) {
         return announcementRepository.findById(announcementId)
             .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with ID: " + announcementId));
@@ -155,26 +184,29 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     }
 
     @Override
-    @Transactional
     public AnnouncementDto getAnnouncementById(Long announcementId, User currentUser) {
-        Announcement announcement = findAnnouncementEntityById(announcementId);
+        // The load ends its transaction before the read is recorded: a full buffer writes the receipt
+        // in its own transaction, which must not wait for a second connection while this one is held
+        AnnouncementDto dto = readTransaction.execute(tx ->
+            convertToDto(findAnnouncementEntityById(announcementId), currentUser));
 
-        // Student viewing a published announcement marks it as read
+        // Student viewing a published announcement marks it as read; the receipt and counters are written
+        // by the next buffer flush, so readCount may lag by up to one flush interval
         if (currentUser != null && currentUser.getRole() == Role.STUDENT &&
-            announcement.getStatus() == AnnouncementStatus.PUBLISHED &&
-            !readReceiptRepository.existsByAnnouncementAndUser(announcement, currentUser)) {
-
-            ReadReceipt readReceipt = new ReadReceipt();
-            readReceipt.setAnnouncement(announcement);
-            readReceipt.setUser(currentUser);
-            readReceiptRepository.save(readReceipt);
-
-            announcement.setViewCount(announcement.getViewCount() + 1);
-            // Add the new receipt to the announcement's collection for immediate DTO update
-            announcement.getReadReceipts().add(readReceipt);
-            announcementRepository.save(announcement); // Save view count and potentially new receipt if cascaded
+            dto.getStatus() == AnnouncementStatus.PUBLISHED) {
+            readReceiptBuffer.record(announcementId, currentUser.getId());
+            dto.setReadByCurrentUser(true);
         }
-        return convertToDto(announcement, currentUser);
+        return dto;
+    }
+
+    @Override
+    public void markAsRead(Long announcementId, User currentUser) {
+        if (!announcementRepository.existsById(announcementId)) {
+            throw new ResourceNotFoundException("Announcement not found with ID: " + announcementId);
+        }
+        // Unpublished announcements are filtered out by the receipt insert itself
+        readReceiptBuffer.record(announcementId, currentUser.getId());
     }
 
     @Override
@@ -230,7 +262,17 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-        return announcementRepository.findAll(spec, pageable).map(ann -> convertToDto(ann, currentUser));
+        Page<Announcement> page = announcementRepository.findAll(spec, pageable);
+        if (page.isEmpty()) {
+            return page.map(ann -> convertToListDto(ann, null));
+        }
+
+        List<Long> ids = page.getContent().stream().map(Announcement::getId).collect(Collectors.toList());
+        Map<Long, AnnouncementRepository.AnnouncementUserFlags> flagsById = new HashMap<>();
+        for (AnnouncementRepository.AnnouncementUserFlags flags : announcementRepository.findUserFlags(ids, currentUser.getId())) {
+            flagsById.put(flags.getAnnouncementId(), flags);
+        }
+        return page.map(ann -> convertToListDto(ann, flagsById.get(ann.getId())));
     }
 
     @Override
@@ -321,32 +363,39 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     }
 
     @Override
-    @Transactional
     public LikeDto toggleLike(Long announcementId, User currentUser) {
         Announcement announcement = findAnnouncementEntityById(announcementId);
         if (announcement.getStatus() != AnnouncementStatus.PUBLISHED) {
             throw new BadRequestException("Cannot like an unpublished announcement.");
         }
 
-        Optional<Like> existingLike = likeRepository.findByAnnouncementAndUser(announcement, currentUser);
-        if (existingLike.isPresent()) {
-            likeRepository.delete(existingLike.get());
-            // Update announcement's likes collection for DTO conversion consistency (if not using refresh)
-            announcement.getLikes().remove(existingLike.get());
+        // The counter only moves when a like row was actually deleted or inserted
+        Boolean liked;
+        try {
+            liked = engagementTransaction.execute(tx -> {
+                if (likeRepository.deleteByAnnouncementIdAndUserId(announcementId, currentUser.getId()) > 0) {
+                    announcementRepository.incrementLikeCount(announcementId, -1);
+                    return false;
+                }
+                if (likeRepository.insertIfAbsent(announcementId, currentUser.getId(), LocalDateTime.now()) > 0) {
+                    announcementRepository.incrementLikeCount(announcementId, 1);
+                }
+                return true;
+            });
+        } catch (DataIntegrityViolationException e) {
+            liked = true; // A concurrent request by the same user inserted the like
+        }
+
+        if (!Boolean.TRUE.equals(liked)) {
             // We don't return a LikeDto on unlike, or return null/specific response
             return null; // Or a DTO indicating unliked
-        } else {
-            Like newLike = new Like();
-            newLike.setAnnouncement(announcement);
-            newLike.setUser(currentUser);
-            Like savedLike = likeRepository.save(newLike);
-            // Update announcement's likes collection
-            announcement.getLikes().add(savedLike);
-
-            LikeDto likeDto = modelMapper.map(savedLike, LikeDto.class);
-            likeDto.setUser(modelMapper.map(currentUser, UserSlimDto.class));
-            return likeDto;
         }
+        Optional<Like> like = likeRepository.findByAnnouncementAndUser(announcement, currentUser);
+        if (like.isEmpty()) {
+            return null; // Unliked again by a concurrent request
+        }
+        // No transaction is open here, so the like's lazy user is not touched
+        return new LikeDto(like.get().getId(), dtoMapper.toUserSlimDto(currentUser), like.get().getLikedAt());
     }
 
     @Override
@@ -362,12 +411,10 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         newComment.setUser(currentUser);
         newComment.setText(commentText);
         Comment savedComment = commentRepository.save(newComment);
+        announcementRepository.incrementCommentCount(announcementId, 1);
 
-        // Update announcement's comments collection
-        announcement.getCommentEntries().add(savedComment);
-
-        CommentDto commentDto = modelMapper.map(savedComment, CommentDto.class);
-        commentDto.setUser(modelMapper.map(currentUser, UserSlimDto.class));
+        CommentDto commentDto = dtoMapper.toCommentDto(savedComment);
+        commentDto.setUser(dtoMapper.toUserSlimDto(currentUser));
         return commentDto;
     }
 
@@ -412,54 +459,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     }
 
     private void sendNotificationEmails(Announcement announcement) {
-        // Determine recipients based on targetAudience
-        List<User> recipients = new ArrayList<>();
-        switch (announcement.getTargetAudience()) {
-            case ALL:
-                recipients.addAll(userRepository.findAll()); // Consider filtering for active users
-                break;
-            case STUDENTS:
-                recipients.addAll(userRepository.findByRole(Role.STUDENT));
-                break;
-            case WARDENS:
-                recipients.addAll(userRepository.findByRole(Role.WARDEN));
-                break;
-            case ADMINS:
-                recipients.addAll(userRepository.findByRole(Role.ADMIN));
-                break;
-            case SPECIFIC_USERS:
-                recipients.addAll(announcement.getTargetUsers());
-                break;
-            case SPECIFIC_ROOMS:
-                // This requires fetching users in those rooms.
-                // For each room in announcement.getTargetRooms(), get occupants.
-                // This can be complex and lead to N+1 if not careful.
-                // List<User> roomOccupants = announcement.getTargetRooms().stream()
-                //     .flatMap(room -> room.getOccupancies().stream())
-                //     .filter(Occupancy::isActive)
-                //     .map(Occupancy::getStudent)
-                //     .distinct()
-                //     .collect(Collectors.toList());
-                // recipients.addAll(roomOccupants);
-                break;
-        }
-
-        // Remove duplicates and filter for active users with valid emails
-        List<User> finalRecipients = recipients.stream()
-            .filter(u -> u.isActive() && StringUtils.hasText(u.getEmail()))
-            .distinct() // Based on User's equals/hashCode, ensure they are implemented or rely on object identity
-            .collect(Collectors.toList());
-
-        if (!finalRecipients.isEmpty()) {
-            // Simplified email sending, in reality, might use a template
-            // emailService.sendAnnouncementEmail(finalRecipients, announcement);
-             finalRecipients.forEach(recipient ->
-                emailService.sendHtmlMessage(
-                    recipient.getEmail(),
-                    announcement.getTitle(),
-                    String.format("<h3>%s</h3><p>%s</p>", announcement.getTitle(), announcement.getContent())
-                )
-            );
-        }
+        // Recipients are resolved and emailed in the background once this transaction commits
+        announcementEmailDispatcher.dispatchAfterCommit(announcement.getId());
     }
 }
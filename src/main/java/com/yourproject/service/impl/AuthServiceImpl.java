@@ -9,12 +9,15 @@ import com.yourproject.exception.UnauthorizedException;
 import com.yourproject.repository.UserRepository;
 import com.yourproject.service.AuthService;
 import com.yourproject.service.EmailService; // Assuming an EmailService will be created
+import com.yourproject.service.IdGeneratorService;
 import com.yourproject.util.JwtUtil;
+import com.yourproject.mapper.DtoMapper;
 import org.modelmapper.ModelMapper; // Or manual mapping
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.UUID; // For simple token generation for password reset
@@ -23,22 +26,40 @@ import java.util.UUID; // For simple token generation for password reset
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
     private final ModelMapper modelMapper; // For DTO-entity mapping
     private final EmailService emailService; // For sending emails
+    private final DtoMapper dtoMapper;
+    private final UserSnapshotCache userSnapshotCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final IdGeneratorService idGeneratorService;
+    private final TransactionTemplate rehashTransaction;
 
     @Autowired
     public AuthServiceImpl(UserRepository userRepository,
-                           PasswordEncoder passwordEncoder,
+                           PasswordHashingService passwordHashingService,
                            JwtUtil jwtUtil,
                            ModelMapper modelMapper,
-                           EmailService emailService) {
+                           EmailService emailService,
+                           DtoMapper dtoMapper,
+                           UserSnapshotCache userSnapshotCache,
+                           RefreshTokenStore refreshTokenStore,
+                           LoginActivityRecorder loginActivityRecorder,
+                           IdGeneratorService idGeneratorService,
+                           PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtUtil = jwtUtil;
         this.modelMapper = modelMapper;
         this.emailService = emailService;
+        this.dtoMapper = dtoMapper;
+        this.userSnapshotCache = userSnapshotCache;
+        this.refreshTokenStore = refreshTokenStore;
+        this.loginActivityRecorder = loginActivityRecorder;
+        this.idGeneratorService = idGeneratorService;
+        this.rehashTransaction = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -49,17 +70,15 @@ public class AuthServiceImpl implements AuthService {
         }
 
         User user = modelMapper.map(registrationRequest, User.class);
-        user.setPassword(passwordEncoder.encode(registrationRequest.getPassword()));
+        user.setPassword(passwordHashingService.encode(registrationRequest.getPassword()));
         user.setActive(true); // Default to active
         user.setEmailVerified(false); // Requires verification step if implemented
 
         // ID Generation (studentId/employeeId) - This logic was in Mongoose model
-        // This should be a more robust and centralized generation strategy.
         if (user.getRole() == Role.STUDENT) {
-            // Example: "STU" + year + random number
-            user.setStudentId("STU" + LocalDateTime.now().getYear() + (1000 + (int)(Math.random() * 9000)));
+            user.setStudentId(idGeneratorService.nextStudentId());
         } else if (user.getRole() == Role.ADMIN || user.getRole() == Role.WARDEN) {
-            user.setEmployeeId("EMP" + (1000 + (int)(Math.random() * 9000)));
+            user.setEmployeeId(idGeneratorService.nextEmployeeId());
             user.setJoinDate(java.time.LocalDate.now());
         }
 
@@ -69,41 +88,46 @@ public class AuthServiceImpl implements AuthService {
         // emailService.sendWelcomeEmail(savedUser);
 
         String accessToken = jwtUtil.generateAccessToken(savedUser.getEmail(), savedUser.getId(), savedUser.getRole());
-        String refreshToken = jwtUtil.generateRefreshToken(savedUser.getEmail(), savedUser.getId());
+        String refreshToken = refreshTokenStore.startSession(savedUser.getEmail(), savedUser.getId());
 
-        UserDto userDto = modelMapper.map(savedUser, UserDto.class);
-        // Populate derived fields in DTO if not handled by ModelMapper directly
-        userDto.setFullName(savedUser.getFirstName() + " " + savedUser.getLastName());
+        UserDto userDto = dtoMapper.toUserDto(savedUser);
 
 
         return new AuthResponseDto(accessToken, refreshToken, userDto);
     }
 
+    // Not transactional: no connection is held while BCrypt runs. Only a rehash opens a short write transaction.
     @Override
-    @Transactional
     public AuthResponseDto loginUser(LoginRequestDto loginRequest) {
-        User user = userRepository.findByEmail(loginRequest.getEmail())
+        User user = userRepository.findWithOccupanciesByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("Invalid email or password."));
 
         if (!user.isActive()) {
             throw new UnauthorizedException("Account is deactivated. Please contact administrator.");
         }
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new UnauthorizedException("Invalid email or password.");
         }
 
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Re-hash at the configured cost while the raw password is at hand; only then is the row written
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            String currentHash = user.getPassword();
+            String upgradedHash = passwordHashingService.encode(loginRequest.getPassword());
+            rehashTransaction.executeWithoutResult(tx ->
+                userRepository.updatePasswordIfUnchanged(user.getId(), currentHash, upgradedHash));
+        }
+        LocalDateTime loginAt = LocalDateTime.now();
+        loginActivityRecorder.recordLogin(user.getId(), loginAt);
 
         String accessToken = jwtUtil.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail(), user.getId());
+        String refreshToken = refreshTokenStore.startSession(user.getEmail(), user.getId());
 
-        UserDto userDto = modelMapper.map(user, UserDto.class);
-        userDto.setFullName(user.getFirstName() + " " + user.getLastName());
+        UserDto userDto = dtoMapper.toUserDto(user);
+        userDto.setLastLogin(loginAt);
         // Potentially map currentRoom for UserDto
         user.getCurrentOccupancy().ifPresent(occupancy -> {
-            RoomSlimDto roomDto = modelMapper.map(occupancy.getRoom(), RoomSlimDto.class);
+            RoomSlimDto roomDto = dtoMapper.toRoomSlimDto(occupancy.getRoom());
             userDto.setCurrentRoom(roomDto);
         });
 
@@ -113,29 +137,28 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponseDto refreshToken(String refreshTokenValue) {
-        if (!jwtUtil.validateToken(refreshTokenValue)) {
-            throw new UnauthorizedException("Invalid or expired refresh token.");
-        }
-
-        String email = jwtUtil.extractUsername(refreshTokenValue);
-        Long userId = jwtUtil.extractUserId(refreshTokenValue);
+        // Single-use: the presented token is retired and a new one in the same session returned
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(refreshTokenValue);
 
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findById(rotation.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found for refresh token."));
 
-        if (!user.isActive() || !user.getId().equals(userId)) {
-             throw new UnauthorizedException("Invalid refresh token user context.");
+        if (!user.isActive()) {
+            refreshTokenStore.revokeAllSessions(user.getId(), "DEACTIVATED");
+            throw new UnauthorizedException("Invalid refresh token user context.");
         }
 
         String newAccessToken = jwtUtil.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
-        // Optionally, issue a new refresh token as well for sliding sessions
-        // String newRefreshToken = jwtUtil.generateRefreshToken(user.getEmail(), user.getId());
 
-        UserDto userDto = modelMapper.map(user, UserDto.class); // For consistency, though not always needed for refresh
-        userDto.setFullName(user.getFirstName() + " " + user.getLastName());
+        UserDto userDto = dtoMapper.toUserDto(user); // For consistency, though not always needed for refresh
 
 
-        return new AuthResponseDto(newAccessToken, refreshTokenValue, userDto); // Or newRefreshToken
+        return new AuthResponseDto(newAccessToken, rotation.getRefreshToken(), userDto);
+    }
+
+    @Override
+    public void logout(String refreshTokenValue) {
+        refreshTokenStore.revokeSession(refreshTokenValue);
     }
 
     @Override
@@ -164,10 +187,12 @@ public class AuthServiceImpl implements AuthService {
             throw new BadRequestException("Password reset token has expired.");
         }
 
-        user.setPassword(passwordEncoder.encode(resetPasswordRequest.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(resetPasswordRequest.getNewPassword()));
         user.setPasswordResetToken(null);
         user.setPasswordResetTokenExpiry(null);
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getId(), UserSnapshotCache.InvalidationReason.PASSWORD_CHANGE);
+        refreshTokenStore.revokeAllSessions(user.getId(), "PASSWORD_CHANGE");
     }
 
     @Override
@@ -176,22 +201,23 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException("User not found."));
 
-        if (!passwordEncoder.matches(passwordChangeRequest.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(passwordChangeRequest.getCurrentPassword(), user.getPassword())) {
             throw new BadRequestException("Incorrect current password.");
         }
 
-        user.setPassword(passwordEncoder.encode(passwordChangeRequest.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(passwordChangeRequest.getNewPassword()));
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getId(), UserSnapshotCache.InvalidationReason.PASSWORD_CHANGE);
+        refreshTokenStore.revokeAllSessions(user.getId(), "PASSWORD_CHANGE");
     }
 
     @Override
     public UserDto getAuthenticatedUserProfile(String email) {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
-        UserDto userDto = modelMapper.map(user, UserDto.class);
-        userDto.setFullName(user.getFirstName() + " " + user.getLastName());
+        UserDto userDto = dtoMapper.toUserDto(user);
         user.getCurrentOccupancy().ifPresent(occupancy -> {
-            RoomSlimDto roomDto = modelMapper.map(occupancy.getRoom(), RoomSlimDto.class);
+            RoomSlimDto roomDto = dtoMapper.toRoomSlimDto(occupancy.getRoom());
             userDto.setCurrentRoom(roomDto);
         });
         return userDto;
@@ -0,0 +1,282 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.dto.OccupancyDto;
+import com.yourproject.entity.Occupancy;
+import com.yourproject.entity.Role;
+import com.yourproject.entity.Room;
+import com.yourproject.entity.RoomStatus;
+import com.yourproject.entity.User;
+import com.yourproject.exception.BadRequestException;
+import com.yourproject.exception.ConflictException;
+import com.yourproject.exception.ResourceNotFoundException;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.repository.OccupancyRepository;
+import com.yourproject.repository.RoomRepository;
+import com.yourproject.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Assigns students to beds and releases them without overbooking.
+ *
+ * Correctness across instances comes from the database: each allocation loads the room with
+ * OPTIMISTIC_FORCE_INCREMENT, so two transactions changing the same room's occupants cannot both
+ * commit, and occupancies carry a unique (room, active bed) constraint. A losing transaction is
+ * retried up to max-attempts times with a short jittered backoff before failing with 409.
+ *
+ * Within an instance, work on one room is serialized by a striped room lock, so conflicts mostly
+ * come from other instances and rooms in different stripes proceed in parallel. Every room
+ * operation also holds its block's stripe in shared mode, leaving exclusive mode for work that
+ * spans a whole block.
+ */
+@Component
+public class BedAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BedAllocator.class);
+
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final OccupancyRepository occupancyRepository;
+    private final DtoMapper dtoMapper;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Lock[] roomLocks;
+    private final ReadWriteLock[] blockLocks;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final Counter conflictCounter;
+    private final Counter exhaustedCounter;
+
+    @Autowired
+    public BedAllocator(RoomRepository roomRepository,
+                        UserRepository userRepository,
+                        OccupancyRepository occupancyRepository,
+                        DtoMapper dtoMapper,
+                        RoomAvailabilityIndex roomAvailabilityIndex,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${room.allocation.lock-stripes:64}") int lockStripes,
+                        @Value("${room.allocation.max-attempts:5}") int maxAttempts,
+                        @Value("${room.allocation.retry-backoff-ms:20}") long retryBackoffMs) {
+        this.roomRepository = roomRepository;
+        this.userRepository = userRepository;
+        this.occupancyRepository = occupancyRepository;
+        this.dtoMapper = dtoMapper;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Each attempt commits or rolls back on its own so a conflict can be retried
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.roomLocks = new Lock[lockStripes];
+        this.blockLocks = new ReadWriteLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            roomLocks[i] = new ReentrantLock();
+            blockLocks[i] = new ReentrantReadWriteLock();
+        }
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.conflictCounter = Counter.builder("room.allocation.conflicts")
+            .description("Allocation attempts rolled back by a concurrent change to the same room")
+            .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("room.allocation.exhausted")
+            .description("Allocations that still conflicted after the last retry")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillActiveBeds() {
+        // Before any allocation loads a room with a version check
+        Integer versioned = transactionTemplate.execute(tx -> roomRepository.backfillVersions());
+        if (versioned != null && versioned > 0) {
+            logger.info("Backfilled the version of {} rooms", versioned);
+        }
+        try {
+            Integer updated = transactionTemplate.execute(tx -> occupancyRepository.backfillActiveBedNumbers());
+            if (updated != null && updated > 0) {
+                logger.info("Backfilled the active bed number of {} occupancies", updated);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Rooms overbooked before the constraint existed; new allocations are still checked
+            logger.warn("Could not backfill active bed numbers, some beds have more than one active occupant: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Assigns the student to the room, on the requested bed or the lowest free one.
+     */
+    public OccupancyDto assign(Long studentId, Long roomId, Integer bedNumber) {
+        return withRoom(roomId, () -> transactionTemplate.execute(tx -> {
+            User student = userRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with ID: " + studentId));
+            Room room = roomRepository.findForAllocation(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+
+            if (student.getRole() != Role.STUDENT) {
+                throw new BadRequestException("Only students can be assigned to rooms.");
+            }
+            if (occupancyRepository.existsByStudentAndIsActiveTrue(student)) {
+                throw new BadRequestException("Student " + student.getFirstName() + " is already assigned to a room.");
+            }
+            if (room.getStatus() != RoomStatus.AVAILABLE && room.getStatus() != RoomStatus.OCCUPIED) { // Allow assigning to partially occupied
+                throw new BadRequestException("Room " + room.getRoomNumber() + " is not available for assignment (current status: " + room.getStatus() + ").");
+            }
+
+            List<Occupancy> activeOccupancies = occupancyRepository.findByRoomAndIsActiveTrue(room);
+            if (activeOccupancies.size() >= room.getCapacity()) {
+                throw new BadRequestException("Room " + room.getRoomNumber() + " is at full capacity.");
+            }
+            int bed = chooseBed(room, activeOccupancies, bedNumber);
+
+            Occupancy occupancy = new Occupancy();
+            occupancy.setStudent(student);
+            occupancy.setRoom(room);
+            occupancy.setAllocatedDate(LocalDate.now());
+            occupancy.setActive(true);
+            occupancy.setBedNumber(bed);
+            occupancy.setActiveBedNumber(bed);
+            Occupancy savedOccupancy = occupancyRepository.save(occupancy);
+
+            room.setStatus(RoomStatus.OCCUPIED);
+            roomAvailabilityIndex.refreshAfterCommit(roomId);
+            return dtoMapper.toOccupancyDto(savedOccupancy);
+        }));
+    }
+
+    /**
+     * Ends the student's active occupancy in the room.
+     */
+    public void release(Long studentId, Long roomId) {
+        withRoom(roomId, () -> transactionTemplate.execute(tx -> {
+            User student = userRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with ID: " + studentId));
+            Room room = roomRepository.findForAllocation(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+
+            Occupancy currentOccupancy = occupancyRepository.findByStudentAndIsActiveTrue(student)
+                .orElseThrow(() -> new BadRequestException("Student is not actively assigned to any room."));
+            if (!currentOccupancy.getRoom().getId().equals(roomId)) {
+                throw new BadRequestException("Student is not assigned to the specified room.");
+            }
+
+            currentOccupancy.setActive(false);
+            currentOccupancy.setActiveBedNumber(null);
+            currentOccupancy.setVacatedDate(LocalDate.now());
+            occupancyRepository.save(currentOccupancy);
+
+            // Update room status if it becomes available
+            long activeOccupantsInRoom = occupancyRepository.countByRoomAndIsActiveTrue(room);
+            if (activeOccupantsInRoom < room.getCapacity() && room.getStatus() == RoomStatus.OCCUPIED) {
+                room.setStatus(RoomStatus.AVAILABLE);
+            }
+            roomAvailabilityIndex.refreshAfterCommit(roomId);
+            return null;
+        }));
+    }
+
+    /**
+     * Runs work that changes rooms across whole blocks, excluding single-room allocations in them.
+     */
+    public <T> T withBlocksLocked(Collection<String> blocks, Supplier<T> work) {
+        int[] stripes = blocks.stream().mapToInt(this::stripe).distinct().sorted().toArray();
+        for (int stripe : stripes) {
+            blockLocks[stripe].writeLock().lock();
+        }
+        try {
+            return work.get();
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                blockLocks[stripes[i]].writeLock().unlock();
+            }
+        }
+    }
+
+    private int chooseBed(Room room, List<Occupancy> activeOccupancies, Integer requestedBed) {
+        BitSet takenBeds = new BitSet(room.getCapacity() + 1);
+        for (Occupancy occupancy : activeOccupancies) {
+            if (occupancy.getBedNumber() != null) {
+                takenBeds.set(occupancy.getBedNumber());
+            }
+        }
+        if (requestedBed != null) {
+            if (requestedBed < 1 || requestedBed > room.getCapacity()) {
+                throw new BadRequestException("Bed number must be between 1 and " + room.getCapacity() + ".");
+            }
+            if (takenBeds.get(requestedBed)) {
+                throw new BadRequestException("Bed " + requestedBed + " in room " + room.getRoomNumber() + " is already occupied.");
+            }
+            return requestedBed;
+        }
+        int bed = takenBeds.nextClearBit(1);
+        if (bed > room.getCapacity()) {
+            throw new BadRequestException("Room " + room.getRoomNumber() + " is at full capacity.");
+        }
+        return bed;
+    }
+
+    /**
+     * Runs the allocation under the room's stripe (and its block's stripe in shared mode),
+     * retrying when a concurrent transaction changed the same room first.
+     */
+    private <T> T withRoom(Long roomId, Supplier<T> allocation) {
+        String block = roomRepository.findBlockById(roomId)
+            .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+        for (int attempt = 1; ; attempt++) {
+            Lock blockLock = blockLocks[stripe(block)].readLock();
+            Lock roomLock = roomLocks[stripe(roomId)];
+            blockLock.lock();
+            roomLock.lock();
+            try {
+                return allocation.get();
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                conflictCounter.increment();
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter.increment();
+                    logger.warn("Allocation in room {} still conflicting after {} attempts", roomId, attempt);
+                    throw new ConflictException("The room was changed by another allocation. Please try again.");
+                }
+            } finally {
+                roomLock.unlock();
+                blockLock.unlock();
+            }
+            backoff(attempt);
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt + ThreadLocalRandom.current().nextLong(retryBackoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Allocation interrupted. Please try again.");
+        }
+    }
+
+    private int stripe(Object key) {
+        int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % roomLocks.length;
+    }
+}
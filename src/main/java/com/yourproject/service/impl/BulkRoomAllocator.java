@@ -0,0 +1,420 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.dto.BulkRoomAllocationRequestDto;
+import com.yourproject.dto.BulkRoomAllocationResultDto;
+import com.yourproject.dto.RoomAllocationPreferenceDto;
+import com.yourproject.dto.RoomAllocationResultDto;
+import com.yourproject.entity.Gender;
+import com.yourproject.entity.Role;
+import com.yourproject.entity.RoomType;
+import com.yourproject.entity.User;
+import com.yourproject.exception.BadRequestException;
+import com.yourproject.repository.OccupancyRepository;
+import com.yourproject.repository.RoomRepository;
+import com.yourproject.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Allocates a whole intake in one call. Students, rooms and current occupants are read with a
+ * handful of queries and a plan is computed in memory. Students are taken in gender, course and
+ * year order, and each is greedily placed in the first room in block/floor/number order that
+ * matches their preferences, ranked as follows:
+ * <ul>
+ *     <li>a room already holding their course and year (when grouping);</li>
+ *     <li>an empty room;</li>
+ *     <li>any other room with a free bed.</li>
+ * </ul>
+ * Without grouping, partly filled rooms come before empty ones. A room never mixes genders.
+ *
+ * The plan is saved in chunks of chunk-size students, each in its own transaction holding the
+ * affected blocks exclusively in BedAllocator. The touched rooms are locked and their versions
+ * read with one SELECT ... FOR UPDATE; only rooms still at the planned version are claimed (their
+ * version bumped) and filled. A room changed since planning is skipped and its students are
+ * reported as failed instead of being overbooked. Occupancies go in as one JDBC batch.
+ */
+@Component
+public class BulkRoomAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkRoomAllocator.class);
+
+    // Locks the rooms so their versions cannot move between this read and the claim below
+    private static final String LOCK_ROOMS_SQL =
+        "SELECT id, version FROM rooms WHERE id IN (%s) AND is_active = true AND status IN ('AVAILABLE', 'OCCUPIED') FOR UPDATE";
+
+    private static final String CLAIM_ROOMS_SQL =
+        "UPDATE rooms SET version = version + 1, status = 'OCCUPIED', updated_at = ? WHERE id IN (%s)";
+
+    private static final String INSERT_OCCUPANCY_SQL =
+        "INSERT INTO occupancies (user_id, room_id, allocated_date, bed_number, active_bed_number, is_active, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, true, ?)";
+
+    private static final Comparator<User> INTAKE_ORDER = Comparator
+        .comparing(User::getGender, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(User::getCourse, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(User::getYear, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final UserRepository userRepository;
+    private final RoomRepository roomRepository;
+    private final OccupancyRepository occupancyRepository;
+    private final BedAllocator bedAllocator;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final int maxStudents;
+
+    private final Timer allocationTimer;
+    private final Counter allocatedCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public BulkRoomAllocator(UserRepository userRepository,
+                             RoomRepository roomRepository,
+                             OccupancyRepository occupancyRepository,
+                             BedAllocator bedAllocator,
+                             RoomAvailabilityIndex roomAvailabilityIndex,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${room.bulk-allocation.chunk-size:500}") int chunkSize,
+                             @Value("${room.bulk-allocation.max-students:5000}") int maxStudents) {
+        this.userRepository = userRepository;
+        this.roomRepository = roomRepository;
+        this.occupancyRepository = occupancyRepository;
+        this.bedAllocator = bedAllocator;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.maxStudents = maxStudents;
+        this.allocationTimer = Timer.builder("room.bulk-allocation.duration")
+            .description("Time taken to plan and save a bulk room allocation")
+            .register(meterRegistry);
+        this.allocatedCounter = Counter.builder("room.bulk-allocation.students")
+            .description("Students processed by bulk room allocation")
+            .tag("result", "allocated")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("room.bulk-allocation.students")
+            .description("Students processed by bulk room allocation")
+            .tag("result", "failed")
+            .register(meterRegistry);
+    }
+
+    public BulkRoomAllocationResultDto allocate(BulkRoomAllocationRequestDto request) {
+        if (request.getStudents().size() > maxStudents) {
+            throw new BadRequestException("At most " + maxStudents + " students can be allocated in one request.");
+        }
+        return allocationTimer.record(() -> {
+            Map<Long, RoomAllocationResultDto> results = new LinkedHashMap<>();
+            List<Placement> plan = plan(request, results);
+            if (!request.isDryRun() && !plan.isEmpty()) {
+                save(plan, results);
+                roomAvailabilityIndex.rebuild();
+            }
+
+            BulkRoomAllocationResultDto report = new BulkRoomAllocationResultDto();
+            report.setRequested(results.size()); // distinct students
+            report.setDryRun(request.isDryRun());
+            report.setResults(new ArrayList<>(results.values()));
+            report.setAllocated((int) results.values().stream().filter(RoomAllocationResultDto::isAllocated).count());
+            report.setFailed(results.size() - report.getAllocated());
+            if (!request.isDryRun()) {
+                allocatedCounter.increment(report.getAllocated());
+                failedCounter.increment(report.getFailed());
+            }
+            logger.info("Bulk allocation{}: {} of {} students placed", request.isDryRun() ? " (dry run)" : "",
+                report.getAllocated(), report.getRequested());
+            return report;
+        });
+    }
+
+    /**
+     * Validates the students and places each in a room in memory. Students that cannot be placed
+     * get their failure recorded in results; placed ones are recorded as allocated.
+     */
+    private List<Placement> plan(BulkRoomAllocationRequestDto request, Map<Long, RoomAllocationResultDto> results) {
+        Map<Long, RoomAllocationPreferenceDto> preferences = new LinkedHashMap<>();
+        for (RoomAllocationPreferenceDto preference : request.getStudents()) {
+            if (preferences.putIfAbsent(preference.getStudentId(), preference) == null) {
+                results.put(preference.getStudentId(), failure(preference.getStudentId(), null));
+            }
+        }
+
+        Map<Long, User> students = userRepository.findAllById(preferences.keySet()).stream()
+            .collect(Collectors.toMap(User::getId, user -> user));
+        Set<Long> alreadyAssigned = new HashSet<>(occupancyRepository.findActiveStudentIds(preferences.keySet()));
+
+        List<User> eligible = new ArrayList<>();
+        for (Long studentId : preferences.keySet()) {
+            User student = students.get(studentId);
+            if (student == null) {
+                results.get(studentId).setReason("Student not found.");
+            } else if (student.getRole() != Role.STUDENT || !student.isActive()) {
+                results.get(studentId).setReason("Only active students can be assigned to rooms.");
+            } else if (alreadyAssigned.contains(studentId)) {
+                results.get(studentId).setReason("Student is already assigned to a room.");
+            } else {
+                eligible.add(student);
+            }
+        }
+        eligible.sort(INTAKE_ORDER); // stable, so request order is kept within a cohort
+
+        List<RoomPlan> rooms = loadRooms();
+        List<Placement> plan = new ArrayList<>(eligible.size());
+        for (User student : eligible) {
+            RoomAllocationPreferenceDto preference = preferences.get(student.getId());
+            String cohort = cohort(student);
+            RoomPlan room = chooseRoom(rooms, student.getGender(), request.isGroupByCourseAndYear() ? cohort : null, preference);
+            if (room == null) {
+                results.get(student.getId()).setReason("No free bed matches the student's preferences.");
+                continue;
+            }
+            int bed = room.takeBed(student.getGender(), cohort);
+            plan.add(new Placement(student.getId(), room, bed));
+            results.put(student.getId(), success(student.getId(), room, bed));
+        }
+        return plan;
+    }
+
+    private List<RoomPlan> loadRooms() {
+        Map<Long, RoomPlan> rooms = new LinkedHashMap<>();
+        for (RoomRepository.AllocationCandidate candidate : roomRepository.findAllocationCandidates()) {
+            rooms.put(candidate.getId(), new RoomPlan(candidate));
+        }
+        for (OccupancyRepository.BedOccupant occupant : occupancyRepository.findActiveBedOccupants()) {
+            RoomPlan room = rooms.get(occupant.getRoomId());
+            if (room != null) {
+                room.addOccupant(occupant.getBedNumber(), occupant.getGender(), cohort(occupant.getCourse(), occupant.getYear()));
+            }
+        }
+        return new ArrayList<>(rooms.values());
+    }
+
+    private RoomPlan chooseRoom(List<RoomPlan> rooms, Gender gender, String cohort, RoomAllocationPreferenceDto preference) {
+        RoomPlan best = null;
+        int bestRank = Integer.MAX_VALUE;
+        for (RoomPlan room : rooms) {
+            if (!room.hasFreeBed() || !room.accepts(gender) || !room.matches(preference)) {
+                continue;
+            }
+            int rank;
+            if (cohort != null) {
+                rank = room.cohorts.containsKey(cohort) ? 0 : room.occupied == 0 ? 1 : 2;
+            } else {
+                rank = room.occupied > 0 ? 0 : 1;
+            }
+            if (rank < bestRank) {
+                best = room;
+                bestRank = rank;
+                if (rank == 0) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void save(List<Placement> plan, Map<Long, RoomAllocationResultDto> results) {
+        for (int from = 0; from < plan.size(); from += chunkSize) {
+            List<Placement> chunk = plan.subList(from, Math.min(from + chunkSize, plan.size()));
+            Set<String> blocks = chunk.stream().map(placement -> placement.room.block).collect(Collectors.toSet());
+            try {
+                Map<RoomPlan, Long> claimedVersions = bedAllocator.withBlocksLocked(blocks,
+                    () -> transactionTemplate.execute(tx -> saveChunk(chunk, results)));
+                // Only after commit: a rolled-back chunk leaves the rooms at their planned version
+                claimedVersions.forEach((room, version) -> room.version = version);
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Bulk allocation chunk of {} students rolled back: {}", chunk.size(), e.getMessage());
+                for (Placement placement : chunk) {
+                    results.put(placement.studentId, failure(placement.studentId,
+                        "Allocation conflicted with a concurrent change. Please retry."));
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims the chunk's rooms at their planned version and inserts the occupancies that are still
+     * valid. Returns the new version of every claimed room.
+     */
+    private Map<RoomPlan, Long> saveChunk(List<Placement> chunk, Map<Long, RoomAllocationResultDto> results) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> assignedMeanwhile = new HashSet<>(occupancyRepository.findActiveStudentIds(
+            chunk.stream().map(placement -> placement.studentId).collect(Collectors.toList())));
+
+        Map<Long, RoomPlan> rooms = new LinkedHashMap<>();
+        for (Placement placement : chunk) {
+            rooms.putIfAbsent(placement.room.id, placement.room);
+        }
+        Map<RoomPlan, Long> claimedVersions = new HashMap<>();
+        jdbcTemplate.query(String.format(LOCK_ROOMS_SQL, placeholders(rooms.size())), (RowCallbackHandler) rs -> {
+            RoomPlan room = rooms.get(rs.getLong("id"));
+            long version = rs.getLong("version");
+            if (!rs.wasNull() && version == room.version) {
+                claimedVersions.put(room, version + 1);
+            }
+        }, rooms.keySet().toArray());
+        if (!claimedVersions.isEmpty()) {
+            List<Object> args = new ArrayList<>(claimedVersions.size() + 1);
+            args.add(Timestamp.valueOf(now));
+            claimedVersions.keySet().forEach(room -> args.add(room.id));
+            jdbcTemplate.update(String.format(CLAIM_ROOMS_SQL, placeholders(claimedVersions.size())), args.toArray());
+        }
+
+        List<Placement> inserts = new ArrayList<>(chunk.size());
+        for (Placement placement : chunk) {
+            if (assignedMeanwhile.contains(placement.studentId)) {
+                results.put(placement.studentId, failure(placement.studentId, "Student is already assigned to a room."));
+            } else if (!claimedVersions.containsKey(placement.room)) {
+                results.put(placement.studentId, failure(placement.studentId,
+                    "Room " + placement.room.roomNumber + " changed during allocation. Please retry."));
+            } else {
+                inserts.add(placement);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_OCCUPANCY_SQL, inserts, inserts.size(), (ps, placement) -> {
+            ps.setLong(1, placement.studentId);
+            ps.setLong(2, placement.room.id);
+            ps.setDate(3, Date.valueOf(LocalDate.now()));
+            ps.setInt(4, placement.bedNumber);
+            ps.setInt(5, placement.bedNumber);
+            ps.setTimestamp(6, Timestamp.valueOf(now));
+        });
+        return claimedVersions;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static String cohort(User student) {
+        return cohort(student.getCourse(), student.getYear());
+    }
+
+    private static String cohort(String course, Integer year) {
+        return course == null || year == null ? null : course + "#" + year;
+    }
+
+    private static RoomAllocationResultDto success(Long studentId, RoomPlan room, int bed) {
+        return new RoomAllocationResultDto(studentId, true, room.id, room.roomNumber, bed, null);
+    }
+
+    private static RoomAllocationResultDto failure(Long studentId, String reason) {
+        return new RoomAllocationResultDto(studentId, false, null, null, null, reason);
+    }
+
+    /**
+     * A room's free beds and occupants as the plan fills it.
+     */
+    private static final class RoomPlan {
+        private final Long id;
+        private final String roomNumber;
+        private final String block;
+        private final Integer floor;
+        private final RoomType type;
+        private final int capacity;
+        private final BitSet takenBeds;
+        private final Map<String, Integer> cohorts = new HashMap<>();
+        private Gender gender;
+        private int occupied;
+        private long version;
+
+        RoomPlan(RoomRepository.AllocationCandidate candidate) {
+            this.id = candidate.getId();
+            this.roomNumber = candidate.getRoomNumber();
+            this.block = candidate.getBlock();
+            this.floor = candidate.getFloor();
+            this.type = candidate.getType();
+            this.capacity = candidate.getCapacity();
+            this.takenBeds = new BitSet(capacity + 1);
+            this.version = candidate.getVersion() != null ? candidate.getVersion() : 0L;
+        }
+
+        void addOccupant(Integer bedNumber, Gender occupantGender, String cohort) {
+            if (bedNumber != null) {
+                takenBeds.set(bedNumber);
+            }
+            occupied++;
+            if (gender == null) {
+                gender = occupantGender;
+            }
+            if (cohort != null) {
+                cohorts.merge(cohort, 1, Integer::sum);
+            }
+        }
+
+        boolean hasFreeBed() {
+            return occupied < capacity && takenBeds.nextClearBit(1) <= capacity;
+        }
+
+        boolean accepts(Gender studentGender) {
+            return gender == null || gender == studentGender;
+        }
+
+        boolean matches(RoomAllocationPreferenceDto preference) {
+            return (preference.getBlock() == null || preference.getBlock().equals(block))
+                && (preference.getFloor() == null || preference.getFloor().equals(floor))
+                && (preference.getRoomType() == null || preference.getRoomType() == type);
+        }
+
+        int takeBed(Gender studentGender, String cohort) {
+            int bed = takenBeds.nextClearBit(1);
+            addOccupant(bed, studentGender, cohort);
+            return bed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof RoomPlan && Objects.equals(id, ((RoomPlan) o).id));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(id);
+        }
+    }
+
+    private static final class Placement {
+        private final Long studentId;
+        private final RoomPlan room;
+        private final int bedNumber;
+
+        Placement(Long studentId, RoomPlan room, int bedNumber) {
+            this.studentId = studentId;
+            this.room = room;
+            this.bedNumber = bedNumber;
+        }
+    }
+}
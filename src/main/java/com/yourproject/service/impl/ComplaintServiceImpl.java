@@ -12,6 +12,10 @@ import com.yourproject.repository.UserRepository;
 import com.yourproject.service.ComplaintService;
 import com.yourproject.service.EmailService;
 import com.yourproject.service.FileUploadService; // For image uploads
+import com.yourproject.service.IdGeneratorService;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -28,19 +32,25 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.Map; // For stats
 
 @Service
 public class ComplaintServiceImpl implements ComplaintService {
 
+    // Non-null columns a complaint list can be paged by with a cursor
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("createdAt", "updatedAt");
+
     private final ComplaintRepository complaintRepository;
     private final UserRepository userRepository; // For assignedTo, reportedBy
     private final RoomRepository roomRepository; // For room details
     private final ModelMapper modelMapper;
     private final EmailService emailService;
     private final FileUploadService fileUploadService; // Assuming this service exists
+    private final IdGeneratorService idGeneratorService;
+    private final DtoMapper dtoMapper;
+    private final KeysetPaginator keysetPaginator;
 
     @Autowired
     public ComplaintServiceImpl(ComplaintRepository complaintRepository,
@@ -48,26 +58,23 @@ public class ComplaintServiceImpl implements ComplaintService {
                                 RoomRepository roomRepository,
                                 ModelMapper modelMapper,
                                 EmailService emailService,
-                                FileUploadService fileUploadService) {
+                                FileUploadService fileUploadService,
+                                IdGeneratorService idGeneratorService,
+                                DtoMapper dtoMapper,
+                                KeysetPaginator keysetPaginator) {
         this.complaintRepository = complaintRepository;
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
         this.modelMapper = modelMapper;
         this.emailService = emailService;
         this.fileUploadService = fileUploadService;
+        this.idGeneratorService = idGeneratorService;
+        this.dtoMapper = dtoMapper;
+        this.keysetPaginator = keysetPaginator;
     }
 
-    private ComplaintDto convertToDto(Complaint complaint) {
-        ComplaintDto dto = modelMapper.map(complaint, ComplaintDto.class);
-        if (complaint.getReportedBy() != null) {
-            dto.setReportedBy(modelMapper.map(complaint.getReportedBy(), UserSlimDto.class));
-        }
-        if (complaint.getAssignedTo() != null) {
-            dto.setAssignedTo(modelMapper.map(complaint.getAssignedTo(), UserSlimDto.class));
-        }
-        if (complaint.getRoom() != null) {
-            dto.setRoom(modelMapper.map(complaint.getRoom(), RoomSlimDto.class));
-        }
+    ComplaintDto convertToDto(Complaint complaint) {
+        ComplaintDto dto = dtoMapper.toComplaintDto(complaint);
         // Calculated fields for DTO
         if (complaint.getActualResolutionDate() != null && complaint.getCreatedAt() != null) {
             long diffHours = java.time.Duration.between(complaint.getCreatedAt(), complaint.getActualResolutionDate().atStartOfDay()).toHours();
@@ -89,19 +96,12 @@ public class ComplaintServiceImpl implements ComplaintService {
             .orElseThrow(() -> new ResourceNotFoundException("Complaint not found with ID: " + complaintId));
     }
 
-    private String generateComplaintIdString() {
-        // CMPYYYYMMDDXXXX (XXXX is random)
-        String yearMonthDay = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String randomSuffix = String.format("%04d", new Random().nextInt(10000));
-        return "CMP" + yearMonthDay + randomSuffix;
-    }
-
     @Override
     @Transactional
     public ComplaintDto createComplaint(ComplaintRequestDto requestDto, User currentUser) {
         Complaint complaint = modelMapper.map(requestDto, Complaint.class);
         complaint.setReportedBy(currentUser);
-        complaint.setComplaintIdString(generateComplaintIdString());
+        complaint.setComplaintIdString(idGeneratorService.nextComplaintIdString());
         complaint.setStatus(ComplaintStatus.PENDING); // Initial status
 
         if (currentUser.getRole() == Role.STUDENT && currentUser.getCurrentOccupancy().isPresent()) {
@@ -143,7 +143,18 @@ public class ComplaintServiceImpl implements ComplaintService {
 
     @Override
     public Page<ComplaintDto> getAllComplaints(Pageable pageable, User currentUser, String statusFilter, String categoryFilter, String priorityFilter) {
-        Specification<Complaint> spec = (root, query, cb) -> {
+        Specification<Complaint> spec = buildComplaintSpecification(currentUser, statusFilter, categoryFilter, priorityFilter);
+        return complaintRepository.findAll(spec, pageable).map(this::convertToDto);
+    }
+
+    @Override
+    public KeysetPage<ComplaintDto> getAllComplaints(KeysetPageRequest pageRequest, User currentUser, String statusFilter, String categoryFilter, String priorityFilter) {
+        Specification<Complaint> spec = buildComplaintSpecification(currentUser, statusFilter, categoryFilter, priorityFilter);
+        return keysetPaginator.find(Complaint.class, spec, pageRequest, KEYSET_SORT_PROPERTIES, "Complaint.list").map(this::convertToDto);
+    }
+
+    Specification<Complaint> buildComplaintSpecification(User currentUser, String statusFilter, String categoryFilter, String priorityFilter) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (currentUser.getRole() == Role.STUDENT) {
                 predicates.add(cb.equal(root.get("reportedBy"), currentUser));
@@ -166,7 +177,6 @@ public class ComplaintServiceImpl implements ComplaintService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-        return complaintRepository.findAll(spec, pageable).map(this::convertToDto);
     }
 
     @Override
@@ -0,0 +1,244 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.entity.EmailOutboxMessage;
+import com.yourproject.entity.EmailOutboxStatus;
+import com.yourproject.exception.ServiceUnavailableException;
+import com.yourproject.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent, bounded outbox for single emails.
+ * Enqueuing only inserts a row, joining the caller's transaction, so an email is not sent for
+ * work that rolls back. A scheduled relay sends due rows in batches over a pooled SMTP connection.
+ * Failed sends are retried with exponential backoff and marked FAILED after max-attempts.
+ * Once capacity rows are pending, enqueue throws {@link ServiceUnavailableException} so the
+ * producer can back off or fail its own work, instead of the email being dropped.
+ *
+ * Relays on several instances can run at once: each batch is claimed with a conditional UPDATE
+ * (PENDING to SENDING under a fresh claim token) and only the rows that update matched are sent.
+ * A claim left by a relay that died mid-batch is taken over after claim-timeout-ms, so such a
+ * batch may be sent twice but a healthy one never is.
+ *
+ * The relay runs on the shared scheduler, so one poll stops starting new batches after
+ * relay-budget-ms and leaves the rest of a backlog to the next poll.
+ */
+@Component
+public class EmailOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutbox.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final SmtpTransportPool transportPool;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username}")
+    private String mailFrom;
+
+    @Value("${email.outbox.capacity:10000}")
+    private long capacity;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${email.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    @Value("${email.outbox.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    @Value("${email.outbox.relay-budget-ms:1000}")
+    private long relayBudgetMs;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Counter rejectedCounter;
+    private final Counter retriedCounter;
+    private final Counter abandonedCounter;
+
+    @Autowired
+    public EmailOutbox(EmailOutboxRepository outboxRepository,
+                       SmtpTransportPool transportPool,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.transportPool = transportPool;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("email.outbox.depth", depth, AtomicLong::get)
+            .description("Emails waiting in the outbox")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("email.outbox.rejected")
+            .description("Emails rejected because the outbox was full")
+            .register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.outbox.failures")
+            .description("Outbox sends that failed")
+            .tag("outcome", "retry")
+            .register(meterRegistry);
+        this.abandonedCounter = Counter.builder("email.outbox.failures")
+            .description("Outbox sends that failed")
+            .tag("outcome", "abandoned")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Stores the email for delivery.
+     *
+     * @throws ServiceUnavailableException if capacity emails are already waiting; nothing is stored
+     */
+    public void enqueue(String to, String subject, String body, boolean isHtml) {
+        if (depth.get() >= capacity) {
+            rejectedCounter.increment();
+            logger.warn("Email outbox full ({} pending), rejecting email to {}", depth.get(), to);
+            throw new ServiceUnavailableException("Email outbox is full, try again later", retryAfterSeconds);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setHtml(isHtml);
+        message.setStatus(EmailOutboxStatus.PENDING);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        outboxRepository.save(message);
+        // Counted once the row is committed; a caller that rolls back never held a slot
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    depth.incrementAndGet();
+                }
+            });
+        } else {
+            depth.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void relay() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(relayBudgetMs);
+        try {
+            do {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime staleBefore = now.minus(Duration.ofMillis(claimTimeoutMs));
+                List<Long> dueIds = outboxRepository.findDueIds(now, staleBefore, PageRequest.of(0, batchSize));
+                if (dueIds.isEmpty()) {
+                    break;
+                }
+                String token = UUID.randomUUID().toString();
+                Integer claimed = transactionTemplate.execute(tx -> outboxRepository.claim(dueIds, token, now, staleBefore));
+                if (claimed != null && claimed > 0) {
+                    sendBatch(outboxRepository.findByClaimTokenOrderByIdAsc(token), token);
+                }
+                if (dueIds.size() < batchSize) {
+                    break;
+                }
+            } while (System.nanoTime() < deadline);
+        } catch (Exception e) {
+            logger.error("Email outbox relay failed", e);
+        } finally {
+            depth.set(outboxRepository.countByStatusIn(List.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING)));
+        }
+    }
+
+    private void sendBatch(List<EmailOutboxMessage> batch, String token) {
+        List<MimeMessage> mimeMessages = new ArrayList<>(batch.size());
+        List<EmailOutboxMessage> built = new ArrayList<>(batch.size());
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        Map<Long, Exception> failures = new HashMap<>();
+
+        for (EmailOutboxMessage message : batch) {
+            try {
+                mimeMessages.add(toMimeMessage(message));
+                built.add(message);
+            } catch (MessagingException e) {
+                failures.put(message.getId(), e);
+            }
+        }
+        Map<MimeMessage, Exception> sendFailures = transportPool.send(mimeMessages);
+        for (int i = 0; i < built.size(); i++) {
+            Exception failure = sendFailures.get(mimeMessages.get(i));
+            if (failure == null) {
+                sentIds.add(built.get(i).getId());
+            } else {
+                failures.put(built.get(i).getId(), failure);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, token, now);
+            }
+            for (EmailOutboxMessage message : batch) {
+                Exception failure = failures.get(message.getId());
+                if (failure == null) {
+                    continue;
+                }
+                String error = truncate(failure.getMessage());
+                int attempts = message.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    outboxRepository.markFailed(message.getId(), token, error);
+                    abandonedCounter.increment();
+                    logger.warn("Giving up on email {} to {} after {} attempts: {}", message.getId(), message.getRecipient(), attempts, error);
+                } else {
+                    outboxRepository.reschedule(message.getId(), token, now.plus(Duration.ofMillis(backoffMs(attempts))), error);
+                    retriedCounter.increment();
+                }
+            }
+        });
+    }
+
+    // initial-backoff-ms doubled per previous attempt, capped at max-backoff-ms
+    private long backoffMs(int attempts) {
+        long backoff = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Math.min(backoff, maxBackoffMs);
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = transportPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+        helper.setFrom(mailFrom);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), message.isHtml());
+        return mimeMessage;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
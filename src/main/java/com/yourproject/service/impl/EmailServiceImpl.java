@@ -9,62 +9,69 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async; // For sending emails asynchronously
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine; // If using Thymeleaf for templates
 import org.thymeleaf.context.Context; // If using Thymeleaf for templates
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private final SmtpTransportPool transportPool;
+    private final EmailOutbox emailOutbox;
     private final TemplateEngine emailTemplateEngine; // If using Thymeleaf
 
     @Value("${spring.mail.username}")
     private String mailFrom;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender mailSender, TemplateEngine emailTemplateEngine) { // Injected templateEngine
-        this.mailSender = mailSender;
+    public EmailServiceImpl(SmtpTransportPool transportPool, EmailOutbox emailOutbox,
+                            TemplateEngine emailTemplateEngine) { // Injected templateEngine
+        this.transportPool = transportPool;
+        this.emailOutbox = emailOutbox;
         this.emailTemplateEngine = emailTemplateEngine; // Use the "emailTemplateEngine" bean
     }
 
     @Override
-    @Async // Good practice to send emails asynchronously
     public void sendSimpleMessage(String to, String subject, String text) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(mailFrom);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            mailSender.send(message);
-        } catch (Exception e) {
-            // Log error, handle exception (e.g., queue for retry)
-            System.err.println("Error sending simple email: " + e.getMessage());
-        }
+        // Persisted and sent by the outbox relay, with retry; see EmailOutbox
+        emailOutbox.enqueue(to, subject, text, false);
     }
 
     @Override
-    @Async
     public void sendHtmlMessage(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-            helper.setFrom(mailFrom);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true); // true = isHtml
-            mailSender.send(mimeMessage);
-        } catch (MessagingException e) {
-            System.err.println("Error sending HTML email: " + e.getMessage());
+        emailOutbox.enqueue(to, subject, htmlContent, true);
+    }
+
+    @Override
+    public Map<String, Exception> sendHtmlMessages(Collection<String> recipients, String subject, String htmlContent) {
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(recipients.size());
+        Map<MimeMessage, String> recipientByMessage = new IdentityHashMap<>();
+        for (String to : recipients) {
+            try {
+                MimeMessage mimeMessage = transportPool.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+                helper.setFrom(mailFrom);
+                helper.setTo(to);
+                helper.setSubject(subject);
+                helper.setText(htmlContent, true);
+                messages.add(mimeMessage);
+                recipientByMessage.put(mimeMessage, to);
+            } catch (MessagingException e) {
+                failures.put(to, e);
+            }
         }
+        // One pooled, already-authenticated connection for the whole batch
+        transportPool.send(messages).forEach((message, cause) -> failures.put(recipientByMessage.get(message), cause));
+        return failures;
     }
 
     // Placeholder implementations for specific emails based on Node.js version
@@ -0,0 +1,158 @@
+package com.yourproject.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Renders email templates once per (template name, locale) and merges recipient values into the
+ * result. The first render binds each variable to a marker string, so layout, styles and message
+ * lookups are resolved and parsed a single time. The output is split at the markers, and merging
+ * a recipient is string concatenation with the values HTML-escaped as th:text would.
+ *
+ * Variables must only be output as text or attribute values (th:text, th:attr); a variable used in
+ * th:if, th:each or a formatting expression would be evaluated against its marker, not its value.
+ * Dotted names such as "user.firstName" are supported.
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private static final char MARKER = '\u0001';
+
+    private final TemplateEngine emailTemplateEngine;
+    private final boolean cacheable;
+    private final ConcurrentMap<TemplateKey, CompiledTemplate> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EmailTemplateRenderer(TemplateEngine emailTemplateEngine,
+                                 @Value("${email.templates.cacheable:true}") boolean cacheable) {
+        this.emailTemplateEngine = emailTemplateEngine;
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Returns the compiled template for the name and locale, rendering it on first use.
+     * Recompiled if requested with a different set of variables than the cached one.
+     */
+    public CompiledTemplate template(String templateName, Locale locale, Collection<String> variableNames) {
+        Set<String> variables = new TreeSet<>(variableNames);
+        if (!cacheable) {
+            return compile(templateName, locale, variables);
+        }
+        TemplateKey key = new TemplateKey(templateName, locale);
+        CompiledTemplate cached = cache.get(key);
+        if (cached != null && cached.variableNames.equals(variables)) {
+            return cached;
+        }
+        CompiledTemplate compiled = compile(templateName, locale, variables);
+        cache.put(key, compiled);
+        return compiled;
+    }
+
+    public String render(String templateName, Locale locale, Map<String, ?> variables) {
+        return template(templateName, locale, variables.keySet()).merge(variables);
+    }
+
+    private CompiledTemplate compile(String templateName, Locale locale, Set<String> variableNames) {
+        Context context = new Context(locale);
+        placeholders(variableNames).forEach(context::setVariable);
+        String rendered = emailTemplateEngine.process(templateName, context);
+
+        String[] parts = rendered.split(String.valueOf(MARKER), -1);
+        if (parts.length % 2 == 0) {
+            throw new IllegalStateException("Template " + templateName + " split a variable placeholder");
+        }
+        List<String> staticParts = new ArrayList<>(parts.length / 2 + 1);
+        List<String> variableParts = new ArrayList<>(parts.length / 2);
+        for (int i = 0; i < parts.length; i++) {
+            (i % 2 == 0 ? staticParts : variableParts).add(parts[i]);
+        }
+        return new CompiledTemplate(variableNames, staticParts.toArray(new String[0]), variableParts.toArray(new String[0]));
+    }
+
+    // "user.firstName" becomes {user: {firstName: marker}} so property paths resolve against maps
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> placeholders(Set<String> variableNames) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        for (String name : variableNames) {
+            String[] path = name.split("\\.");
+            Map<String, Object> node = root;
+            for (int i = 0; i < path.length - 1; i++) {
+                node = (Map<String, Object>) node.computeIfAbsent(path[i], k -> new LinkedHashMap<String, Object>());
+            }
+            node.put(path[path.length - 1], MARKER + name + MARKER);
+        }
+        return root;
+    }
+
+    public static final class CompiledTemplate {
+        private final Set<String> variableNames;
+        private final String[] staticParts;
+        private final String[] variableParts;
+        private final int staticLength;
+
+        private CompiledTemplate(Set<String> variableNames, String[] staticParts, String[] variableParts) {
+            this.variableNames = variableNames;
+            this.staticParts = staticParts;
+            this.variableParts = variableParts;
+            int length = 0;
+            for (String part : staticParts) {
+                length += part.length();
+            }
+            this.staticLength = length;
+        }
+
+        /**
+         * Substitutes one recipient's values. Missing or null values render as empty, like th:text.
+         */
+        public String merge(Map<String, ?> values) {
+            StringBuilder html = new StringBuilder(staticLength + 32 * variableParts.length);
+            for (int i = 0; i < variableParts.length; i++) {
+                html.append(staticParts[i]);
+                Object value = values.get(variableParts[i]);
+                if (value != null) {
+                    html.append(HtmlUtils.htmlEscape(value.toString(), "UTF-8"));
+                }
+            }
+            return html.append(staticParts[staticParts.length - 1]).toString();
+        }
+    }
+
+    private static final class TemplateKey {
+        private final String templateName;
+        private final Locale locale;
+
+        TemplateKey(String templateName, Locale locale) {
+            this.templateName = templateName;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TemplateKey)) return false;
+            TemplateKey other = (TemplateKey) o;
+            return templateName.equals(other.templateName) && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(templateName, locale);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.entity.Fee;
+import com.yourproject.entity.FeeStatus;
+import com.yourproject.repository.FeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves past-due PENDING/PARTIAL fees to OVERDUE with a single bulk UPDATE, so statuses no longer
+ * depend on calculateFeeAmountsAndStatus running during an update or payment.
+ */
+@Component
+public class FeeOverdueSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeeOverdueSweeper.class);
+    private static final List<FeeStatus> SWEEPABLE_STATUSES = List.of(FeeStatus.PENDING, FeeStatus.PARTIAL);
+
+    private final FeeRepository feeRepository;
+    private final Counter transitionedCounter;
+    private final Timer sweepTimer;
+
+    @Autowired
+    public FeeOverdueSweeper(FeeRepository feeRepository, MeterRegistry meterRegistry) {
+        this.feeRepository = feeRepository;
+        this.transitionedCounter = Counter.builder("fees.overdue.sweep.transitioned")
+            .description("Fees moved to OVERDUE by the sweeper")
+            .tag("store", "jpa")
+            .register(meterRegistry);
+        this.sweepTimer = Timer.builder("fees.overdue.sweep.duration")
+            .description("Time taken by an overdue fee sweep")
+            .tag("store", "jpa")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${fee.overdue-sweep.cron:0 5 0 * * *}")
+    @Transactional
+    public int sweep() {
+        return sweepTimer.record(() -> {
+            LocalDate today = LocalDate.now();
+            if (logger.isDebugEnabled()) {
+                // Audit only: the transition itself never loads the rows
+                List<Long> candidateIds = feeRepository.findByDueDateBeforeAndStatusIn(today, SWEEPABLE_STATUSES)
+                    .stream().map(Fee::getId).collect(Collectors.toList());
+                logger.debug("Overdue sweep candidates: {}", candidateIds);
+            }
+            int transitioned = feeRepository.updateStatusForDueDateBefore(today, SWEEPABLE_STATUSES, FeeStatus.OVERDUE, LocalDateTime.now());
+            transitionedCounter.increment(transitioned);
+            logger.info("Overdue sweep moved {} fees to OVERDUE", transitioned);
+            return transitioned;
+        });
+    }
+}
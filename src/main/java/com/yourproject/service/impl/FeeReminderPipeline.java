@@ -0,0 +1,217 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.entity.FeeReminderJob;
+import com.yourproject.entity.FeeReminderJobStatus;
+import com.yourproject.entity.FeeStatus;
+import com.yourproject.entity.ReminderStatus;
+import com.yourproject.entity.ReminderType;
+import com.yourproject.entity.User;
+import com.yourproject.exception.ServiceUnavailableException;
+import com.yourproject.repository.FeeReminderJobRepository;
+import com.yourproject.repository.FeeRepository;
+import com.yourproject.service.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunked bulk fee reminder pipeline.
+ * Target fees are read with keyset pagination on the fee ID. Each chunk's reminder rows are
+ * inserted with a single JDBC batch and committed together with the job's cursor, so a job
+ * interrupted by a restart resumes after the last committed chunk without duplicating reminders.
+ * Reminder emails are queued in the outbox in that same transaction, so a reminder is recorded as
+ * SENT exactly when its email has been accepted. When the outbox is full the chunk rolls back and
+ * is retried after the outbox's Retry-After pause; the job shows as WAITING meanwhile and is
+ * marked FAILED after max-outbox-waits consecutive pauses.
+ */
+@Component
+public class FeeReminderPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeeReminderPipeline.class);
+
+    private static final String INSERT_REMINDER_SQL =
+        "INSERT INTO fee_reminders (fee_id, sent_date, type, status) VALUES (?, ?, ?, ?)";
+
+    private static final String REMINDER_TEMPLATE = "fee-reminder-email";
+    private static final List<String> REMINDER_TEMPLATE_VARIABLES =
+        List.of("subject", "firstName", "feeType", "amountDue", "dueDate");
+
+    private final FeeRepository feeRepository;
+    private final FeeReminderJobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailService emailService;
+    private final EmailTemplateRenderer templateRenderer;
+
+    @Value("${fee.reminders.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${fee.reminders.max-outbox-waits:20}")
+    private int maxOutboxWaits;
+
+    @Value("${email.outbox.capacity:10000}")
+    private long outboxCapacity;
+
+    private final ExecutorService jobExecutor;
+
+    @Autowired
+    public FeeReminderPipeline(FeeRepository feeRepository,
+                               FeeReminderJobRepository jobRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               EmailService emailService,
+                               EmailTemplateRenderer templateRenderer) {
+        this.feeRepository = feeRepository;
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailService = emailService;
+        this.templateRenderer = templateRenderer;
+        this.jobExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "fee-reminder-job"));
+    }
+
+    @PostConstruct
+    void validateChunkSize() {
+        // A chunk's emails are queued in one transaction; a chunk the outbox cannot hold would wait forever
+        if (chunkSize <= 0 || chunkSize >= outboxCapacity) {
+            throw new IllegalStateException("fee.reminders.chunk-size must be between 1 and email.outbox.capacity - 1 ("
+                + (outboxCapacity - 1) + "), found " + chunkSize);
+        }
+    }
+
+    public FeeReminderJob start(User currentUser, FeeStatus status, ReminderType reminderType) {
+        FeeReminderJob job = new FeeReminderJob();
+        job.setFeeStatus(status);
+        job.setReminderType(reminderType);
+        job.setStatus(FeeReminderJobStatus.RUNNING);
+        job.setLastProcessedFeeId(0L);
+        job.setCreatedBy(currentUser);
+        FeeReminderJob savedJob = jobRepository.save(job);
+        submit(savedJob.getId());
+        return savedJob;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (FeeReminderJobStatus status : List.of(FeeReminderJobStatus.RUNNING, FeeReminderJobStatus.WAITING)) {
+            for (FeeReminderJob job : jobRepository.findByStatus(status)) {
+                logger.info("Resuming fee reminder job {} after fee ID {}", job.getId(), job.getLastProcessedFeeId());
+                submit(job.getId());
+            }
+        }
+    }
+
+    private void submit(Long jobId) {
+        jobExecutor.submit(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        FeeReminderJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || (job.getStatus() != FeeReminderJobStatus.RUNNING && job.getStatus() != FeeReminderJobStatus.WAITING)) {
+            return;
+        }
+        int outboxWaits = 0;
+        try {
+            while (true) {
+                List<FeeRepository.FeeReminderTarget> chunk = feeRepository.findReminderTargets(
+                    job.getFeeStatus(), job.getLastProcessedFeeId(), PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                try {
+                    job = processChunk(job, chunk);
+                    outboxWaits = 0;
+                } catch (ServiceUnavailableException e) {
+                    // Outbox full: nothing of this chunk was committed, wait for the relay to drain it
+                    if (++outboxWaits > maxOutboxWaits) {
+                        throw new IllegalStateException("Email outbox stayed full for " + maxOutboxWaits + " retries", e);
+                    }
+                    logger.info("Fee reminder job {}: {}; retrying chunk in {}s ({} of {})", job.getId(), e.getMessage(),
+                        e.getRetryAfterSeconds(), outboxWaits, maxOutboxWaits);
+                    job.setStatus(FeeReminderJobStatus.WAITING);
+                    job.setFailureReason("Waiting for the email outbox: " + e.getMessage());
+                    job = jobRepository.save(job);
+                    TimeUnit.SECONDS.sleep(Math.max(1, e.getRetryAfterSeconds()));
+                    continue;
+                }
+                logger.debug("Fee reminder job {}: {} reminders recorded", job.getId(), job.getProcessedCount());
+            }
+            job.setStatus(FeeReminderJobStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        } catch (InterruptedException e) {
+            // Shutting down; the job stays RUNNING and is resumed from its cursor on the next start
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Fee reminder job {} failed", jobId, e);
+            job.setStatus(FeeReminderJobStatus.FAILED);
+            job.setFailureReason(e.getMessage() != null && e.getMessage().length() > 500 ? e.getMessage().substring(0, 500) : e.getMessage());
+            jobRepository.save(job);
+        }
+    }
+
+    private FeeReminderJob processChunk(FeeReminderJob job, List<FeeRepository.FeeReminderTarget> chunk) {
+        Timestamp sentDate = Timestamp.valueOf(LocalDateTime.now());
+        String type = job.getReminderType().name();
+        String status = ReminderStatus.SENT.name();
+        return transactionTemplate.execute(tx -> {
+            // Outbox rows join this transaction; a full outbox throws and rolls the whole chunk back
+            queueEmails(job.getReminderType(), chunk);
+            jdbcTemplate.batchUpdate(INSERT_REMINDER_SQL, chunk, chunk.size(), (ps, target) -> {
+                ps.setLong(1, target.getId());
+                ps.setTimestamp(2, sentDate);
+                ps.setString(3, type);
+                ps.setString(4, status);
+            });
+            job.setLastProcessedFeeId(chunk.get(chunk.size() - 1).getId());
+            job.setProcessedCount(job.getProcessedCount() + chunk.size());
+            job.setStatus(FeeReminderJobStatus.RUNNING);
+            job.setFailureReason(null);
+            return jobRepository.save(job);
+        });
+    }
+
+    private void queueEmails(ReminderType reminderType, List<FeeRepository.FeeReminderTarget> chunk) {
+        if (reminderType != ReminderType.EMAIL) {
+            return;
+        }
+        // Rendered once; each recipient is a merge of their values into the cached output
+        EmailTemplateRenderer.CompiledTemplate template =
+            templateRenderer.template(REMINDER_TEMPLATE, Locale.getDefault(), REMINDER_TEMPLATE_VARIABLES);
+        for (FeeRepository.FeeReminderTarget target : chunk) {
+            String subject = String.format("Fee Reminder: %s due on %s", target.getFeeType(), target.getDueDate());
+            Map<String, Object> values = new HashMap<>();
+            values.put("subject", subject);
+            values.put("firstName", target.getStudentFirstName());
+            values.put("feeType", target.getFeeType());
+            values.put("amountDue", String.format("%.2f", target.getBalanceAmount()));
+            values.put("dueDate", target.getDueDate());
+            emailService.sendHtmlMessage(target.getStudentEmail(), subject, template.merge(values));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
@@ -8,10 +8,15 @@ import com.yourproject.exception.AccessDeniedException;
 import com.yourproject.exception.BadRequestException;
 import com.yourproject.exception.ResourceNotFoundException;
 import com.yourproject.repository.FeeRepository;
+import com.yourproject.repository.FeeReminderJobRepository;
 import com.yourproject.repository.UserRepository;
 import com.yourproject.repository.RoomRepository; // If fees are linked to rooms
 import com.yourproject.service.FeeService;
 import com.yourproject.service.EmailService;
+import com.yourproject.service.IdGeneratorService;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -26,47 +31,56 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.Map; // For stats
 
 @Service
 public class FeeServiceImpl implements FeeService {
 
+    // Non-null columns a fee list can be paged by with a cursor
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("dueDate", "createdAt", "amount");
+
     private final FeeRepository feeRepository;
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
     private final ModelMapper modelMapper;
     private final EmailService emailService;
+    private final FeeReminderPipeline feeReminderPipeline;
+    private final FeeReminderJobRepository feeReminderJobRepository;
+    private final IdGeneratorService idGeneratorService;
+    private final DtoMapper dtoMapper;
+    private final KeysetPaginator keysetPaginator;
 
     @Autowired
     public FeeServiceImpl(FeeRepository feeRepository,
                           UserRepository userRepository,
                           RoomRepository roomRepository,
                           ModelMapper modelMapper,
-                          EmailService emailService) {
+                          EmailService emailService,
+                          FeeReminderPipeline feeReminderPipeline,
+                          FeeReminderJobRepository feeReminderJobRepository,
+                          IdGeneratorService idGeneratorService,
+                          DtoMapper dtoMapper,
+                          KeysetPaginator keysetPaginator) {
         this.feeRepository = feeRepository;
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
         this.modelMapper = modelMapper;
         this.emailService = emailService;
+        this.feeReminderPipeline = feeReminderPipeline;
+        this.feeReminderJobRepository = feeReminderJobRepository;
+        this.idGeneratorService = idGeneratorService;
+        this.dtoMapper = dtoMapper;
+        this.keysetPaginator = keysetPaginator;
     }
 
-    private FeeDto convertToDto(Fee fee) {
-        FeeDto dto = modelMapper.map(fee, FeeDto.class);
-        if (fee.getStudent() != null) {
-            dto.setStudent(modelMapper.map(fee.getStudent(), UserSlimDto.class));
-        }
-        if (fee.getRoom() != null) {
-            dto.setRoom(modelMapper.map(fee.getRoom(), RoomSlimDto.class));
-        }
-        if (fee.getCreatedBy() != null) {
-            dto.setCreatedBy(modelMapper.map(fee.getCreatedBy(), UserSlimDto.class));
-        }
-        if (fee.getUpdatedBy() != null) {
-            dto.setUpdatedBy(modelMapper.map(fee.getUpdatedBy(), UserSlimDto.class));
-        }
+    FeeDto convertToDto(Fee fee) {
+        FeeDto dto = dtoMapper.toFeeDto(fee);
         // Calculate derived DTO fields
         dto.setDaysOverdue(calculateDaysOverdue(fee));
         dto.setPaymentPercentage(calculatePaymentPercentage(fee));
@@ -78,14 +92,7 @@ public class FeeServiceImpl implements FeeService {
             .orElseThrow(() -> new ResourceNotFoundException("Fee record not found with ID: " + feeId));
     }
 
-    private String generateReceiptNumber() {
-        // RCPYYYYMMXXXX
-        String yearMonth = LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMM"));
-        String randomSuffix = String.format("%04d", new Random().nextInt(10000));
-        return "RCP" + yearMonth + randomSuffix;
-    }
-
-    private void calculateFeeAmountsAndStatus(Fee fee) {
+    void calculateFeeAmountsAndStatus(Fee fee) {
         fee.setFinalAmount(fee.getAmount().add(fee.getLateFee()).subtract(fee.getDiscount()));
         fee.setBalanceAmount(fee.getFinalAmount().subtract(fee.getPaidAmount()));
 
@@ -97,7 +104,7 @@ public class FeeServiceImpl implements FeeService {
                 fee.setPaidDate(LocalDate.now());
             }
             if (!StringUtils.hasText(fee.getReceiptNumber())) { // Only generate if not already set (e.g. during final payment)
-                 fee.setReceiptNumber(generateReceiptNumber());
+                 fee.setReceiptNumber(idGeneratorService.nextReceiptNumber());
             }
         } else {
             fee.setStatus(FeeStatus.PARTIAL);
@@ -143,7 +150,18 @@ public class FeeServiceImpl implements FeeService {
 
     @Override
     public Page<FeeDto> getAllFees(Pageable pageable, User currentUser, String statusFilter, String feeTypeFilter, Integer monthFilter, Integer yearFilter) {
-        Specification<Fee> spec = (root, query, cb) -> {
+        Specification<Fee> spec = buildFeeSpecification(currentUser, statusFilter, feeTypeFilter, monthFilter, yearFilter);
+        return feeRepository.findAll(spec, pageable).map(this::convertToDto);
+    }
+
+    @Override
+    public KeysetPage<FeeDto> getAllFees(KeysetPageRequest pageRequest, User currentUser, String statusFilter, String feeTypeFilter, Integer monthFilter, Integer yearFilter) {
+        Specification<Fee> spec = buildFeeSpecification(currentUser, statusFilter, feeTypeFilter, monthFilter, yearFilter);
+        return keysetPaginator.find(Fee.class, spec, pageRequest, KEYSET_SORT_PROPERTIES, "Fee.list").map(this::convertToDto);
+    }
+
+    Specification<Fee> buildFeeSpecification(User currentUser, String statusFilter, String feeTypeFilter, Integer monthFilter, Integer yearFilter) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (currentUser.getRole() == Role.STUDENT) {
                 predicates.add(cb.equal(root.get("student"), currentUser));
@@ -166,7 +184,6 @@ public class FeeServiceImpl implements FeeService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-        return feeRepository.findAll(spec, pageable).map(this::convertToDto);
     }
 
     @Override
@@ -264,8 +281,7 @@ public class FeeServiceImpl implements FeeService {
     }
 
     @Override
-    @Transactional
-    public void sendBulkFeeReminders(User currentUser, String statusFilter, String reminderTypeStr) {
+    public FeeReminderJobDto sendBulkFeeReminders(User currentUser, String statusFilter, String reminderTypeStr) {
         if (currentUser.getRole() == Role.STUDENT) {
             throw new AccessDeniedException("Students cannot send bulk fee reminders.");
         }
@@ -287,34 +303,87 @@ public class FeeServiceImpl implements FeeService {
             throw new BadRequestException("Invalid reminder type: " + reminderTypeStr);
         }
 
-        List<Fee> feesToRemind = feeRepository.findByStatus(status);
-        for (Fee fee : feesToRemind) {
-            // emailService.sendFeeReminderEmail(fee.getStudent(), fee);
-            FeeReminder reminder = new FeeReminder(LocalDateTime.now(), reminderType, ReminderStatus.SENT);
-            fee.getReminders().add(reminder);
-            feeRepository.save(fee); // Consider batch saving if performance is an issue
+        // Chunked, resumable pipeline instead of one save per fee in a single transaction
+        return convertToJobDto(feeReminderPipeline.start(currentUser, status, reminderType));
+    }
+
+    @Override
+    public FeeReminderJobDto getBulkReminderJob(Long jobId, User currentUser) {
+        if (currentUser.getRole() == Role.STUDENT) {
+            throw new AccessDeniedException("Students cannot view bulk reminder jobs.");
         }
+        FeeReminderJob job = feeReminderJobRepository.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException("Bulk reminder job not found with ID: " + jobId));
+        return convertToJobDto(job);
+    }
+
+    private FeeReminderJobDto convertToJobDto(FeeReminderJob job) {
+        return new FeeReminderJobDto(job.getId(), job.getFeeStatus(), job.getReminderType(), job.getStatus(),
+            job.getProcessedCount(), job.getLastProcessedFeeId(), job.getFailureReason(),
+            job.getCreatedAt(), job.getUpdatedAt(), job.getCompletedAt());
     }
 
     @Override
     public FeeStatsDto getFeeStats(User currentUser, Integer yearFilter) {
         int year = (yearFilter == null) ? LocalDate.now().getYear() : yearFilter;
-        // Basic counts, actual sums would need @Query in repository or more complex logic
-        long total = feeRepository.count(); // Filter by year in a real scenario
-        long paid = feeRepository.countByStatus(FeeStatus.PAID);
-        long pending = feeRepository.countByStatus(FeeStatus.PENDING);
-        long overdue = feeRepository.countByStatus(FeeStatus.OVERDUE);
-
-        // These sums should ideally be year-specific from repository queries
-        BigDecimal totalRevenue = feeRepository.sumFinalAmountByStatusAndYear(FeeStatus.PAID, year).orElse(BigDecimal.ZERO);
-        BigDecimal pendingRevenue = feeRepository.sumBalanceAmountByStatusInAndYear(
-            List.of(FeeStatus.PENDING, FeeStatus.OVERDUE, FeeStatus.PARTIAL), year
-        ).orElse(BigDecimal.ZERO);
+        List<FeeStatus> outstandingStatuses = List.of(FeeStatus.PENDING, FeeStatus.OVERDUE, FeeStatus.PARTIAL);
+
+        // Single grouped scan for the year; everything below is folded from at most 12 x types x statuses rows
+        List<FeeRepository.FeeAggregateRow> rows = feeRepository.aggregateByMonthTypeAndStatus(year);
+
+        long total = 0;
+        Map<FeeStatus, Long> countsByStatus = new EnumMap<>(FeeStatus.class);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal pendingRevenue = BigDecimal.ZERO;
+        Map<Integer, Map<String, Object>> monthly = new TreeMap<>();
+        Map<FeeType, Map<String, Object>> byFeeType = new EnumMap<>(FeeType.class);
+
+        for (FeeRepository.FeeAggregateRow row : rows) {
+            long count = row.getFeeCount() != null ? row.getFeeCount() : 0L;
+            total += count;
+            countsByStatus.merge(row.getStatus(), count, Long::sum);
+            if (row.getStatus() == FeeStatus.PAID) {
+                totalRevenue = totalRevenue.add(nullToZero(row.getTotalAmount()));
+            } else if (outstandingStatuses.contains(row.getStatus())) {
+                pendingRevenue = pendingRevenue.add(nullToZero(row.getBalanceAmount()));
+            }
+            accumulateStats(monthly.computeIfAbsent(row.getMonth(), m -> newStatsBucket("month", m)), row);
+            accumulateStats(byFeeType.computeIfAbsent(row.getFeeType(), t -> newStatsBucket("feeType", t.name())), row);
+        }
 
+        long paid = countsByStatus.getOrDefault(FeeStatus.PAID, 0L);
+        long pending = countsByStatus.getOrDefault(FeeStatus.PENDING, 0L);
+        long overdue = countsByStatus.getOrDefault(FeeStatus.OVERDUE, 0L);
         double collectionRate = total > 0 ? ((double)paid / total) * 100 : 0;
 
-        // Monthly and FeeType stats would require aggregation queries in repository
-        return new FeeStatsDto(year, total, paid, pending, overdue, totalRevenue, pendingRevenue, collectionRate, new ArrayList<>(), new ArrayList<>());
+        return new FeeStatsDto(year, total, paid, pending, overdue, totalRevenue, pendingRevenue, collectionRate,
+            new ArrayList<>(monthly.values()), new ArrayList<>(byFeeType.values()));
+    }
+
+    private Map<String, Object> newStatsBucket(String keyName, Object keyValue) {
+        Map<String, Object> bucket = new LinkedHashMap<>();
+        bucket.put(keyName, keyValue);
+        bucket.put("count", 0L);
+        bucket.put("paidCount", 0L);
+        bucket.put("totalAmount", BigDecimal.ZERO);
+        bucket.put("paidAmount", BigDecimal.ZERO);
+        bucket.put("balanceAmount", BigDecimal.ZERO);
+        return bucket;
+    }
+
+    private void accumulateStats(Map<String, Object> bucket, FeeRepository.FeeAggregateRow row) {
+        long count = row.getFeeCount() != null ? row.getFeeCount() : 0L;
+        bucket.put("count", (Long) bucket.get("count") + count);
+        if (row.getStatus() == FeeStatus.PAID) {
+            bucket.put("paidCount", (Long) bucket.get("paidCount") + count);
+        }
+        bucket.put("totalAmount", ((BigDecimal) bucket.get("totalAmount")).add(nullToZero(row.getTotalAmount())));
+        bucket.put("paidAmount", ((BigDecimal) bucket.get("paidAmount")).add(nullToZero(row.getPaidAmount())));
+        bucket.put("balanceAmount", ((BigDecimal) bucket.get("balanceAmount")).add(nullToZero(row.getBalanceAmount())));
+    }
+
+    private BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
 
     @Override
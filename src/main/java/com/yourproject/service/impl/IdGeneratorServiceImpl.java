@@ -0,0 +1,149 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.entity.IdSequence;
+import com.yourproject.repository.IdSequenceRepository;
+import com.yourproject.service.IdGeneratorService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hi/lo business ID generator. Each sequence leases a block of values from the id_sequences
+ * table in its own short transaction and hands them out from memory, so only one in
+ * blockSize calls touches the database. Unused values of a block are skipped on restart.
+ *
+ * A business ID sequence that has no row yet (e.g. the first receipt of a month) starts after the
+ * highest numeric suffix already stored under its prefix, so IDs issued before the sequence
+ * existed are never handed out again.
+ */
+@Service
+public class IdGeneratorServiceImpl implements IdGeneratorService {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String EMPLOYEE_PREFIX = "EMP";
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    // Highest numeric suffix stored under :prefix; :from is the position right after it
+    private static final String MAX_RECEIPT_SUFFIX =
+        "SELECT MAX(CAST(SUBSTRING(f.receiptNumber, :from) AS Long)) FROM Fee f WHERE f.receiptNumber LIKE :pattern";
+    private static final String MAX_COMPLAINT_SUFFIX =
+        "SELECT MAX(CAST(SUBSTRING(c.complaintIdString, :from) AS Long)) FROM Complaint c WHERE c.complaintIdString LIKE :pattern";
+    private static final String MAX_LEAVE_SUFFIX =
+        "SELECT MAX(CAST(SUBSTRING(l.leaveIdString, :from) AS Long)) FROM Leave l WHERE l.leaveIdString LIKE :pattern";
+    private static final String MAX_STUDENT_SUFFIX =
+        "SELECT MAX(CAST(SUBSTRING(u.studentId, :from) AS Long)) FROM User u WHERE u.studentId LIKE :pattern";
+    private static final String MAX_EMPLOYEE_SUFFIX =
+        "SELECT MAX(CAST(SUBSTRING(u.employeeId, :from) AS Long)) FROM User u WHERE u.employeeId LIKE :pattern";
+
+    private final IdSequenceRepository idSequenceRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate leaseTransaction;
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Value("${id.generator.block-size:100}")
+    private int blockSize;
+
+    @Autowired
+    public IdGeneratorServiceImpl(IdSequenceRepository idSequenceRepository, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager) {
+        this.idSequenceRepository = idSequenceRepository;
+        this.entityManager = entityManager;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long nextValue(String sequenceName) {
+        return nextValue(sequenceName, null);
+    }
+
+    private long nextValue(String sequenceName, String maxSuffixQuery) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                long start = leaseBlock(sequenceName, maxSuffixQuery);
+                block.next = start;
+                block.limit = start + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    @Override
+    public String nextReceiptNumber() {
+        String prefix = "RCP" + LocalDate.now().format(MONTH_FORMAT);
+        return prefix + String.format("%04d", nextValue(prefix, MAX_RECEIPT_SUFFIX));
+    }
+
+    @Override
+    public String nextComplaintIdString() {
+        String prefix = "CMP" + LocalDate.now().format(DAY_FORMAT);
+        return prefix + String.format("%04d", nextValue(prefix, MAX_COMPLAINT_SUFFIX));
+    }
+
+    @Override
+    public String nextLeaveIdString() {
+        String prefix = "LV" + LocalDate.now().format(DAY_FORMAT);
+        return prefix + String.format("%04d", nextValue(prefix, MAX_LEAVE_SUFFIX));
+    }
+
+    @Override
+    public String nextStudentId() {
+        String prefix = "STU" + LocalDate.now().getYear();
+        return prefix + String.format("%04d", nextValue(prefix, MAX_STUDENT_SUFFIX));
+    }
+
+    @Override
+    public String nextEmployeeId() {
+        return EMPLOYEE_PREFIX + String.format("%04d", nextValue(EMPLOYEE_PREFIX, MAX_EMPLOYEE_SUFFIX));
+    }
+
+    // Returns the first value of a freshly leased block
+    private long leaseBlock(String sequenceName, String maxSuffixQuery) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return leaseTransaction.execute(status -> {
+                    IdSequence sequence = idSequenceRepository.findByNameForUpdate(sequenceName)
+                        .orElseGet(() -> new IdSequence(sequenceName, firstValue(sequenceName, maxSuffixQuery)));
+                    long start = sequence.getNextValue();
+                    sequence.setNextValue(start + blockSize);
+                    idSequenceRepository.saveAndFlush(sequence);
+                    return start;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the row first; the next attempt locks it instead
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // First value of a new sequence: one past the highest suffix already issued under its name
+    private long firstValue(String sequenceName, String maxSuffixQuery) {
+        if (maxSuffixQuery == null) {
+            return 1L;
+        }
+        Long max = entityManager.createQuery(maxSuffixQuery, Long.class)
+            .setParameter("from", sequenceName.length() + 1)
+            .setParameter("pattern", sequenceName + "%")
+            .getSingleResult();
+        return max != null ? max + 1 : 1L;
+    }
+
+    private static class Block {
+        private long next;
+        private long limit;
+    }
+}
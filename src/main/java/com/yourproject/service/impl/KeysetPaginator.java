@@ -0,0 +1,169 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.exception.BadRequestException;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs Specification queries as keyset (seek) pages: instead of OFFSET, each page continues after
+ * the last row of the previous one using "(sort, id) > (last sort, last id)", so deep pages cost
+ * the same as the first and no count query is issued unless the total is asked for.
+ *
+ * The cursor is an opaque URL-safe token naming the sort property, direction and the last row's
+ * sort value and ID. Only non-null columns passed as sortable may be used, since NULLs would break
+ * the row-value comparison.
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public KeysetPaginator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param entityGraph named entity graph to fetch with each page, or null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <E> KeysetPage<E> find(Class<E> entityClass, Specification<E> spec, KeysetPageRequest request,
+                                  Set<String> sortableProperties, String entityGraph) {
+        Sort.Order order = request.getOrder();
+        String property = order.getProperty();
+        if (!"id".equals(property) && !sortableProperties.contains(property)) {
+            throw new BadRequestException("Cursor pagination can sort by id or " + String.join(", ", sortableProperties) + " only.");
+        }
+        Cursor after = request.isFirstPage() ? null : Cursor.decode(request.getCursor(), order, entityClass);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(entityClass);
+        Root<E> root = query.from(entityClass);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        Path<Long> id = root.get("id");
+        Path sortPath = root.get(property);
+        if (after != null) {
+            Predicate idAfter = order.isAscending() ? cb.greaterThan(id, after.id) : cb.lessThan(id, after.id);
+            if ("id".equals(property)) {
+                predicates.add(idAfter);
+            } else {
+                Predicate beyond = order.isAscending()
+                    ? cb.greaterThan(sortPath, (Comparable) after.value)
+                    : cb.lessThan(sortPath, (Comparable) after.value);
+                predicates.add(cb.or(beyond, cb.and(cb.equal(sortPath, after.value), idAfter)));
+            }
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        if (order.isAscending()) {
+            query.orderBy(cb.asc(sortPath), cb.asc(id));
+        } else {
+            query.orderBy(cb.desc(sortPath), cb.desc(id));
+        }
+
+        // One extra row tells whether there is a next page
+        TypedQuery<E> typedQuery = entityManager.createQuery(query).setMaxResults(request.getSize() + 1);
+        if (entityGraph != null) {
+            typedQuery.setHint(FETCH_GRAPH_HINT, entityManager.getEntityGraph(entityGraph));
+        }
+        List<E> rows = typedQuery.getResultList();
+        String nextCursor = null;
+        if (rows.size() > request.getSize()) {
+            rows = new ArrayList<>(rows.subList(0, request.getSize()));
+            nextCursor = Cursor.encode(order, rows.get(rows.size() - 1));
+        }
+        Long total = request.isIncludeTotal() ? count(entityClass, spec) : null;
+        return new KeysetPage<>(rows, request.getSize(), nextCursor, total);
+    }
+
+    private <E> long count(Class<E> entityClass, Specification<E> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityClass);
+        Predicate filter = spec != null ? spec.toPredicate(root, query, cb) : null;
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static final class Cursor {
+        private final Long id;
+        private final Object value;
+
+        Cursor(Long id, Object value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        static String encode(Sort.Order order, Object entity) {
+            BeanWrapper row = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            String token = order.getProperty() + "|" + order.getDirection().name().substring(0, 1) + "|"
+                + row.getPropertyValue("id") + "|" + row.getPropertyValue(order.getProperty());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, Sort.Order order, Class<?> entityClass) {
+            String[] parts;
+            try {
+                parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            if (parts.length != 4) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            if (!parts[0].equals(order.getProperty()) || !parts[1].equals(order.getDirection().name().substring(0, 1))) {
+                throw new BadRequestException("Cursor does not match the requested sort.");
+            }
+            try {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, order.getProperty());
+                return new Cursor(Long.valueOf(parts[2]), parse(parts[3], descriptor.getPropertyType()));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object parse(String value, Class<?> type) {
+            if (type == String.class) return value;
+            if (type == Long.class || type == long.class) return Long.valueOf(value);
+            if (type == Integer.class || type == int.class) return Integer.valueOf(value);
+            if (type == BigDecimal.class) return new BigDecimal(value);
+            if (type == LocalDate.class) return LocalDate.parse(value);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+            if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, value);
+            throw new IllegalArgumentException("Unsupported cursor type " + type);
+        }
+    }
+}
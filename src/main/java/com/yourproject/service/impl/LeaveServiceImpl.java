@@ -11,6 +11,10 @@ import com.yourproject.repository.UserRepository;
 import com.yourproject.service.EmailService;
 import com.yourproject.service.FileUploadService; // If handling attachments
 import com.yourproject.service.LeaveService;
+import com.yourproject.service.IdGeneratorService;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.multipart.MultipartFile; // If handling attachments
@@ -28,39 +32,45 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
 import java.util.Map; // For stats
 
 @Service
 public class LeaveServiceImpl implements LeaveService {
 
+    // Non-null columns a leave list can be paged by with a cursor
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("appliedDate", "startDate", "createdAt");
+
     private final LeaveRepository leaveRepository;
     private final UserRepository userRepository; // For approvedBy
     private final ModelMapper modelMapper;
     private final EmailService emailService;
     private final FileUploadService fileUploadService; // If handling attachments
+    private final IdGeneratorService idGeneratorService;
+    private final DtoMapper dtoMapper;
+    private final KeysetPaginator keysetPaginator;
 
     @Autowired
     public LeaveServiceImpl(LeaveRepository leaveRepository,
                             UserRepository userRepository,
                             ModelMapper modelMapper,
                             EmailService emailService,
-                            FileUploadService fileUploadService ) { // If handling attachments
+                            FileUploadService fileUploadService, // If handling attachments
+                            IdGeneratorService idGeneratorService,
+                            DtoMapper dtoMapper,
+                            KeysetPaginator keysetPaginator) {
         this.leaveRepository = leaveRepository;
         this.userRepository = userRepository;
         this.modelMapper = modelMapper;
         this.emailService = emailService;
         this.fileUploadService = fileUploadService; // If handling attachments
+        this.idGeneratorService = idGeneratorService;
+        this.dtoMapper = dtoMapper;
+        this.keysetPaginator = keysetPaginator;
     }
 
-    private LeaveDto convertToDto(Leave leave) {
-        LeaveDto dto = modelMapper.map(leave, LeaveDto.class);
-        if (leave.getStudent() != null) {
-            dto.setStudent(modelMapper.map(leave.getStudent(), UserSlimDto.class));
-        }
-        if (leave.getApprovedBy() != null) {
-            dto.setApprovedBy(modelMapper.map(leave.getApprovedBy(), UserSlimDto.class));
-        }
+    LeaveDto convertToDto(Leave leave) {
+        LeaveDto dto = dtoMapper.toLeaveDto(leave);
         // Populate calculated fields
         dto.setDurationDays(calculateDurationDays(leave));
         dto.setCurrentOverallStatus(calculateCurrentOverallStatus(leave));
@@ -73,13 +83,6 @@ public class LeaveServiceImpl implements LeaveService {
             .orElseThrow(() -> new ResourceNotFoundException("Leave application not found with ID: " + leaveId));
     }
 
-    private String generateLeaveIdString() {
-        // LVYYYYMMDDXXXX
-        String yearMonthDay = LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String randomSuffix = String.format("%04d", new Random().nextInt(10000));
-        return "LV" + yearMonthDay + randomSuffix;
-    }
-
     private void addStatusHistory(Leave leave, LeaveStatus status, User updatedBy, String comment) {
         LeaveStatusHistoryItem historyItem = new LeaveStatusHistoryItem(
             status, updatedBy.getId(), LocalDateTime.now(), comment
@@ -99,7 +102,7 @@ public class LeaveServiceImpl implements LeaveService {
 
         Leave leave = modelMapper.map(requestDto, Leave.class);
         leave.setStudent(currentUser);
-        leave.setLeaveIdString(generateLeaveIdString());
+        leave.setLeaveIdString(idGeneratorService.nextLeaveIdString());
         leave.setStatus(LeaveStatus.PENDING);
         leave.setAppliedDate(LocalDateTime.now());
 
@@ -133,7 +136,18 @@ public class LeaveServiceImpl implements LeaveService {
 
     @Override
     public Page<LeaveDto> getAllLeaveApplications(Pageable pageable, User currentUser, String statusFilter, String leaveTypeFilter) {
-         Specification<Leave> spec = (root, query, cb) -> {
+        Specification<Leave> spec = buildLeaveSpecification(currentUser, statusFilter, leaveTypeFilter);
+        return leaveRepository.findAll(spec, pageable).map(this::convertToDto);
+    }
+
+    @Override
+    public KeysetPage<LeaveDto> getAllLeaveApplications(KeysetPageRequest pageRequest, User currentUser, String statusFilter, String leaveTypeFilter) {
+        Specification<Leave> spec = buildLeaveSpecification(currentUser, statusFilter, leaveTypeFilter);
+        return keysetPaginator.find(Leave.class, spec, pageRequest, KEYSET_SORT_PROPERTIES, "Leave.list").map(this::convertToDto);
+    }
+
+    Specification<Leave> buildLeaveSpecification(User currentUser, String statusFilter, String leaveTypeFilter) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (currentUser.getRole() == Role.STUDENT) {
                 predicates.add(cb.equal(root.get("student"), currentUser));
@@ -150,7 +164,6 @@ public class LeaveServiceImpl implements LeaveService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-        return leaveRepository.findAll(spec, pageable).map(this::convertToDto);
     }
 
     @Override
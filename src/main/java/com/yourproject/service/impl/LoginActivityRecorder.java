@@ -0,0 +1,128 @@
+package com.yourproject.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records last-login timestamps off the login path. Logins are coalesced in memory per user
+ * (latest timestamp wins) and written every flush-interval-ms with one UPDATE of users.last_login
+ * per batch of up to batch-size users, so a login does not write the users row itself. The update
+ * never moves last_login backwards, so a batch retried after a later one cannot undo it.
+ *
+ * A failed batch is put back for the next flush and the buffer is drained on shutdown; only
+ * logins from the last interval before the process dies are lost.
+ */
+@Component
+public class LoginActivityRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginActivityRecorder.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushedCounter;
+
+    @Autowired
+    public LoginActivityRecorder(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${security.login-activity.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.flushedCounter = Counter.builder("security.login-activity.flushed")
+            .description("Last-login timestamps written to the users table")
+            .tag("store", "jpa")
+            .register(meterRegistry);
+        Gauge.builder("security.login-activity.pending", pending, Map::size)
+            .description("Users whose last login has not been written yet")
+            .tag("store", "jpa")
+            .register(meterRegistry);
+    }
+
+    public void recordLogin(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-activity.flush-interval-ms:5000}")
+    public void flush() {
+        List<Map.Entry<Long, LocalDateTime>> batch;
+        while (!(batch = drain()).isEmpty()) {
+            try {
+                writeBatch(batch);
+                flushedCounter.increment(batch.size());
+            } catch (DataAccessException e) {
+                logger.warn("Failed to write last login for {} users, retrying on next flush: {}", batch.size(), e.getMessage());
+                for (Map.Entry<Long, LocalDateTime> entry : batch) {
+                    recordLogin(entry.getKey(), entry.getValue());
+                }
+                return;
+            }
+        }
+    }
+
+    private List<Map.Entry<Long, LocalDateTime>> drain() {
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<Map.Entry<Long, LocalDateTime>> iterator = pending.entrySet().iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            Map.Entry<Long, LocalDateTime> entry = iterator.next();
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * UPDATE users SET last_login = CASE id WHEN ? THEN GREATEST(COALESCE(last_login, ?), ?) ... END WHERE id IN (?, ...)
+     */
+    private void writeBatch(List<Map.Entry<Long, LocalDateTime>> batch) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET last_login = CASE id");
+        List<Object> args = new ArrayList<>(batch.size() * 4);
+        for (Map.Entry<Long, LocalDateTime> entry : batch) {
+            // COALESCE because GREATEST with a NULL argument is NULL
+            sql.append(" WHEN ? THEN GREATEST(COALESCE(last_login, ?), ?)");
+            Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+            args.add(entry.getKey());
+            args.add(loginAt);
+            args.add(loginAt);
+        }
+        sql.append(" ELSE last_login END WHERE id IN (");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(batch.get(i).getKey());
+        }
+        sql.append(')');
+        transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.update(sql.toString(), args.toArray()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        logger.info("Login activity recorder drained");
+    }
+}
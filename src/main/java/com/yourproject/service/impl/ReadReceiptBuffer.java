@@ -0,0 +1,288 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.repository.AnnouncementRepository;
+import com.yourproject.repository.ReadReceiptRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers read receipts in memory and writes them in batches.
+ * Reads are deduplicated by (announcement, user) while pending. A flush runs on a timer or once
+ * the batch size is reached. Each announcement in the batch gets one multi-row insert-if-absent
+ * statement, and its update count (exact for a single statement, unlike batched counts that a
+ * driver may report as SUCCESS_NO_INFO) moves that announcement's counters.
+ *
+ * Loss is bounded: when the buffer is full the caller records its read synchronously, receipts
+ * that fail to write are requeued for the next flush, and the buffer is drained on shutdown.
+ * Only reads still pending when the process dies are lost, i.e. at most buffer-capacity
+ * receipts from the last flush interval.
+ */
+@Component
+public class ReadReceiptBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReceiptBuffer.class);
+
+    // The reads of one announcement as a derived table of (user_id, read_at) rows. The casts type the
+    // parameters; MySQL's CAST has no BIGINT or TIMESTAMP target, and H2 in MySQL mode accepts these
+    private static final String READ_ROW_SQL = "SELECT CAST(? AS DECIMAL(19,0)) AS user_id, CAST(? AS DATETIME(6)) AS read_at";
+
+    private static final String INSERT_RECEIPTS_SQL =
+        "INSERT INTO announcement_read_receipts (announcement_id, user_id, read_at) " +
+        "SELECT a.id, r.user_id, r.read_at FROM announcements a CROSS JOIN (%s) r " +
+        "WHERE a.id = ? AND a.status = 'PUBLISHED' " +
+        "AND NOT EXISTS (SELECT 1 FROM announcement_read_receipts x WHERE x.announcement_id = a.id AND x.user_id = r.user_id)";
+
+    private final ReadReceiptRepository readReceiptRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int capacity;
+    private final int batchSize;
+
+    private final Map<ReadKey, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flushExecutor;
+
+    @Autowired
+    public ReadReceiptBuffer(ReadReceiptRepository readReceiptRepository,
+                             AnnouncementRepository announcementRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${announcement.read-receipts.buffer-capacity:10000}") int capacity,
+                             @Value("${announcement.read-receipts.batch-size:500}") int batchSize,
+                             @Value("${announcement.read-receipts.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.readReceiptRepository = readReceiptRepository;
+        this.announcementRepository = announcementRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "read-receipt-flush"));
+        this.flushExecutor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a read of the announcement by the user. Repeated reads while pending are collapsed.
+     * If the buffer is full the read is written synchronously instead of being dropped.
+     */
+    public void record(Long announcementId, Long userId) {
+        if (flushExecutor.isShutdown()) {
+            recordNow(announcementId, userId, LocalDateTime.now());
+            return;
+        }
+        ReadKey key = new ReadKey(announcementId, userId);
+        if (pending.containsKey(key)) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > capacity) {
+            pendingCount.decrementAndGet();
+            recordNow(announcementId, userId, LocalDateTime.now());
+            return;
+        }
+        if (pending.putIfAbsent(key, LocalDateTime.now()) != null) {
+            pendingCount.decrementAndGet();
+            return;
+        }
+        if (pendingCount.get() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flushSafely);
+        }
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    private void flushSafely() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Read receipt flush failed", e);
+        }
+    }
+
+    /**
+     * Writes every pending receipt, one batch at a time. Stops early once a receipt had to be
+     * requeued, leaving it for the next flush rather than retrying it in a loop.
+     */
+    void flush() {
+        List<PendingRead> batch;
+        while (!(batch = drain()).isEmpty()) {
+            int requeued;
+            try {
+                writeBatch(batch);
+                requeued = 0;
+            } catch (DataIntegrityViolationException e) {
+                // A receipt was written concurrently (synchronous overflow path or another instance); fall back per row
+                requeued = writeIndividually(batch);
+            } catch (DataAccessException e) {
+                logger.warn("Failed to write {} read receipts, retrying individually: {}", batch.size(), e.getMessage());
+                requeued = writeIndividually(batch);
+            }
+            if (requeued > 0) {
+                return;
+            }
+        }
+    }
+
+    private List<PendingRead> drain() {
+        List<PendingRead> batch = new ArrayList<>(Math.min(batchSize, Math.max(pendingCount.get(), 0)));
+        Iterator<Map.Entry<ReadKey, LocalDateTime>> iterator = pending.entrySet().iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            Map.Entry<ReadKey, LocalDateTime> entry = iterator.next();
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                pendingCount.decrementAndGet();
+                batch.add(new PendingRead(entry.getKey(), entry.getValue()));
+            }
+        }
+        return batch;
+    }
+
+    private void writeBatch(List<PendingRead> batch) {
+        Map<Long, List<PendingRead>> readsByAnnouncement = new HashMap<>();
+        for (PendingRead read : batch) {
+            readsByAnnouncement.computeIfAbsent(read.key.announcementId, id -> new ArrayList<>()).add(read);
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (Map.Entry<Long, List<PendingRead>> entry : readsByAnnouncement.entrySet()) {
+                // Only rows actually inserted move the counters
+                int inserted = insertReceipts(entry.getKey(), entry.getValue());
+                if (inserted > 0) {
+                    announcementRepository.incrementReadCount(entry.getKey(), inserted);
+                }
+            }
+        });
+    }
+
+    // Users are unique within the list (pending reads are keyed by announcement and user)
+    private int insertReceipts(Long announcementId, List<PendingRead> reads) {
+        String sql = String.format(INSERT_RECEIPTS_SQL, String.join(" UNION ALL ", Collections.nCopies(reads.size(), READ_ROW_SQL)));
+        return jdbcTemplate.update(sql, ps -> {
+            int index = 1;
+            for (PendingRead read : reads) {
+                ps.setLong(index++, read.key.userId);
+                ps.setTimestamp(index++, Timestamp.valueOf(read.readAt));
+            }
+            ps.setLong(index, announcementId);
+        });
+    }
+
+    /**
+     * Writes the receipts one by one and puts back those that fail again. Returns how many were requeued.
+     */
+    private int writeIndividually(List<PendingRead> batch) {
+        int requeued = 0;
+        for (PendingRead read : batch) {
+            try {
+                recordNow(read.key.announcementId, read.key.userId, read.readAt);
+            } catch (DataAccessException e) {
+                requeue(read);
+                requeued++;
+            }
+        }
+        if (requeued > 0) {
+            logger.warn("Requeued {} read receipts that could not be written", requeued);
+        }
+        return requeued;
+    }
+
+    // Kept even past capacity: the read has already been accepted from its caller
+    private void requeue(PendingRead read) {
+        if (pending.putIfAbsent(read.key, read.readAt) == null) {
+            pendingCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Inserts one receipt if absent and bumps the announcement's read and view counters.
+     */
+    private void recordNow(Long announcementId, Long userId, LocalDateTime readAt) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                if (readReceiptRepository.insertIfAbsent(announcementId, userId, readAt) > 0) {
+                    announcementRepository.incrementReadCount(announcementId, 1);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Already recorded by a concurrent writer
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (pendingCount.get() > 0) {
+            logger.warn("Read receipt buffer stopped with {} receipts that could not be written", pendingCount.get());
+        } else {
+            logger.info("Read receipt buffer drained");
+        }
+    }
+
+    private static final class ReadKey {
+        private final long announcementId;
+        private final long userId;
+
+        ReadKey(long announcementId, long userId) {
+            this.announcementId = announcementId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ReadKey)) return false;
+            ReadKey other = (ReadKey) o;
+            return announcementId == other.announcementId && userId == other.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(announcementId, userId);
+        }
+    }
+
+    private static final class PendingRead {
+        private final ReadKey key;
+        private final LocalDateTime readAt;
+
+        PendingRead(ReadKey key, LocalDateTime readAt) {
+            this.key = key;
+            this.readAt = readAt;
+        }
+    }
+}
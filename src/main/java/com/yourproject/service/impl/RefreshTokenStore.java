@@ -0,0 +1,244 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.entity.RefreshTokenFamily;
+import com.yourproject.exception.UnauthorizedException;
+import com.yourproject.repository.RefreshTokenFamilyRepository;
+import com.yourproject.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side state for refresh tokens, kept as one family per login session.
+ * Each refresh token is single-use: exchanging it issues a new token in the same family. If a
+ * token that was already exchanged is presented again (a replay), the whole family is revoked.
+ *
+ * Families are written through to refresh_token_families and indexed in memory, so the
+ * revocation and reuse checks are a map lookup. A family missing from the index (e.g. before the
+ * startup load completes) is read from the table. Access-token requests never consult the store.
+ * Expired families are deleted in the background.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final JwtUtil jwtUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, FamilyState> index = new ConcurrentHashMap<>();
+
+    private final Counter rotatedCounter;
+    private final Counter reuseCounter;
+
+    @Autowired
+    public RefreshTokenStore(RefreshTokenFamilyRepository familyRepository,
+                             JwtUtil jwtUtil,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.familyRepository = familyRepository;
+        this.jwtUtil = jwtUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Session state commits independently of the login or refresh that triggered it
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rotatedCounter = Counter.builder("auth.refresh-tokens.rotated")
+            .description("Refresh tokens exchanged for a new one")
+            .register(meterRegistry);
+        this.reuseCounter = Counter.builder("auth.refresh-tokens.reuse-detected")
+            .description("Already-used refresh tokens presented again; the session is revoked")
+            .register(meterRegistry);
+        Gauge.builder("auth.refresh-tokens.sessions", index, Map::size)
+            .description("Refresh token families held in the in-memory index")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        for (RefreshTokenFamily family : familyRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            index.putIfAbsent(family.getId(), FamilyState.of(family));
+        }
+        logger.info("Loaded {} refresh token families", index.size());
+    }
+
+    /**
+     * Starts a session for the user and returns its first refresh token.
+     */
+    public String startSession(String email, Long userId) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        RefreshTokenFamily family = new RefreshTokenFamily();
+        family.setId(familyId);
+        family.setUserId(userId);
+        family.setCurrentTokenId(tokenId);
+        family.setRevoked(false);
+        family.setCreatedAt(now);
+        family.setExpiresAt(expiryFrom(now));
+        transactionTemplate.executeWithoutResult(tx -> familyRepository.save(family));
+        index.put(familyId, FamilyState.of(family));
+        return jwtUtil.generateRefreshToken(email, userId, familyId, tokenId);
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family. Throws UnauthorizedException if the
+     * token is invalid, expired, revoked or was already exchanged; in the last case the family is revoked.
+     */
+    public Rotation rotate(String refreshToken) {
+        Claims claims = parse(refreshToken);
+        String familyId = claims.get(JwtUtil.FAMILY_ID_CLAIM, String.class);
+        String tokenId = claims.getId();
+        FamilyState state = lookup(familyId);
+        if (state == null || state.revoked || state.expiresAt.isBefore(LocalDateTime.now())) {
+            throw new UnauthorizedException("Invalid or expired refresh token.");
+        }
+        if (!state.currentTokenId.equals(tokenId)) {
+            reuseDetected(familyId, state.userId);
+        }
+
+        String newTokenId = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = expiryFrom(LocalDateTime.now());
+        Integer updated = transactionTemplate.execute(tx -> familyRepository.rotate(familyId, tokenId, newTokenId, expiresAt));
+        if (updated == null || updated == 0) {
+            // Another exchange of the same token won the race
+            reuseDetected(familyId, state.userId);
+        }
+        // A revocation that raced with this exchange must not be overwritten
+        index.compute(familyId, (id, current) -> current != null && current.revoked
+            ? current : new FamilyState(state.userId, newTokenId, false, expiresAt));
+        rotatedCounter.increment();
+        Long userId = claims.get("userId", Long.class);
+        return new Rotation(userId, jwtUtil.generateRefreshToken(claims.getSubject(), userId, familyId, newTokenId));
+    }
+
+    /**
+     * Ends the session the refresh token belongs to. Invalid tokens are ignored.
+     */
+    public void revokeSession(String refreshToken) {
+        Claims claims;
+        try {
+            claims = parse(refreshToken);
+        } catch (UnauthorizedException e) {
+            return;
+        }
+        revokeFamily(claims.get(JwtUtil.FAMILY_ID_CLAIM, String.class), "LOGOUT");
+    }
+
+    /**
+     * Ends every session of the user, e.g. after a password change or deactivation.
+     */
+    public void revokeAllSessions(Long userId, String reason) {
+        transactionTemplate.execute(tx -> familyRepository.revokeAllForUser(userId, reason));
+        index.replaceAll((familyId, state) -> state.userId.equals(userId) ? state.revoke() : state);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval-ms:3600000}")
+    public void removeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(tx -> familyRepository.deleteExpired(now));
+        index.values().removeIf(state -> state.expiresAt.isBefore(now));
+        logger.debug("Removed {} expired refresh token families", deleted);
+    }
+
+    private void reuseDetected(String familyId, Long userId) {
+        reuseCounter.increment();
+        logger.warn("Refresh token reuse detected for user {}; revoking session {}", userId, familyId);
+        revokeFamily(familyId, "REUSE_DETECTED");
+        throw new UnauthorizedException("Refresh token has already been used. Please log in again.");
+    }
+
+    private void revokeFamily(String familyId, String reason) {
+        if (familyId == null) {
+            return;
+        }
+        transactionTemplate.execute(tx -> familyRepository.revoke(familyId, reason));
+        index.computeIfPresent(familyId, (id, state) -> state.revoke());
+    }
+
+    private Claims parse(String refreshToken) {
+        try {
+            Claims claims = jwtUtil.parseClaims(refreshToken);
+            if (!jwtUtil.isRefreshToken(claims) || claims.getId() == null) {
+                throw new UnauthorizedException("Invalid or expired refresh token.");
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid or expired refresh token.");
+        }
+    }
+
+    private FamilyState lookup(String familyId) {
+        if (familyId == null) {
+            return null;
+        }
+        FamilyState state = index.get(familyId);
+        if (state == null) {
+            state = familyRepository.findById(familyId).map(FamilyState::of).orElse(null);
+            if (state != null) {
+                index.putIfAbsent(familyId, state);
+            }
+        }
+        return state;
+    }
+
+    private LocalDateTime expiryFrom(LocalDateTime now) {
+        return now.plus(Duration.ofMillis(jwtUtil.getRefreshTokenExpirationMs()));
+    }
+
+    public static final class Rotation {
+        private final Long userId;
+        private final String refreshToken;
+
+        Rotation(Long userId, String refreshToken) {
+            this.userId = userId;
+            this.refreshToken = refreshToken;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+
+    private static final class FamilyState {
+        private final Long userId;
+        private final String currentTokenId;
+        private final boolean revoked;
+        private final LocalDateTime expiresAt;
+
+        FamilyState(Long userId, String currentTokenId, boolean revoked, LocalDateTime expiresAt) {
+            this.userId = userId;
+            this.currentTokenId = currentTokenId;
+            this.revoked = revoked;
+            this.expiresAt = expiresAt;
+        }
+
+        static FamilyState of(RefreshTokenFamily family) {
+            return new FamilyState(family.getUserId(), family.getCurrentTokenId(), family.isRevoked(), family.getExpiresAt());
+        }
+
+        FamilyState revoke() {
+            return new FamilyState(userId, currentTokenId, true, expiresAt);
+        }
+    }
+}
@@ -3,48 +3,167 @@ package com.yourproject.service.impl;
 import com.yourproject.entity.*; // Assuming access to entities
 import com.yourproject.repository.*; // Assuming access to repositories
 import com.yourproject.service.ReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-// PDF specific imports (e.g., OpenPDF or iText)
-// import com.lowagie.text.Document;
-// import com.lowagie.text.DocumentException;
-// import com.lowagie.text.Paragraph;
-// import com.lowagie.text.pdf.PdfWriter;
+// PDF (OpenPDF)
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
 
-// Excel specific imports (e.g., Apache POI)
-// import org.apache.poi.ss.usermodel.Cell;
-// import org.apache.poi.ss.usermodel.Row;
-// import org.apache.poi.xssf.usermodel.XSSFSheet;
-// import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+// Excel (Apache POI, streaming)
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+/**
+ * Reports are streamed end to end: rows are read through a forward-only cursor as projections
+ * (nothing is kept in the persistence context) and handed one at a time to a streaming writer.
+ * Excel keeps only row-window rows in memory (SXSSF spills the rest to a compressed temp file),
+ * and the PDF table is flushed to the output every flush-rows rows, so finished pages are
+ * written out instead of the whole document being built in memory.
+ */
 @Service
 public class ReportServiceImpl implements ReportService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final List<ReportColumn<UserRepository.StudentReportRow>> STUDENT_COLUMNS = List.of(
+        column("Student ID", UserRepository.StudentReportRow::getStudentId),
+        column("Name", r -> fullName(r.getFirstName(), r.getLastName())),
+        column("Email", UserRepository.StudentReportRow::getEmail),
+        column("Phone", UserRepository.StudentReportRow::getPhone),
+        column("Course", UserRepository.StudentReportRow::getCourse),
+        column("Year", UserRepository.StudentReportRow::getYear),
+        column("Active", UserRepository.StudentReportRow::getActive),
+        column("Registered", UserRepository.StudentReportRow::getCreatedAt));
+
+    private static final List<ReportColumn<FeeRepository.FeeReportRow>> FEE_COLUMNS = List.of(
+        column("Student ID", FeeRepository.FeeReportRow::getStudentId),
+        column("Student", r -> fullName(r.getStudentFirstName(), r.getStudentLastName())),
+        column("Fee Type", FeeRepository.FeeReportRow::getFeeType),
+        column("Month", FeeRepository.FeeReportRow::getMonth),
+        column("Year", FeeRepository.FeeReportRow::getYear),
+        column("Due Date", FeeRepository.FeeReportRow::getDueDate),
+        column("Amount", FeeRepository.FeeReportRow::getFinalAmount),
+        column("Paid", FeeRepository.FeeReportRow::getPaidAmount),
+        column("Balance", FeeRepository.FeeReportRow::getBalanceAmount),
+        column("Status", FeeRepository.FeeReportRow::getStatus),
+        column("Paid Date", FeeRepository.FeeReportRow::getPaidDate));
+
+    private static final List<ReportColumn<ComplaintRepository.ComplaintReportRow>> COMPLAINT_COLUMNS = List.of(
+        column("Complaint ID", ComplaintRepository.ComplaintReportRow::getComplaintId),
+        column("Title", ComplaintRepository.ComplaintReportRow::getTitle),
+        column("Category", ComplaintRepository.ComplaintReportRow::getCategory),
+        column("Priority", ComplaintRepository.ComplaintReportRow::getPriority),
+        column("Status", ComplaintRepository.ComplaintReportRow::getStatus),
+        column("Reported By", r -> fullName(r.getReportedByFirstName(), r.getReportedByLastName())),
+        column("Assigned To", r -> fullName(r.getAssignedToFirstName(), r.getAssignedToLastName())),
+        column("Room", ComplaintRepository.ComplaintReportRow::getRoomNumber),
+        column("Created", ComplaintRepository.ComplaintReportRow::getCreatedAt),
+        column("Resolved", ComplaintRepository.ComplaintReportRow::getResolvedDate));
+
+    private static final List<ReportColumn<RoomRepository.RoomReportRow>> ROOM_COLUMNS = List.of(
+        column("Room", RoomRepository.RoomReportRow::getRoomNumber),
+        column("Block", RoomRepository.RoomReportRow::getBlock),
+        column("Floor", RoomRepository.RoomReportRow::getFloor),
+        column("Type", RoomRepository.RoomReportRow::getType),
+        column("Capacity", RoomRepository.RoomReportRow::getCapacity),
+        column("Occupied", RoomRepository.RoomReportRow::getOccupied),
+        column("Status", RoomRepository.RoomReportRow::getStatus),
+        column("Monthly Rent", RoomRepository.RoomReportRow::getMonthlyRent),
+        column("Active", RoomRepository.RoomReportRow::getActive));
+
+    private static final List<ReportColumn<LeaveRepository.LeaveReportRow>> LEAVE_COLUMNS = List.of(
+        column("Leave ID", LeaveRepository.LeaveReportRow::getLeaveId),
+        column("Student ID", LeaveRepository.LeaveReportRow::getStudentId),
+        column("Student", r -> fullName(r.getStudentFirstName(), r.getStudentLastName())),
+        column("Leave Type", LeaveRepository.LeaveReportRow::getLeaveType),
+        column("From", LeaveRepository.LeaveReportRow::getStartDate),
+        column("To", LeaveRepository.LeaveReportRow::getEndDate),
+        column("Status", LeaveRepository.LeaveReportRow::getStatus),
+        column("Applied", LeaveRepository.LeaveReportRow::getAppliedDate),
+        column("Approved", LeaveRepository.LeaveReportRow::getApprovedDate));
+
     // Inject repositories or other services as needed to fetch data
     @Autowired private UserRepository userRepository;
     @Autowired private FeeRepository feeRepository;
     @Autowired private ComplaintRepository complaintRepository;
     @Autowired private RoomRepository roomRepository;
     @Autowired private LeaveRepository leaveRepository;
-    // Add other repositories as needed
+
+    @Value("${report.excel.row-window:100}")
+    private int excelRowWindow;
+
+    @Value("${report.pdf.flush-rows:200}")
+    private int pdfFlushRows;
 
     @Override
-    public ByteArrayInputStream generateReport(String reportType, String format, LocalDate startDate, LocalDate endDate) throws Exception {
-        if ("pdf".equalsIgnoreCase(format)) {
-            return generatePdfReport(reportType, startDate, endDate);
-        } else if ("excel".equalsIgnoreCase(format)) {
-            return generateExcelReport(reportType, startDate, endDate);
-        } else {
+    @Transactional(readOnly = true) // Keeps the connection open while the row streams are read
+    public void writeReport(String reportType, String format, LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        if (!"pdf".equalsIgnoreCase(format) && !"excel".equalsIgnoreCase(format)) {
             throw new IllegalArgumentException("Unsupported report format: " + format);
         }
+        // Date-time columns are filtered on [start of startDate, start of the day after endDate)
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime to = endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
+
+        switch (reportType.toLowerCase()) {
+            case "students":
+                try (Stream<UserRepository.StudentReportRow> rows = userRepository.streamStudentReportRows(Role.STUDENT, from, to)) {
+                    write(format, "Students", STUDENT_COLUMNS, rows, startDate, endDate, out);
+                }
+                break;
+            case "fees":
+                try (Stream<FeeRepository.FeeReportRow> rows = feeRepository.streamFeeReportRows(startDate, endDate)) {
+                    write(format, "Fees", FEE_COLUMNS, rows, startDate, endDate, out);
+                }
+                break;
+            case "complaints":
+                try (Stream<ComplaintRepository.ComplaintReportRow> rows = complaintRepository.streamComplaintReportRows(from, to)) {
+                    write(format, "Complaints", COMPLAINT_COLUMNS, rows, startDate, endDate, out);
+                }
+                break;
+            case "rooms":
+                // Rooms are a current snapshot, the date range does not apply
+                try (Stream<RoomRepository.RoomReportRow> rows = roomRepository.streamRoomReportRows()) {
+                    write(format, "Rooms", ROOM_COLUMNS, rows, null, null, out);
+                }
+                break;
+            case "leaves":
+                try (Stream<LeaveRepository.LeaveReportRow> rows = leaveRepository.streamLeaveReportRows(from, to)) {
+                    write(format, "Leaves", LEAVE_COLUMNS, rows, startDate, endDate, out);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported report type: " + reportType);
+        }
     }
 
     @Override
@@ -59,7 +178,8 @@ public class ReportServiceImpl implements ReportService {
         } else if (endDate != null) {
             dateSuffix = "_until_" + endDate.format(DateTimeFormatter.ISO_DATE);
         }
-        return String.format("%s_report_%s%s.%s", reportType, timestamp, dateSuffix, format);
+        String extension = "excel".equalsIgnoreCase(format) ? "xlsx" : format;
+        return String.format("%s_report_%s%s.%s", reportType, timestamp, dateSuffix, extension);
     }
 
     @Override
@@ -73,86 +193,174 @@ public class ReportServiceImpl implements ReportService {
         return "application/octet-stream";
     }
 
+    private <R> void write(String format, String title, List<ReportColumn<R>> columns, Stream<R> rows,
+                           LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        String subtitle = describePeriod(startDate, endDate) + " | Generated on " + LocalDateTime.now().format(DATE_TIME_FORMAT);
+        long written = "pdf".equalsIgnoreCase(format)
+            ? writePdf(title + " Report", subtitle, columns, rows.iterator(), out)
+            : writeExcel(title + " Report", subtitle, columns, rows.iterator(), out);
+        logger.info("Generated {} report ({}) with {} rows", title.toLowerCase(), format.toLowerCase(), written);
+    }
 
-    private ByteArrayInputStream generatePdfReport(String reportType, LocalDate startDate, LocalDate endDate) throws IOException /*, DocumentException */ {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        // Document document = new Document(); // Example with iText/OpenPDF
-        // PdfWriter.getInstance(document, out);
-        // document.open();
+    private <R> long writePdf(String title, String subtitle, List<ReportColumn<R>> columns, Iterator<R> rows, OutputStream out) throws IOException {
+        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8);
+        Font cellFont = FontFactory.getFont(FontFactory.HELVETICA, 8);
 
-        // document.add(new Paragraph("Report Type: " + reportType.toUpperCase()));
-        // if (startDate != null) document.add(new Paragraph("Start Date: " + startDate.toString()));
-        // if (endDate != null) document.add(new Paragraph("End Date: " + endDate.toString()));
-        // document.add(new Paragraph("Generated on: " + LocalDate.now().toString()));
-        // document.add(new Paragraph(" ")); // Empty line
+        Document document = new Document(PageSize.A4.rotate(), 24, 24, 24, 24);
+        long count = 0;
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+            document.add(new Paragraph(title, titleFont));
+            document.add(new Paragraph(subtitle, cellFont));
+            document.add(new Paragraph(" "));
 
-        // Fetch data based on reportType and add to document
-        switch (reportType.toLowerCase()) {
-            case "students":
-                // List<User> students = userRepository.findByRole(Role.STUDENT); // Add date filters if applicable
-                // students.forEach(s -> document.add(new Paragraph(s.getFirstName() + " " + s.getLastName() + " - " + s.getEmail())));
-                break;
-            case "fees":
-                // List<Fee> fees = feeRepository.findAll(); // Add date filters
-                // fees.forEach(f -> document.add(new Paragraph("Fee for " + f.getStudent().getFirstName() + ": " +f.getFinalAmount() + " Status: " + f.getStatus())));
-                break;
-            // Add cases for complaints, rooms, leaves
-            default:
-                // document.add(new Paragraph("Unknown report type."));
-                break;
+            PdfPTable table = new PdfPTable(columns.size());
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1); // Repeated on every page
+            // An incomplete table gives up its rows each time it is added, so pages are written as they fill
+            table.setComplete(false);
+            for (ReportColumn<R> column : columns) {
+                PdfPCell cell = new PdfPCell(new Phrase(column.header, headerFont));
+                cell.setGrayFill(0.9f);
+                table.addCell(cell);
+            }
+            while (rows.hasNext()) {
+                R row = rows.next();
+                for (ReportColumn<R> column : columns) {
+                    table.addCell(new Phrase(formatText(column.value.apply(row)), cellFont));
+                }
+                if (++count % pdfFlushRows == 0) {
+                    document.add(table);
+                }
+            }
+            table.setComplete(true);
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IOException("Failed to write PDF report: " + e.getMessage(), e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
         }
+        return count;
+    }
+
+    private <R> long writeExcel(String title, String subtitle, List<ReportColumn<R>> columns, Iterator<R> rows, OutputStream out) throws IOException {
+        // Only the last row-window rows stay in memory; older rows are flushed to a compressed temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(excelRowWindow);
+        workbook.setCompressTempFiles(true);
+        long count = 0;
+        try {
+            Sheet sheet = workbook.createSheet(title);
 
-        // document.close();
+            org.apache.poi.ss.usermodel.Font bold = workbook.createFont();
+            bold.setBold(true);
+            CellStyle headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(bold);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            CellStyle dateTimeStyle = workbook.createCellStyle();
+            dateTimeStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
 
-        // For placeholder, returning empty PDF-like content
-        if (out.size() == 0) { // If no actual PDF content was generated
-            // PdfWriter.getInstance(new Document(), out); // Create minimal PDF structure
-            // new Document().close(); // This is a bad example, proper library usage needed.
-            // This is just to ensure the stream is not empty for testing.
-             out.write("%PDF-1.4\n1 0 obj<</Type/Catalog/Pages 2 0 R>>endobj 2 0 obj<</Type/Pages/Count 0>>endobj\nxref\n0 3\n0000000000 65535 f\n0000000010 00000 n\n0000000058 00000 n\ntrailer<</Size 3/Root 1 0 R>>\nstartxref\n79\n%%EOF".getBytes());
+            Row titleRow = sheet.createRow(0);
+            titleRow.createCell(0).setCellValue(title);
+            titleRow.getCell(0).setCellStyle(headerStyle);
+            sheet.createRow(1).createCell(0).setCellValue(subtitle);
+
+            int rowNum = 3;
+            Row headerRow = sheet.createRow(rowNum++);
+            for (int i = 0; i < columns.size(); i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(columns.get(i).header);
+                cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, 18 * 256);
+            }
+            sheet.createFreezePane(0, rowNum);
+
+            while (rows.hasNext()) {
+                R value = rows.next();
+                Row row = sheet.createRow(rowNum++);
+                for (int i = 0; i < columns.size(); i++) {
+                    setCellValue(row.createCell(i), columns.get(i).value.apply(value), dateStyle, dateTimeStyle);
+                }
+                count++;
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose(); // Deletes the temp file
+            workbook.close();
         }
-        return new ByteArrayInputStream(out.toByteArray());
+        return count;
     }
 
-    private ByteArrayInputStream generateExcelReport(String reportType, LocalDate startDate, LocalDate endDate) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        // XSSFWorkbook workbook = new XSSFWorkbook(); // Example with Apache POI
-        // XSSFSheet sheet = workbook.createSheet(reportType.toUpperCase() + " Report");
+    private static void setCellValue(Cell cell, Object value, CellStyle dateStyle, CellStyle dateTimeStyle) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal) {
+            cell.setCellValue(((BigDecimal) value).doubleValue());
+        } else if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value ? "Yes" : "No");
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue((LocalDate) value);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) value);
+            cell.setCellStyle(dateTimeStyle);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
 
-        // Create header row
-        // Row headerRow = sheet.createRow(0);
-        // Cell cell = headerRow.createCell(0);
-        // cell.setCellValue("Report Type: " + reportType.toUpperCase());
-        // ... add more header cells for dates etc.
+    private static String formatText(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "Yes" : "No";
+        }
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).format(DATE_TIME_FORMAT);
+        }
+        return value.toString();
+    }
 
-        // Fetch data and populate sheet
-        // int rowNum = 2;
-        switch (reportType.toLowerCase()) {
-            case "students":
-                // List<User> students = userRepository.findByRole(Role.STUDENT);
-                // String[] studentHeaders = {"ID", "First Name", "Last Name", "Email", "Student ID"};
-                // Row studentHeader = sheet.createRow(1);
-                // for(int i=0; i<studentHeaders.length; i++) studentHeader.createCell(i).setCellValue(studentHeaders[i]);
-                // for (User s : students) {
-                //     Row row = sheet.createRow(rowNum++);
-                //     row.createCell(0).setCellValue(s.getId());
-                //     row.createCell(1).setCellValue(s.getFirstName());
-                //     // ... and so on
-                // }
-                break;
-            // Add other cases
+    private static String describePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null) {
+            return "Period: " + startDate + " to " + endDate;
+        } else if (startDate != null) {
+            return "Period: from " + startDate;
+        } else if (endDate != null) {
+            return "Period: until " + endDate;
+        }
+        return "Period: all dates";
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
         }
-        // workbook.write(out);
-        // workbook.close();
-
-        // Placeholder for empty Excel
-         if (out.size() == 0) {
-            // Create a minimal valid XLSX file for testing
-            org.apache.poi.xssf.usermodel.XSSFWorkbook tempWorkbook = new org.apache.poi.xssf.usermodel.XSSFWorkbook();
-            tempWorkbook.createSheet("Sheet1");
-            tempWorkbook.write(out);
-            tempWorkbook.close();
+        return (firstName != null ? firstName : "") + (lastName != null ? " " + lastName : "");
+    }
+
+    private static <R> ReportColumn<R> column(String header, Function<R, Object> value) {
+        return new ReportColumn<>(header, value);
+    }
+
+    private static final class ReportColumn<R> {
+        private final String header;
+        private final Function<R, Object> value;
+
+        ReportColumn(String header, Function<R, Object> value) {
+            this.header = header;
+            this.value = value;
         }
-        return new ByteArrayInputStream(out.toByteArray());
     }
 }
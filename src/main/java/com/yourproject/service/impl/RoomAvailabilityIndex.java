@@ -0,0 +1,275 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.entity.RoomStatus;
+import com.yourproject.entity.RoomType;
+import com.yourproject.repository.RoomRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of rooms with free beds, grouped by block, floor and room type, so allocation
+ * queries ("first free double in block B") are answered without touching the database.
+ *
+ * A room is listed while it is active, AVAILABLE or OCCUPIED (the statuses assignment accepts) and
+ * has fewer active occupants than its capacity. Rooms are ordered by block, floor, type, then room
+ * number. RoomServiceImpl refreshes a room after every committed write that changes its
+ * occupancy or allocation fields. The index is rebuilt at startup and on rebuild-interval-ms, which
+ * also picks up changes made outside this instance.
+ *
+ * Refreshes read the room outside the write lock and can finish out of order, so each slot keeps
+ * the room's version and a snapshot older than the indexed one is ignored. Every allocation
+ * force-increments the version (see BedAllocator), so newer occupancy always has a newer version.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    private static final Comparator<RoomSlot> ROOM_ORDER =
+        Comparator.comparing(RoomSlot::getRoomNumber).thenComparing(RoomSlot::getId);
+
+    private final RoomRepository roomRepository;
+    private final Object writeLock = new Object();
+
+    private volatile Map<Long, RoomSlot> rooms = new ConcurrentHashMap<>();
+    private volatile NavigableMap<SlotKey, NavigableSet<RoomSlot>> freeRooms = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    public RoomAvailabilityIndex(RoomRepository roomRepository, MeterRegistry meterRegistry) {
+        this.roomRepository = roomRepository;
+        Gauge.builder("rooms.availability.free-beds", this, RoomAvailabilityIndex::freeBeds)
+            .description("Free beds in allocatable rooms according to the availability index")
+            .tag("store", "jpa")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${room.availability.rebuild-interval-ms:300000}",
+               initialDelayString = "${room.availability.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            Map<Long, RoomSlot> newRooms = new ConcurrentHashMap<>();
+            NavigableMap<SlotKey, NavigableSet<RoomSlot>> newFreeRooms = new ConcurrentSkipListMap<>();
+            for (RoomRepository.AvailabilitySnapshot snapshot : roomRepository.findAvailabilitySnapshots()) {
+                RoomSlot slot = RoomSlot.of(snapshot);
+                newRooms.put(slot.getId(), slot);
+                if (slot.isAllocatable()) {
+                    newFreeRooms.computeIfAbsent(slot.key(), k -> new ConcurrentSkipListSet<>(ROOM_ORDER)).add(slot);
+                }
+            }
+            rooms = newRooms;
+            freeRooms = newFreeRooms;
+            logger.debug("Room availability index rebuilt with {} rooms", newRooms.size());
+        }
+    }
+
+    /**
+     * Re-reads the room once the current transaction commits (immediately if there is none).
+     */
+    public void refreshAfterCommit(Long roomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(roomId);
+                }
+            });
+        } else {
+            refresh(roomId);
+        }
+    }
+
+    /**
+     * Rooms with a free bed matching the filters, in index order. Null filters match everything.
+     */
+    public List<RoomSlot> findAvailable(RoomType type, String block, Integer floor) {
+        List<RoomSlot> result = new ArrayList<>();
+        for (Map.Entry<SlotKey, NavigableSet<RoomSlot>> entry : freeRooms.entrySet()) {
+            if (entry.getKey().matches(type, block, floor)) {
+                result.addAll(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    public Optional<RoomSlot> findFirstAvailable(RoomType type, String block, Integer floor) {
+        for (Map.Entry<SlotKey, NavigableSet<RoomSlot>> entry : freeRooms.entrySet()) {
+            if (entry.getKey().matches(type, block, floor)) {
+                RoomSlot first = entry.getValue().isEmpty() ? null : entry.getValue().first();
+                if (first != null) {
+                    return Optional.of(first);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void refresh(Long roomId) {
+        RoomRepository.AvailabilitySnapshot snapshot = roomRepository.findAvailabilitySnapshotById(roomId).orElse(null);
+        synchronized (writeLock) {
+            RoomSlot previous = rooms.get(roomId);
+            if (snapshot != null && previous != null && RoomSlot.versionOf(snapshot) < previous.getVersion()) {
+                return; // A later write was indexed first
+            }
+            rooms.remove(roomId);
+            if (previous != null && previous.isAllocatable()) {
+                NavigableSet<RoomSlot> slots = freeRooms.get(previous.key());
+                if (slots != null) {
+                    slots.remove(previous);
+                }
+            }
+            if (snapshot != null) {
+                RoomSlot slot = RoomSlot.of(snapshot);
+                rooms.put(roomId, slot);
+                if (slot.isAllocatable()) {
+                    freeRooms.computeIfAbsent(slot.key(), k -> new ConcurrentSkipListSet<>(ROOM_ORDER)).add(slot);
+                }
+            }
+        }
+    }
+
+    private double freeBeds() {
+        long total = 0;
+        for (NavigableSet<RoomSlot> slots : freeRooms.values()) {
+            for (RoomSlot slot : slots) {
+                total += slot.getFreeBeds();
+            }
+        }
+        return total;
+    }
+
+    public static final class RoomSlot {
+        private final Long id;
+        private final String roomNumber;
+        private final String block;
+        private final Integer floor;
+        private final RoomType type;
+        private final int freeBeds;
+        private final boolean allocatable;
+        private final long version;
+
+        RoomSlot(Long id, String roomNumber, String block, Integer floor, RoomType type, int freeBeds, boolean allocatable,
+                 long version) {
+            this.id = id;
+            this.roomNumber = roomNumber;
+            this.block = block;
+            this.floor = floor;
+            this.type = type;
+            this.freeBeds = freeBeds;
+            this.allocatable = allocatable;
+            this.version = version;
+        }
+
+        static RoomSlot of(RoomRepository.AvailabilitySnapshot snapshot) {
+            int freeBeds = Math.max(0, snapshot.getCapacity() - snapshot.getOccupied().intValue());
+            boolean allocatable = Boolean.TRUE.equals(snapshot.getActive())
+                && (snapshot.getStatus() == RoomStatus.AVAILABLE || snapshot.getStatus() == RoomStatus.OCCUPIED)
+                && freeBeds > 0;
+            return new RoomSlot(snapshot.getId(), snapshot.getRoomNumber(), snapshot.getBlock(), snapshot.getFloor(),
+                snapshot.getType(), freeBeds, allocatable, versionOf(snapshot));
+        }
+
+        // Rooms not yet backfilled have no version; they count as the oldest
+        static long versionOf(RoomRepository.AvailabilitySnapshot snapshot) {
+            return snapshot.getVersion() != null ? snapshot.getVersion() : -1L;
+        }
+
+        SlotKey key() {
+            return new SlotKey(block, floor, type);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getRoomNumber() {
+            return roomNumber;
+        }
+
+        public String getBlock() {
+            return block;
+        }
+
+        public Integer getFloor() {
+            return floor;
+        }
+
+        public RoomType getType() {
+            return type;
+        }
+
+        public int getFreeBeds() {
+            return freeBeds;
+        }
+
+        public boolean isAllocatable() {
+            return allocatable;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+
+    private static final class SlotKey implements Comparable<SlotKey> {
+        private static final Comparator<SlotKey> ORDER = Comparator
+            .comparing((SlotKey key) -> key.block)
+            .thenComparing(key -> key.floor)
+            .thenComparing(key -> key.type);
+
+        private final String block;
+        private final Integer floor;
+        private final RoomType type;
+
+        SlotKey(String block, Integer floor, RoomType type) {
+            this.block = block;
+            this.floor = floor;
+            this.type = type;
+        }
+
+        boolean matches(RoomType type, String block, Integer floor) {
+            return (type == null || type == this.type)
+                && (block == null || block.equals(this.block))
+                && (floor == null || floor.equals(this.floor));
+        }
+
+        @Override
+        public int compareTo(SlotKey other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SlotKey)) return false;
+            SlotKey other = (SlotKey) o;
+            return block.equals(other.block) && floor.equals(other.floor) && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(block, floor, type);
+        }
+    }
+}
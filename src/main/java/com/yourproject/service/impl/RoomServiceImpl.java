@@ -4,10 +4,11 @@ import com.yourproject.dto.*;
 import com.yourproject.entity.*;
 import com.yourproject.exception.BadRequestException;
 import com.yourproject.exception.ResourceNotFoundException;
-import com.yourproject.repository.OccupancyRepository;
 import com.yourproject.repository.RoomRepository;
-import com.yourproject.repository.UserRepository;
 import com.yourproject.service.RoomService;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -18,32 +19,47 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import jakarta.persistence.criteria.Predicate;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class RoomServiceImpl implements RoomService {
 
+    // Non-null columns a room list can be paged by with a cursor
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("roomNumber", "floor", "block", "createdAt");
+
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
-    private final OccupancyRepository occupancyRepository;
     private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final BedAllocator bedAllocator;
+    private final BulkRoomAllocator bulkRoomAllocator;
+    private final KeysetPaginator keysetPaginator;
 
     @Autowired
     public RoomServiceImpl(RoomRepository roomRepository,
-                           UserRepository userRepository,
-                           OccupancyRepository occupancyRepository,
-                           ModelMapper modelMapper) {
+                           ModelMapper modelMapper,
+                           DtoMapper dtoMapper,
+                           RoomAvailabilityIndex roomAvailabilityIndex,
+                           BedAllocator bedAllocator,
+                           BulkRoomAllocator bulkRoomAllocator,
+                           KeysetPaginator keysetPaginator) {
         this.roomRepository = roomRepository;
-        this.userRepository = userRepository;
-        this.occupancyRepository = occupancyRepository;
         this.modelMapper = modelMapper;
+        this.dtoMapper = dtoMapper;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.bedAllocator = bedAllocator;
+        this.bulkRoomAllocator = bulkRoomAllocator;
+        this.keysetPaginator = keysetPaginator;
     }
 
-    private RoomDto convertToDto(Room room) {
-        RoomDto roomDto = modelMapper.map(room, RoomDto.class);
+    RoomDto convertToDto(Room room) {
+        RoomDto roomDto = dtoMapper.toRoomDto(room);
         roomDto.setCurrentOccupancyCount(
             (int) room.getOccupancies().stream().filter(Occupancy::isActive).count()
         );
@@ -51,22 +67,9 @@ public class RoomServiceImpl implements RoomService {
 
         List<OccupancyDto> occupancyDtos = room.getOccupancies().stream()
             .filter(Occupancy::isActive) // Or all, depending on what RoomDto needs
-            .map(occ -> {
-                OccupancyDto occDto = modelMapper.map(occ, OccupancyDto.class);
-                if (occ.getStudent() != null) {
-                    occDto.setStudent(modelMapper.map(occ.getStudent(), UserSlimDto.class));
-                }
-                return occDto;
-            })
+            .map(dtoMapper::toOccupancyDto)
             .collect(Collectors.toList());
         roomDto.setCurrentOccupancies(occupancyDtos);
-
-        // Map maintenance history if needed (assuming MaintenanceRecordDto exists)
-        if (room.getMaintenanceHistory() != null) {
-            roomDto.setMaintenanceHistory(room.getMaintenanceHistory().stream()
-                .map(mh -> modelMapper.map(mh, MaintenanceRecordDto.class))
-                .collect(Collectors.toList()));
-        }
         return roomDto;
     }
 
@@ -83,6 +86,7 @@ public class RoomServiceImpl implements RoomService {
         }
         room.setActive(true);
         Room savedRoom = roomRepository.save(room);
+        roomAvailabilityIndex.refreshAfterCommit(savedRoom.getId());
         return convertToDto(savedRoom);
     }
 
@@ -100,7 +104,18 @@ public class RoomServiceImpl implements RoomService {
 
     @Override
     public Page<RoomDto> getAllRooms(Pageable pageable, String blockFilter, Integer floorFilter, String typeFilter, String statusFilter) {
-        Specification<Room> spec = (root, query, cb) -> {
+        Specification<Room> spec = buildRoomSpecification(blockFilter, floorFilter, typeFilter, statusFilter);
+        return roomRepository.findAll(spec, pageable).map(this::convertToDto);
+    }
+
+    @Override
+    public KeysetPage<RoomDto> getAllRooms(KeysetPageRequest pageRequest, String blockFilter, Integer floorFilter, String typeFilter, String statusFilter) {
+        Specification<Room> spec = buildRoomSpecification(blockFilter, floorFilter, typeFilter, statusFilter);
+        return keysetPaginator.find(Room.class, spec, pageRequest, KEYSET_SORT_PROPERTIES, null).map(this::convertToDto);
+    }
+
+    Specification<Room> buildRoomSpecification(String blockFilter, Integer floorFilter, String typeFilter, String statusFilter) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.isTrue(root.get("isActive"))); // Always filter active rooms by default
 
@@ -124,39 +139,47 @@ public class RoomServiceImpl implements RoomService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-        return roomRepository.findAll(spec, pageable).map(this::convertToDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoomDto> getAvailableRooms(String typeFilter, String blockFilter) {
-        Specification<Room> spec = (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            predicates.add(cb.isTrue(root.get("isActive")));
-            predicates.add(cb.equal(root.get("status"), RoomStatus.AVAILABLE));
-            // This condition is tricky with JPA spec: $expr: { $lt: ['$currentOccupancy', '$capacity'] }
-            // For simplicity, we filter further in Java or use a @Query.
-            // Here, we'll rely on the transient isAvailable() or refine spec if possible.
-            // A direct way with spec: cb.lessThan(root.get("occupancies").size(), root.get("capacity")) - but this needs to count *active* occupancies.
-
-            if (StringUtils.hasText(typeFilter)) {
-                 try {
-                    RoomType type = RoomType.valueOf(typeFilter.toUpperCase());
-                    predicates.add(cb.equal(root.get("type"), type));
-                } catch (IllegalArgumentException e) { /* ignore invalid type */ }
-            }
-            if (StringUtils.hasText(blockFilter)) {
-                predicates.add(cb.equal(root.get("block"), blockFilter));
-            }
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
-
-        // Post-filter for true availability based on active occupancy count
-        return roomRepository.findAll(spec).stream()
-            .filter(room -> room.getOccupancies().stream().filter(Occupancy::isActive).count() < room.getCapacity())
+        // Candidates come from the availability index; only the matching rooms are loaded, with their occupants
+        List<Long> roomIds = roomAvailabilityIndex.findAvailable(parseRoomType(typeFilter),
+                StringUtils.hasText(blockFilter) ? blockFilter : null, null).stream()
+            .map(RoomAvailabilityIndex.RoomSlot::getId)
+            .collect(Collectors.toList());
+        if (roomIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Room> roomsById = roomRepository.findByIdIn(roomIds).stream()
+            .collect(Collectors.toMap(Room::getId, Function.identity()));
+        return roomIds.stream()
+            .map(roomsById::get)
+            .filter(Objects::nonNull)
             .map(this::convertToDto)
             .collect(Collectors.toList());
     }
 
+    @Override
+    public RoomSlimDto findFirstAvailableRoom(String typeFilter, String blockFilter, Integer floorFilter) {
+        RoomAvailabilityIndex.RoomSlot slot = roomAvailabilityIndex.findFirstAvailable(parseRoomType(typeFilter),
+                StringUtils.hasText(blockFilter) ? blockFilter : null, floorFilter)
+            .orElseThrow(() -> new ResourceNotFoundException("No room with a free bed matches the given filters."));
+        return new RoomSlimDto(slot.getId(), slot.getRoomNumber(), slot.getBlock(), slot.getFloor(), slot.getType());
+    }
+
+    private RoomType parseRoomType(String typeFilter) {
+        if (!StringUtils.hasText(typeFilter)) {
+            return null;
+        }
+        try {
+            return RoomType.valueOf(typeFilter.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null; // ignore invalid type, as the other room filters do
+        }
+    }
+
     @Override
     @Transactional
     public RoomDto updateRoom(Long roomId, RoomRequestDto roomRequestDto) {
@@ -187,6 +210,7 @@ public class RoomServiceImpl implements RoomService {
         // For now, direct status update is allowed.
 
         Room updatedRoom = roomRepository.save(room);
+        roomAvailabilityIndex.refreshAfterCommit(roomId);
         return convertToDto(updatedRoom);
     }
 
@@ -200,85 +224,23 @@ public class RoomServiceImpl implements RoomService {
         room.setActive(false);
         // Optionally change status to something like 'DECOMMISSIONED'
         roomRepository.save(room);
+        roomAvailabilityIndex.refreshAfterCommit(roomId);
     }
 
     @Override
-    @Transactional
     public OccupancyDto assignStudentToRoom(Long studentId, Long roomId, Integer bedNumber) {
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with ID: " + studentId));
-        Room room = findRoomEntityById(roomId);
-
-        if (student.getRole() != Role.STUDENT) {
-            throw new BadRequestException("Only students can be assigned to rooms.");
-        }
-
-        // Check if student already has an active occupancy
-        if (occupancyRepository.existsByStudentAndIsActiveTrue(student)) {
-             throw new BadRequestException("Student " + student.getFirstName() + " is already assigned to a room.");
-        }
-
-        long activeOccupantsInRoom = occupancyRepository.countByRoomAndIsActiveTrue(room);
-        if (activeOccupantsInRoom >= room.getCapacity()) {
-            throw new BadRequestException("Room " + room.getRoomNumber() + " is at full capacity.");
-        }
-        if (room.getStatus() != RoomStatus.AVAILABLE && room.getStatus() != RoomStatus.OCCUPIED) { // Allow assigning to partially occupied
-             throw new BadRequestException("Room " + room.getRoomNumber() + " is not available for assignment (current status: "+room.getStatus()+").");
-        }
-
-
-        Occupancy newOccupancy = new Occupancy();
-        newOccupancy.setStudent(student);
-        newOccupancy.setRoom(room);
-        newOccupancy.setAllocatedDate(LocalDate.now());
-        newOccupancy.setActive(true);
-        if (bedNumber != null) {
-            newOccupancy.setBedNumber(bedNumber);
-        } else {
-            // Basic auto-assignment of bed number (can be more complex)
-            newOccupancy.setBedNumber((int) activeOccupantsInRoom + 1);
-        }
-
-        Occupancy savedOccupancy = occupancyRepository.save(newOccupancy);
-
-        // Update room status if it becomes full
-        if (activeOccupantsInRoom + 1 >= room.getCapacity()) {
-            room.setStatus(RoomStatus.OCCUPIED);
-        } else {
-            room.setStatus(RoomStatus.OCCUPIED); // Or keep AVAILABLE if partially filled is considered available for more
-        }
-        roomRepository.save(room);
-
-        OccupancyDto occDto = modelMapper.map(savedOccupancy, OccupancyDto.class);
-        occDto.setStudent(modelMapper.map(student, UserSlimDto.class));
-        // occDto.setRoom(modelMapper.map(room, RoomSlimDto.class)); // Not usually needed here
-        return occDto;
+        // Runs its own transaction per attempt so concurrent allocations can be retried
+        return bedAllocator.assign(studentId, roomId, bedNumber);
     }
 
     @Override
-    @Transactional
     public void removeStudentFromRoom(Long studentId, Long roomId) {
-        User student = userRepository.findById(studentId)
-            .orElseThrow(() -> new ResourceNotFoundException("Student not found with ID: " + studentId));
-        Room room = findRoomEntityById(roomId); // To ensure room context, though occupancy might be enough
-
-        Occupancy currentOccupancy = occupancyRepository.findByStudentAndIsActiveTrue(student)
-            .orElseThrow(() -> new BadRequestException("Student is not actively assigned to any room."));
-
-        if (!currentOccupancy.getRoom().getId().equals(roomId)) {
-            throw new BadRequestException("Student is not assigned to the specified room.");
-        }
-
-        currentOccupancy.setActive(false);
-        currentOccupancy.setVacatedDate(LocalDate.now());
-        occupancyRepository.save(currentOccupancy);
+        bedAllocator.release(studentId, roomId);
+    }
 
-        // Update room status if it becomes available
-        long activeOccupantsInRoom = occupancyRepository.countByRoomAndIsActiveTrue(room);
-        if (activeOccupantsInRoom < room.getCapacity() && room.getStatus() == RoomStatus.OCCUPIED) {
-            room.setStatus(RoomStatus.AVAILABLE);
-            roomRepository.save(room);
-        }
+    @Override
+    public BulkRoomAllocationResultDto allocateRooms(BulkRoomAllocationRequestDto request) {
+        return bulkRoomAllocator.allocate(request);
     }
 
     // @Override
@@ -0,0 +1,184 @@
+package com.yourproject.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a small number of authenticated SMTP connections open and sends batches of messages over
+ * them. JavaMailSender opens and authenticates a fresh connection for every send call. Here a
+ * caller borrows an idle connection, or opens one if none are idle, up to the pool size. Idle
+ * connections are checked with isConnected() (a NOOP) before reuse. A connection that errors is
+ * closed rather than returned to the pool.
+ *
+ * Host, port, protocol and credentials come from the spring.mail.* settings, so a local SMTP
+ * stand-in (e.g. GreenMail) can be used by pointing those at it.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Transport> idle;
+    private final Semaphore permits;
+    private final long borrowTimeoutMs;
+
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public SmtpTransportPool(JavaMailSender mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${email.smtp-pool.size:3}") int poolSize,
+                             @Value("${email.smtp-pool.borrow-timeout-ms:30000}") long borrowTimeoutMs) {
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            throw new IllegalStateException("SMTP pooling requires a JavaMailSenderImpl, found " + mailSender.getClass().getName());
+        }
+        this.mailSender = (JavaMailSenderImpl) mailSender;
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.permits = new Semaphore(poolSize, true);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.sendTimer = Timer.builder("email.smtp.send.duration")
+            .description("Time taken to send one batch of messages over a pooled SMTP connection")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder("email.smtp.messages")
+            .description("Messages handed to SMTP")
+            .tag("result", "sent")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("email.smtp.messages")
+            .description("Messages handed to SMTP")
+            .tag("result", "failed")
+            .register(meterRegistry);
+        Gauge.builder("email.smtp.pool.active", permits, p -> poolSize - p.availablePermits())
+            .description("SMTP connections currently in use")
+            .register(meterRegistry);
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Sends the messages in order over one pooled connection.
+     * Returns the messages that failed, with the cause; an empty map means all were sent.
+     */
+    public Map<MimeMessage, Exception> send(List<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        Timer.Sample sample = Timer.start();
+        Transport transport;
+        try {
+            transport = borrow();
+        } catch (MessagingException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            messages.forEach(message -> failures.put(message, e));
+            failedCounter.increment(messages.size());
+            return failures;
+        }
+        boolean healthy = true;
+        try {
+            for (MimeMessage message : messages) {
+                if (!healthy) {
+                    failures.put(message, new MessagingException("SMTP connection lost earlier in the batch"));
+                    continue;
+                }
+                try {
+                    message.saveChanges();
+                    transport.sendMessage(message, message.getAllRecipients());
+                } catch (MessagingException e) {
+                    failures.put(message, e);
+                    // A rejected recipient leaves the session usable; a dropped connection does not
+                    healthy = transport.isConnected();
+                }
+            }
+        } finally {
+            release(transport, healthy);
+            sample.stop(sendTimer);
+        }
+        sentCounter.increment(messages.size() - failures.size());
+        failedCounter.increment(failures.size());
+        return failures;
+    }
+
+    private Transport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new MessagingException("Timed out waiting for an SMTP connection");
+        }
+        try {
+            Transport transport;
+            while ((transport = idle.poll()) != null) {
+                if (transport.isConnected()) {
+                    return transport;
+                }
+                closeQuietly(transport);
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(Transport transport, boolean healthy) {
+        if (!healthy || !idle.offer(transport)) {
+            closeQuietly(transport);
+        }
+        permits.release();
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        return transport;
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+}
@@ -12,7 +12,11 @@ import com.yourproject.repository.UserRepository;
 // import com.yourproject.repository.RoomRepository; // If handling room assignment here
 // import com.yourproject.repository.OccupancyRepository; // If handling room assignment here
 import com.yourproject.service.FileUploadService; // Added
+import com.yourproject.service.IdGeneratorService;
 import com.yourproject.service.UserService;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.util.KeysetPage;
+import com.yourproject.util.KeysetPageRequest;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.multipart.MultipartFile; // Added
@@ -24,17 +28,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils; // For checking empty strings
 
-import java.time.LocalDateTime; // For ID generation example
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    // Non-null columns a user list can be paged by with a cursor
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("firstName", "lastName", "email", "createdAt");
+
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder; // Needed if admin creates users with passwords
     private final FileUploadService fileUploadService; // Added
+    private final DtoMapper dtoMapper;
+    private final UserSnapshotCache userSnapshotCache;
+    private final KeysetPaginator keysetPaginator;
+    private final IdGeneratorService idGeneratorService;
 
     // @Autowired
     // private RoomRepository roomRepository; // If assign/remove room logic is here
@@ -46,20 +57,26 @@ public class UserServiceImpl implements UserService {
     public UserServiceImpl(UserRepository userRepository,
                            ModelMapper modelMapper,
                            PasswordEncoder passwordEncoder,
-                           FileUploadService fileUploadService) { // Added
+                           FileUploadService fileUploadService,
+                           DtoMapper dtoMapper,
+                           UserSnapshotCache userSnapshotCache, // Added
+                           KeysetPaginator keysetPaginator,
+                           IdGeneratorService idGeneratorService) {
         this.userRepository = userRepository;
         this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
         this.fileUploadService = fileUploadService; // Added
+        this.dtoMapper = dtoMapper;
+        this.userSnapshotCache = userSnapshotCache;
+        this.keysetPaginator = keysetPaginator;
+        this.idGeneratorService = idGeneratorService;
     }
 
-    private UserDto convertToDto(User user) {
-        UserDto userDto = modelMapper.map(user, UserDto.class);
-        userDto.setFullName(user.getFirstName() + " " + user.getLastName());
+    UserDto convertToDto(User user) {
+        UserDto userDto = dtoMapper.toUserDto(user);
         user.getCurrentOccupancy().ifPresent(occupancy -> {
             if (occupancy.getRoom() != null) {
-                RoomSlimDto roomDto = modelMapper.map(occupancy.getRoom(), RoomSlimDto.class);
-                userDto.setCurrentRoom(roomDto);
+                userDto.setCurrentRoom(dtoMapper.toRoomSlimDto(occupancy.getRoom()));
             }
         });
         return userDto;
@@ -133,11 +150,11 @@ public class UserServiceImpl implements UserService {
 
         // ID Generation
         if (user.getRole() == Role.STUDENT) {
-            user.setStudentId("STU" + LocalDateTime.now().getYear() + (10000 + (int)(Math.random() * 90000)));
+            user.setStudentId(idGeneratorService.nextStudentId());
              if (registrationRequest.getCourse() != null) user.setCourse(registrationRequest.getCourse());
              if (registrationRequest.getYear() != null) user.setYear(registrationRequest.getYear());
         } else if (user.getRole() == Role.ADMIN || user.getRole() == Role.WARDEN) {
-            user.setEmployeeId("EMP" + (10000 + (int)(Math.random() * 90000)));
+            user.setEmployeeId(idGeneratorService.nextEmployeeId());
             user.setJoinDate(java.time.LocalDate.now());
             if (registrationRequest.getDepartment() != null) user.setDepartment(registrationRequest.getDepartment());
         }
@@ -185,6 +202,7 @@ public class UserServiceImpl implements UserService {
         // }
         user.setActive(false);
         userRepository.save(user);
+        userSnapshotCache.invalidate(userId, UserSnapshotCache.InvalidationReason.STATUS_CHANGE);
     }
 
     @Override
@@ -196,6 +214,7 @@ public class UserServiceImpl implements UserService {
         }
         user.setActive(true);
         userRepository.save(user);
+        userSnapshotCache.invalidate(userId, UserSnapshotCache.InvalidationReason.STATUS_CHANGE);
     }
 
 
@@ -214,6 +233,16 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Page<UserDto> getAllUsers(Pageable pageable, String roleFilter, String searchTerm) {
+        return userRepository.findAll(buildUserSpecification(roleFilter, searchTerm), pageable).map(this::convertToDto);
+    }
+
+    @Override
+    public KeysetPage<UserDto> getAllUsers(KeysetPageRequest pageRequest, String roleFilter, String searchTerm) {
+        return keysetPaginator.find(User.class, buildUserSpecification(roleFilter, searchTerm), pageRequest,
+                KEYSET_SORT_PROPERTIES, null).map(this::convertToDto);
+    }
+
+    Specification<User> buildUserSpecification(String roleFilter, String searchTerm) {
         Specification<User> spec = Specification.where(null);
 
         if (StringUtils.hasText(roleFilter)) {
@@ -237,8 +266,7 @@ public class UserServiceImpl implements UserService {
                 );
             spec = spec.and(searchSpec);
         }
-
-        return userRepository.findAll(spec, pageable).map(this::convertToDto);
+        return spec;
     }
 
     @Override
@@ -260,6 +288,11 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    @Override
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     @Override
     @Transactional
     public UserDto updateUserProfileImage(String email, MultipartFile profileImageFile) {
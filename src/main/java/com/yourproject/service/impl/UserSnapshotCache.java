@@ -0,0 +1,138 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of the user fields that request authentication checks (email, role, active),
+ * keyed by user ID, so the JWT filter does not query the users table on every request.
+ * Entries expire after ttl-seconds and the cache holds at most max-size users.
+ * An entry is dropped immediately and again after commit when a user's status, role or password
+ * changes. Every drop advances an invalidation generation, and a snapshot is only cached if no
+ * drop happened while it was being loaded, so a request that read the pre-commit state cannot
+ * cache it after the commit. A drop elsewhere during a load only costs that load its caching.
+ */
+@Component
+public class UserSnapshotCache {
+
+    public enum InvalidationReason {
+        STATUS_CHANGE,
+        ROLE_CHANGE,
+        PASSWORD_CHANGE
+    }
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Map<InvalidationReason, Counter> invalidationCounters = new EnumMap<>(InvalidationReason.class);
+
+    @Autowired
+    public UserSnapshotCache(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${security.user-cache.ttl-seconds:60}") long ttlSeconds,
+                             @Value("${security.user-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+        this.hitCounter = Counter.builder("security.user-cache.requests")
+            .description("User snapshot lookups made by request authentication")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("security.user-cache.requests")
+            .description("User snapshot lookups made by request authentication")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        for (InvalidationReason reason : InvalidationReason.values()) {
+            invalidationCounters.put(reason, Counter.builder("security.user-cache.invalidations")
+                .description("User snapshots dropped because the user changed")
+                .tag("reason", reason.name().toLowerCase())
+                .register(meterRegistry));
+        }
+        Gauge.builder("security.user-cache.size", entries, Map::size)
+            .description("User snapshots currently cached")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the user's snapshot, loading it on a miss; null if the user does not exist.
+     */
+    public UserRepository.AuthSnapshot get(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAtNanos < ttlNanos) {
+            hitCounter.increment();
+            return entry.snapshot;
+        }
+        missCounter.increment();
+        long generation = invalidations.get();
+        UserRepository.AuthSnapshot snapshot = userRepository.findAuthSnapshotById(userId).orElse(null);
+        if (snapshot == null) {
+            entries.remove(userId);
+            return null;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        // Checked under the key's lock, which drop() also takes, so a drop cannot slip in between
+        entries.compute(userId, (id, current) -> invalidations.get() == generation ? new Entry(snapshot, now) : current);
+        return snapshot;
+    }
+
+    public void invalidate(Long userId, InvalidationReason reason) {
+        drop(userId);
+        invalidationCounters.get(reason).increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(userId);
+                }
+            });
+        }
+    }
+
+    private void drop(Long userId) {
+        entries.compute(userId, (id, current) -> {
+            invalidations.incrementAndGet();
+            return null;
+        });
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.loadedAtNanos >= ttlNanos);
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final UserRepository.AuthSnapshot snapshot;
+        private final long loadedAtNanos;
+
+        Entry(UserRepository.AuthSnapshot snapshot, long loadedAtNanos) {
+            this.snapshot = snapshot;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.yourproject.util;
 
 import com.yourproject.entity.Role; // Assuming Role enum is in this package
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -19,6 +22,10 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    public static final String FAMILY_ID_CLAIM = "fid";
+
     @Value("${jwt.secret:defaultSecretKeyWhichIsVeryLongAndSecureAndAtLeast256Bits}") // Provide a strong default or ensure it's in properties
     private String secretKeyString;
 
@@ -28,7 +35,18 @@ public class JwtUtil {
     @Value("${jwt.refresh.token.expiration.ms:604800000}") // 7 days
     private long refreshTokenExpirationMs;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
     private Key secretKey;
+    private JwtParser parser; // Immutable and thread-safe; built once for the key
+    private VerifiedTokenCache verifiedTokens;
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @PostConstruct
     public void init() {
@@ -40,6 +58,24 @@ public class JwtUtil {
             this.secretKeyString = "defaultSecretKeyWhichIsVeryLongAndSecureAndAtLeast256Bits";
         }
         this.secretKey = Keys.hmacShaKeyFor(secretKeyString.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxSize);
+        if (meterRegistry != null) {
+            verifiedTokens.bindTo(meterRegistry, "jpa");
+        }
+    }
+
+    /**
+     * Verifies the token and returns its claims. Tokens verified before are answered from the
+     * cache until they expire; otherwise this throws the same JwtExceptions as parsing would.
+     * The returned claims are shared between requests and read-only.
+     */
+    public Claims parseClaims(String token) {
+        Claims claims = verifiedTokens.get(token);
+        if (claims == null) {
+            claims = verifiedTokens.put(token, parser.parseClaimsJws(token).getBody());
+        }
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -56,11 +92,11 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+        return parseClaims(token);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public String generateAccessToken(String username, Long userId, Role role) {
@@ -70,12 +106,23 @@ public class JwtUtil {
         return createToken(claims, username, accessTokenExpirationMs);
     }
 
-    public String generateRefreshToken(String username, Long userId) {
+    public String generateRefreshToken(String username, Long userId, String familyId, String tokenId) {
         Map<String, Object> claims = new HashMap<>();
          claims.put("userId", userId); // Include userId for refresh token validation against user
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        claims.put(FAMILY_ID_CLAIM, familyId);
+        claims.put(Claims.ID, tokenId);
         return createToken(claims, username, refreshTokenExpirationMs);
     }
 
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
+    public long getRefreshTokenExpirationMs() {
+        return refreshTokenExpirationMs;
+    }
+
     private String createToken(Map<String, Object> claims, String subject, long expirationTime) {
         return Jwts.builder()
                 .setClaims(claims)
@@ -87,14 +134,18 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(parseClaims(token), userDetails);
+    }
+
+    // For callers that already hold the token's parsed claims
+    public Boolean validateClaims(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            return !isTokenExpired(token);
+            return !isTokenExpired(parseClaims(token));
         } catch (Exception e) { // Covers various JWT exceptions
             return false;
         }
@@ -0,0 +1,54 @@
+package com.yourproject.util;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A cursor-based page request: the page after the row identified by cursor (the first page when
+ * cursor is empty), ordered by a single sort property with the entity ID as tie-breaker.
+ * The total count is only computed when includeTotal is set.
+ */
+public class KeysetPageRequest {
+
+    private final String cursor;
+    private final int size;
+    private final Sort.Order order;
+    private final boolean includeTotal;
+
+    public KeysetPageRequest(String cursor, int size, Sort.Order order, boolean includeTotal) {
+        this.cursor = cursor;
+        this.size = size;
+        this.order = order;
+        this.includeTotal = includeTotal;
+    }
+
+    /**
+     * Takes size and sort from the pageable (page number is ignored); unsorted means by ID.
+     */
+    public static KeysetPageRequest of(String cursor, Pageable pageable, boolean includeTotal) {
+        Sort.Order order = pageable.getSort().isSorted()
+            ? pageable.getSort().iterator().next()
+            : Sort.Order.asc("id");
+        return new KeysetPageRequest(cursor, pageable.getPageSize(), order, includeTotal);
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isFirstPage() {
+        return cursor == null || cursor.isEmpty();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    public boolean isIncludeTotal() {
+        return includeTotal;
+    }
+}
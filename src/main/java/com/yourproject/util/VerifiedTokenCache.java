@@ -0,0 +1,232 @@
+package com.yourproject.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Claims of tokens whose signature has already been verified, keyed by the SHA-256 digest of the
+ * token so raw bearer tokens are not held in memory. Entries are only returned before the token's
+ * own expiration. The cache holds at most maxSize entries: expired entries are purged when it is
+ * full, and an arbitrary entry is evicted if that frees nothing.
+ *
+ * Cached claims are shared by every request presenting the same token, so they are stored and
+ * returned as a read-only copy. The Mongo application keeps its own copy in com.hostel.security.
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Claims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.claims;
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the verified claims until the token expires and returns the read-only copy that was
+     * cached, so callers see the same kind of claims on a miss as on a later hit.
+     */
+    public Claims put(String token, Claims claims) {
+        Claims readOnly = new ReadOnlyClaims(claims);
+        Date expiration = readOnly.getExpiration();
+        if (maxSize <= 0 || expiration == null) {
+            return readOnly;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(digest(token), new Entry(readOnly, expiration.getTime()));
+        return readOnly;
+    }
+
+    public void bindTo(MeterRegistry meterRegistry, String store) {
+        FunctionCounter.builder("jwt.verified-cache.requests", hits, LongAdder::sum)
+            .description("Token verifications answered from the verified-token cache")
+            .tags("result", "hit", "store", store)
+            .register(meterRegistry);
+        FunctionCounter.builder("jwt.verified-cache.requests", misses, LongAdder::sum)
+            .description("Token verifications answered from the verified-token cache")
+            .tags("result", "miss", "store", store)
+            .register(meterRegistry);
+        Gauge.builder("jwt.verified-cache.size", entries, Map::size)
+            .description("Verified tokens currently cached")
+            .tag("store", store)
+            .register(meterRegistry);
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+        Iterator<ByteBuffer> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Claims claims;
+        private final long expiresAtMillis;
+
+        Entry(Claims claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    /**
+     * Claims backed by a private copy of the verified ones; every mutator throws. The copy is
+     * shallow, which is enough for the string and number claims these tokens carry.
+     */
+    static final class ReadOnlyClaims extends AbstractMap<String, Object> implements Claims {
+
+        private final Claims claims;
+
+        ReadOnlyClaims(Claims source) {
+            this.claims = Jwts.claims(new LinkedHashMap<>(source));
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return Collections.unmodifiableMap(claims).entrySet();
+        }
+
+        @Override
+        public Object get(Object key) {
+            return claims.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return claims.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return claims.size();
+        }
+
+        // Dates are rebuilt from the stored values on every call, so they can be handed out
+        @Override
+        public String getIssuer() {
+            return claims.getIssuer();
+        }
+
+        @Override
+        public String getSubject() {
+            return claims.getSubject();
+        }
+
+        @Override
+        public String getAudience() {
+            return claims.getAudience();
+        }
+
+        @Override
+        public Date getExpiration() {
+            return claims.getExpiration();
+        }
+
+        @Override
+        public Date getNotBefore() {
+            return claims.getNotBefore();
+        }
+
+        @Override
+        public Date getIssuedAt() {
+            return claims.getIssuedAt();
+        }
+
+        @Override
+        public String getId() {
+            return claims.getId();
+        }
+
+        @Override
+        public <T> T get(String claimName, Class<T> requiredType) {
+            return claims.get(claimName, requiredType);
+        }
+
+        @Override
+        public Claims setIssuer(String iss) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setSubject(String sub) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setAudience(String aud) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setExpiration(Date exp) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setNotBefore(Date nbf) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setIssuedAt(Date iat) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setId(String jti) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Verified token claims are read-only");
+        }
+    }
+}
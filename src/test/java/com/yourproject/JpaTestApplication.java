@@ -0,0 +1,17 @@
+package com.yourproject;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Boot configuration the JPA tests under com.yourproject resolve to; the Mongo side is left out.
+ */
+@SpringBootApplication(exclude = {MongoAutoConfiguration.class, MongoDataAutoConfiguration.class, MongoRepositoriesAutoConfiguration.class})
+@EntityScan("com.yourproject.entity")
+@EnableJpaRepositories("com.yourproject.repository")
+public class JpaTestApplication {
+}
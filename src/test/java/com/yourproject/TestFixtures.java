@@ -0,0 +1,112 @@
+package com.yourproject;
+
+import com.yourproject.entity.*;
+import com.yourproject.entity.embeddable.ParentalApproval;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Minimal valid entities for seeding the test database.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User student(long index) {
+        User user = new User();
+        user.setFirstName("Student");
+        user.setLastName("No" + index);
+        user.setEmail("student" + index + "@test.local");
+        user.setPassword("$2a$10$testtesttesttesttesttesttesttesttesttesttesttesttestte");
+        user.setRole(Role.STUDENT);
+        user.setPhone("9000000000");
+        user.setDateOfBirth(LocalDate.of(2002, 1, 1));
+        user.setGender(Gender.OTHER);
+        user.setStudentId("STU" + index);
+        user.setCourse("B.Tech");
+        user.setYear(2);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    public static User warden(long index) {
+        User user = student(index);
+        user.setFirstName("Warden");
+        user.setEmail("warden" + index + "@test.local");
+        user.setRole(Role.WARDEN);
+        user.setStudentId(null);
+        user.setCourse(null);
+        user.setYear(null);
+        user.setEmployeeId("EMP" + index);
+        user.setDepartment("Hostel");
+        return user;
+    }
+
+    public static Room room(long index, int capacity) {
+        Room room = new Room();
+        room.setRoomNumber("R" + index);
+        room.setFloor(1);
+        room.setBlock("A");
+        room.setType(RoomType.DOUBLE);
+        room.setCapacity(capacity);
+        room.setMonthlyRent(new BigDecimal("5000.00"));
+        room.setSecurityDeposit(new BigDecimal("10000.00"));
+        return room;
+    }
+
+    public static Leave leave(User student, String leaveIdString) {
+        Leave leave = new Leave();
+        leave.setLeaveIdString(leaveIdString);
+        leave.setStudent(student);
+        leave.setLeaveType(LeaveType.HOME);
+        leave.setStartDate(LocalDate.now().plusDays(1));
+        leave.setEndDate(LocalDate.now().plusDays(3));
+        leave.setReason("Going home for the weekend");
+        leave.setStatus(LeaveStatus.PENDING);
+        leave.setParentalApprovalInfo(new ParentalApproval());
+        leave.setCreatedAt(LocalDateTime.now());
+        leave.setUpdatedAt(LocalDateTime.now());
+        return leave;
+    }
+
+    public static Fee fee(User student, Room room, User createdBy) {
+        Fee fee = new Fee();
+        fee.setStudent(student);
+        fee.setRoom(room);
+        fee.setCreatedBy(createdBy);
+        fee.setUpdatedBy(createdBy);
+        fee.setFeeType(FeeType.ROOM_RENT);
+        fee.setAmount(new BigDecimal("5000.00"));
+        fee.setFinalAmount(new BigDecimal("5000.00"));
+        fee.setBalanceAmount(new BigDecimal("5000.00"));
+        fee.setDueDate(LocalDate.now().plusDays(10));
+        fee.setMonth(LocalDate.now().getMonthValue());
+        fee.setYear(LocalDate.now().getYear());
+        return fee;
+    }
+
+    public static Complaint complaint(User reportedBy, Room room, String complaintIdString) {
+        Complaint complaint = new Complaint();
+        complaint.setComplaintIdString(complaintIdString);
+        complaint.setTitle("Leaking tap");
+        complaint.setDescription("The tap in the bathroom keeps leaking");
+        complaint.setCategory(ComplaintCategory.PLUMBING);
+        complaint.setReportedBy(reportedBy);
+        complaint.setRoom(room);
+        return complaint;
+    }
+
+    public static Announcement announcement(User createdBy) {
+        Announcement announcement = new Announcement();
+        announcement.setTitle("Water supply");
+        announcement.setContent("Water supply will be off on Sunday morning");
+        announcement.setCreatedBy(createdBy);
+        announcement.setStatus(AnnouncementStatus.PUBLISHED);
+        announcement.setPublishDate(LocalDateTime.now());
+        return announcement;
+    }
+}
@@ -0,0 +1,163 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.JpaTest;
+import com.yourproject.TestFixtures;
+import com.yourproject.config.AppConfig;
+import com.yourproject.entity.Announcement;
+import com.yourproject.entity.User;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.repository.AnnouncementRepository;
+import com.yourproject.repository.CommentRepository;
+import com.yourproject.repository.LikeRepository;
+import com.yourproject.repository.ReadReceiptRepository;
+import com.yourproject.repository.UserRepository;
+import com.yourproject.service.AnnouncementService;
+import com.yourproject.service.EmailService;
+import com.yourproject.service.FileUploadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JpaTest
+// Every engagement write commits on its own and is raced between threads
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        // No room in the buffer, so each view records its read synchronously
+        "announcement.read-receipts.buffer-capacity=0",
+        // Fewer connections than threads: a call that needs a second connection while holding one stalls
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+@Import({AnnouncementServiceImpl.class, ReadReceiptBuffer.class, DtoMapper.class, AppConfig.class})
+class AnnouncementEngagementConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private FileUploadService fileUploadService;
+
+    @MockBean
+    private AnnouncementEmailDispatcher announcementEmailDispatcher;
+
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReadReceiptRepository readReceiptRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> students = new ArrayList<>();
+    private Long announcementId;
+
+    @BeforeEach
+    void seed() {
+        User warden = userRepository.save(TestFixtures.warden(1));
+        for (int i = 0; i < THREADS; i++) {
+            students.add(userRepository.save(TestFixtures.student(i)));
+        }
+        announcementId = announcementRepository.save(TestFixtures.announcement(warden)).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        likeRepository.deleteAll();
+        commentRepository.deleteAll();
+        readReceiptRepository.deleteAll();
+        announcementRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentLikesByDifferentStudentsAreAllCounted() throws Exception {
+        runConcurrently(THREADS, i -> announcementService.toggleLike(announcementId, students.get(i)));
+
+        Announcement announcement = announcementRepository.findById(announcementId).orElseThrow();
+        assertThat(announcement.getLikeCount()).isEqualTo(THREADS);
+        assertThat(likeRepository.count()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void concurrentTogglesBySameStudentKeepCounterInStepWithRows() throws Exception {
+        User student = students.get(0);
+        runConcurrently(THREADS * 4, i -> announcementService.toggleLike(announcementId, student));
+
+        Announcement announcement = announcementRepository.findById(announcementId).orElseThrow();
+        assertThat((long) announcement.getLikeCount()).isEqualTo(likeRepository.count());
+    }
+
+    @Test
+    void concurrentCommentsAreAllCounted() throws Exception {
+        runConcurrently(THREADS * 4, i -> announcementService.addComment(announcementId, "Comment " + i, students.get(i % THREADS)));
+
+        Announcement announcement = announcementRepository.findById(announcementId).orElseThrow();
+        assertThat(announcement.getCommentCount()).isEqualTo(THREADS * 4);
+    }
+
+    @Test
+    void concurrentViewsCountOneReadPerStudentWithoutExhaustingThePool() throws Exception {
+        // Every student views the announcement four times at once
+        runConcurrently(THREADS * 4, i -> announcementService.getAnnouncementById(announcementId, students.get(i % THREADS)));
+
+        Announcement announcement = announcementRepository.findById(announcementId).orElseThrow();
+        assertThat(announcement.getReadCount()).isEqualTo(THREADS);
+        assertThat(announcement.getViewCount()).isEqualTo(THREADS);
+        assertThat(readReceiptRepository.count()).isEqualTo(THREADS);
+    }
+
+    private void runConcurrently(int calls, EngagementCall call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                int index = i;
+                Callable<Object> task = () -> {
+                    start.await();
+                    return call.run(index);
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface EngagementCall {
+        Object run(int index);
+    }
+}
@@ -0,0 +1,123 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.JpaTest;
+import com.yourproject.TestFixtures;
+import com.yourproject.entity.Occupancy;
+import com.yourproject.entity.Room;
+import com.yourproject.entity.User;
+import com.yourproject.exception.BadRequestException;
+import com.yourproject.exception.ConflictException;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.repository.OccupancyRepository;
+import com.yourproject.repository.RoomRepository;
+import com.yourproject.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JpaTest
+// Allocations commit in their own transactions and race between threads
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BedAllocatorConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int STUDENTS = 32;
+    private static final int CAPACITY = 4;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        occupancyRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentAssignmentsToOneRoomFillExactlyItsCapacity() throws Exception {
+        Room room = roomRepository.save(TestFixtures.room(1, CAPACITY));
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(userRepository.save(TestFixtures.student(i)));
+        }
+        // Two allocators stand in for two application instances: their room locks are not shared,
+        // so only the version check and the bed constraint keep the room from being overbooked
+        BedAllocator instance = newAllocator();
+        BedAllocator otherInstance = newAllocator();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < STUDENTS; i++) {
+                BedAllocator allocator = i % 2 == 0 ? instance : otherInstance;
+                Long studentId = students.get(i).getId();
+                Callable<Boolean> task = () -> {
+                    start.await();
+                    return assignUntilDecided(allocator, studentId, room.getId());
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            int assigned = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    assigned++;
+                }
+            }
+            assertThat(assigned).isEqualTo(CAPACITY);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Occupancy> occupants = occupancyRepository.findByRoomAndIsActiveTrue(room);
+        assertThat(occupants).hasSize(CAPACITY);
+        assertThat(occupants).extracting(Occupancy::getBedNumber).containsExactlyInAnyOrder(1, 2, 3, 4);
+    }
+
+    // Retries a 409 like a client would; true once assigned, false once the room is full
+    private boolean assignUntilDecided(BedAllocator allocator, Long studentId, Long roomId) {
+        while (true) {
+            try {
+                allocator.assign(studentId, roomId, null);
+                return true;
+            } catch (ConflictException e) {
+                // Still contended after the allocator's own retries
+            } catch (BadRequestException e) {
+                return false;
+            }
+        }
+    }
+
+    private BedAllocator newAllocator() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(roomRepository, new SimpleMeterRegistry());
+        return new BedAllocator(roomRepository, userRepository, occupancyRepository, new DtoMapper(), index,
+            transactionManager, new SimpleMeterRegistry(), 64, 10, 5);
+    }
+}
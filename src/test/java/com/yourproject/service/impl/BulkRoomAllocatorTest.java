@@ -0,0 +1,184 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.JpaTest;
+import com.yourproject.TestFixtures;
+import com.yourproject.dto.BulkRoomAllocationRequestDto;
+import com.yourproject.dto.BulkRoomAllocationResultDto;
+import com.yourproject.dto.RoomAllocationPreferenceDto;
+import com.yourproject.dto.RoomAllocationResultDto;
+import com.yourproject.entity.Gender;
+import com.yourproject.entity.Occupancy;
+import com.yourproject.entity.Room;
+import com.yourproject.entity.RoomStatus;
+import com.yourproject.entity.RoomType;
+import com.yourproject.entity.User;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.repository.OccupancyRepository;
+import com.yourproject.repository.RoomRepository;
+import com.yourproject.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+@JpaTest
+// Chunks are saved in their own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkRoomAllocatorTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Room room1;
+    private Room room2;
+    private Room room3;
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+    private BedAllocator bedAllocator;
+
+    @BeforeEach
+    void setUp() {
+        room1 = roomRepository.save(TestFixtures.room(1, 2));
+        room2 = roomRepository.save(TestFixtures.room(2, 2));
+        room3 = roomRepository.save(TestFixtures.room(3, 2));
+        roomAvailabilityIndex = new RoomAvailabilityIndex(roomRepository, new SimpleMeterRegistry());
+        bedAllocator = new BedAllocator(roomRepository, userRepository, occupancyRepository, new DtoMapper(),
+            roomAvailabilityIndex, transactionManager, new SimpleMeterRegistry(), 64, 5, 5);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        occupancyRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void planGroupsCohortsAndNeverMixesGenders() {
+        User maleCse = student(0, Gender.MALE, "CSE", 1);
+        User femaleCse = student(1, Gender.FEMALE, "CSE", 1);
+        User otherMaleCse = student(2, Gender.MALE, "CSE", 1);
+        User maleEce = student(3, Gender.MALE, "ECE", 2);
+
+        BulkRoomAllocationResultDto report = newAllocator(bedAllocator)
+            .allocate(request(true, maleCse, femaleCse, otherMaleCse, maleEce));
+
+        // Intake order is gender, course, year: both male CSE students share room 1, the ECE student
+        // opens room 2, and the female student gets the empty room 3 rather than a male room
+        assertPlaced(report, maleCse, room1, 1);
+        assertPlaced(report, otherMaleCse, room1, 2);
+        assertPlaced(report, maleEce, room2, 1);
+        assertPlaced(report, femaleCse, room3, 1);
+        assertThat(report.getAllocated()).isEqualTo(4);
+        assertThat(occupancyRepository.count()).isZero();
+    }
+
+    @Test
+    void studentWithoutAMatchingRoomIsReportedAsFailed() {
+        User student = student(0, Gender.MALE, "CSE", 1);
+        BulkRoomAllocationRequestDto request = request(true, student);
+        request.getStudents().get(0).setRoomType(RoomType.SINGLE);
+
+        BulkRoomAllocationResultDto report = newAllocator(bedAllocator).allocate(request);
+
+        RoomAllocationResultDto result = resultFor(report, student);
+        assertThat(result.isAllocated()).isFalse();
+        assertThat(result.getReason()).isEqualTo("No free bed matches the student's preferences.");
+    }
+
+    @Test
+    void savedPlanInsertsOccupanciesAndClaimsTheRooms() {
+        User first = student(0, Gender.MALE, "CSE", 1);
+        User second = student(1, Gender.MALE, "CSE", 1);
+        long plannedVersion = roomRepository.findById(room1.getId()).orElseThrow().getVersion();
+
+        BulkRoomAllocationResultDto report = newAllocator(bedAllocator).allocate(request(false, first, second));
+
+        assertThat(report.getAllocated()).isEqualTo(2);
+        List<Occupancy> occupants = occupancyRepository.findByRoomAndIsActiveTrue(room1);
+        assertThat(occupants).extracting(Occupancy::getBedNumber).containsExactlyInAnyOrder(1, 2);
+        Room claimed = roomRepository.findById(room1.getId()).orElseThrow();
+        assertThat(claimed.getVersion()).isEqualTo(plannedVersion + 1);
+        assertThat(claimed.getStatus()).isEqualTo(RoomStatus.OCCUPIED);
+    }
+
+    @Test
+    void roomChangedAfterPlanningFailsOnlyItsStudents() {
+        User maleCse = student(0, Gender.MALE, "CSE", 1);
+        User maleEce = student(1, Gender.MALE, "ECE", 2);
+        // A single assignment elsewhere moves room 1 on between planning and saving
+        BedAllocator racingAllocator = spy(bedAllocator);
+        doAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE rooms SET version = version + 1 WHERE id = ?", room1.getId());
+            return invocation.callRealMethod();
+        }).when(racingAllocator).withBlocksLocked(any(), any());
+
+        BulkRoomAllocationResultDto report = newAllocator(racingAllocator).allocate(request(false, maleCse, maleEce));
+
+        RoomAllocationResultDto conflicted = resultFor(report, maleCse);
+        assertThat(conflicted.isAllocated()).isFalse();
+        assertThat(conflicted.getReason()).isEqualTo("Room R1 changed during allocation. Please retry.");
+        assertPlaced(report, maleEce, room2, 1);
+        assertThat(occupancyRepository.findByRoomAndIsActiveTrue(room1)).isEmpty();
+        assertThat(occupancyRepository.findByRoomAndIsActiveTrue(room2)).hasSize(1);
+    }
+
+    private BulkRoomAllocator newAllocator(BedAllocator allocator) {
+        return new BulkRoomAllocator(userRepository, roomRepository, occupancyRepository, allocator, roomAvailabilityIndex,
+            jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 500, 5000);
+    }
+
+    private User student(long index, Gender gender, String course, int year) {
+        User student = TestFixtures.student(index);
+        student.setGender(gender);
+        student.setCourse(course);
+        student.setYear(year);
+        return userRepository.save(student);
+    }
+
+    private static BulkRoomAllocationRequestDto request(boolean dryRun, User... students) {
+        List<RoomAllocationPreferenceDto> preferences = new ArrayList<>();
+        for (User student : students) {
+            preferences.add(new RoomAllocationPreferenceDto(student.getId(), null, null, null));
+        }
+        return new BulkRoomAllocationRequestDto(preferences, true, dryRun);
+    }
+
+    private static void assertPlaced(BulkRoomAllocationResultDto report, User student, Room room, int bed) {
+        RoomAllocationResultDto result = resultFor(report, student);
+        assertThat(result.isAllocated()).isTrue();
+        assertThat(result.getRoomId()).isEqualTo(room.getId());
+        assertThat(result.getBedNumber()).isEqualTo(bed);
+    }
+
+    private static RoomAllocationResultDto resultFor(BulkRoomAllocationResultDto report, User student) {
+        return report.getResults().stream()
+            .filter(result -> result.getStudentId().equals(student.getId()))
+            .findFirst()
+            .orElseThrow();
+    }
+}
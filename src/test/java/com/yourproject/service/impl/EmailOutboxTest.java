@@ -0,0 +1,166 @@
+package com.yourproject.service.impl;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.yourproject.JpaTest;
+import com.yourproject.entity.EmailOutboxMessage;
+import com.yourproject.entity.EmailOutboxStatus;
+import com.yourproject.exception.ServiceUnavailableException;
+import com.yourproject.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JpaTest
+// Enqueued rows must commit before the relay, which works in its own transactions, can see them
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxTest {
+
+    private static final long BACKOFF_MS = 60_000;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+        .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void relaySendsDueEmailsAndMarksThemSent() throws Exception {
+        EmailOutbox outbox = newOutbox(greenMail.getSmtp().getPort());
+        for (int i = 0; i < 3; i++) {
+            outbox.enqueue("student" + i + "@test.local", "Fee reminder " + i, "<p>Due soon</p>", true);
+        }
+
+        outbox.relay();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo("Fee reminder 0");
+        assertThat(outboxRepository.findAll())
+            .allSatisfy(message -> {
+                assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+                assertThat(message.getAttempts()).isEqualTo(1);
+                assertThat(message.getSentAt()).isNotNull();
+            });
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoff() throws Exception {
+        EmailOutbox outbox = newOutbox(unusedPort());
+        outbox.enqueue("student@test.local", "Leave approved", "Approved", false);
+        LocalDateTime beforeRelay = LocalDateTime.now();
+
+        outbox.relay();
+        // Not due again until the backoff has passed
+        outbox.relay();
+
+        EmailOutboxMessage message = onlyMessage();
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).isNotBlank();
+        assertThat(message.getClaimToken()).isNull();
+        assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(beforeRelay.plusNanos(BACKOFF_MS * 1_000_000));
+    }
+
+    @Test
+    void sendIsMarkedFailedAfterMaxAttempts() throws Exception {
+        EmailOutbox outbox = newOutbox(unusedPort());
+        ReflectionTestUtils.setField(outbox, "initialBackoffMs", 0L);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 3);
+        outbox.enqueue("student@test.local", "Leave approved", "Approved", false);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(onlyMessage().getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+            outbox.relay();
+        }
+
+        EmailOutboxMessage message = onlyMessage();
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.FAILED);
+        assertThat(message.getAttempts()).isEqualTo(3);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void enqueueIsRejectedAtCapacity() {
+        EmailOutbox outbox = newOutbox(greenMail.getSmtp().getPort());
+        ReflectionTestUtils.setField(outbox, "capacity", 2L);
+        outbox.enqueue("a@test.local", "One", "1", false);
+        outbox.enqueue("b@test.local", "Two", "2", false);
+
+        assertThatThrownBy(() -> outbox.enqueue("c@test.local", "Three", "3", false))
+            .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(outboxRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void rolledBackEnqueueDoesNotTakeCapacity() {
+        EmailOutbox outbox = newOutbox(greenMail.getSmtp().getPort());
+        ReflectionTestUtils.setField(outbox, "capacity", 1L);
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            outbox.enqueue("a@test.local", "Rolled back", "1", false);
+            tx.setRollbackOnly();
+        });
+
+        outbox.enqueue("b@test.local", "Kept", "2", false);
+
+        assertThat(outboxRepository.findAll()).extracting(EmailOutboxMessage::getSubject).containsExactly("Kept");
+    }
+
+    private EmailOutbox newOutbox(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        SmtpTransportPool transportPool = new SmtpTransportPool(mailSender, new SimpleMeterRegistry(), 2, 5000);
+        EmailOutbox outbox = new EmailOutbox(outboxRepository, transportPool, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(outbox, "mailFrom", "hostel@test.local");
+        ReflectionTestUtils.setField(outbox, "capacity", 100L);
+        ReflectionTestUtils.setField(outbox, "batchSize", 50);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 5);
+        ReflectionTestUtils.setField(outbox, "initialBackoffMs", BACKOFF_MS);
+        ReflectionTestUtils.setField(outbox, "maxBackoffMs", 3_600_000L);
+        ReflectionTestUtils.setField(outbox, "claimTimeoutMs", 300_000L);
+        ReflectionTestUtils.setField(outbox, "retryAfterSeconds", 30L);
+        ReflectionTestUtils.setField(outbox, "relayBudgetMs", 1000L);
+        return outbox;
+    }
+
+    private EmailOutboxMessage onlyMessage() {
+        List<EmailOutboxMessage> messages = outboxRepository.findAll();
+        assertThat(messages).hasSize(1);
+        return messages.get(0);
+    }
+
+    // A port nothing listens on, so every connection attempt is refused
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
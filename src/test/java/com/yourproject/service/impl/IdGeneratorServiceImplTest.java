@@ -0,0 +1,176 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.JpaTest;
+import com.yourproject.TestFixtures;
+import com.yourproject.entity.User;
+import com.yourproject.repository.IdSequenceRepository;
+import com.yourproject.repository.LeaveRepository;
+import com.yourproject.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JpaTest
+// Leases commit in their own transactions and are shared between threads
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdGeneratorServiceImplTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250;
+    // Small blocks so that the threads keep going back to the table
+    private static final int BLOCK_SIZE = 7;
+
+    @Autowired
+    private IdSequenceRepository idSequenceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        leaveRepository.deleteAll();
+        userRepository.deleteAll();
+        idSequenceRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCallersAcrossInstancesNeverGetTheSameValue() throws Exception {
+        // Two generators stand in for two application instances sharing the table
+        IdGeneratorServiceImpl instance = newGenerator();
+        IdGeneratorServiceImpl otherInstance = newGenerator();
+
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        List<Long> duplicates = runConcurrently(i -> {
+            IdGeneratorServiceImpl generator = i % 2 == 0 ? instance : otherInstance;
+            long value = generator.nextValue("STRESS");
+            return values.add(value) ? null : value;
+        });
+
+        assertThat(duplicates).isEmpty();
+        assertThat(values).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    void concurrentBusinessIdsAreUnique() throws Exception {
+        IdGeneratorServiceImpl idGenerator = newGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<String> duplicates = runConcurrently(i -> {
+            String id = idGenerator.nextLeaveIdString();
+            return ids.add(id) ? null : id;
+        });
+
+        assertThat(duplicates).isEmpty();
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    void newSequenceStartsAfterTheHighestStoredSuffix() {
+        String prefix = "LV" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        User student = userRepository.save(TestFixtures.student(1));
+        leaveRepository.save(TestFixtures.leave(student, prefix + "0042"));
+        leaveRepository.save(TestFixtures.leave(student, prefix + "0007"));
+        IdGeneratorServiceImpl idGenerator = newGenerator();
+
+        assertThat(idGenerator.nextLeaveIdString()).isEqualTo(prefix + "0043");
+        assertThat(idGenerator.nextLeaveIdString()).isEqualTo(prefix + "0044");
+    }
+
+    @Test
+    void concurrentStudentAndEmployeeIdsAreUnique() throws Exception {
+        IdGeneratorServiceImpl idGenerator = newGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<String> duplicates = runConcurrently(i -> {
+            String id = i % 2 == 0 ? idGenerator.nextStudentId() : idGenerator.nextEmployeeId();
+            return ids.add(id) ? null : id;
+        });
+
+        assertThat(duplicates).isEmpty();
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    void studentAndEmployeeSequencesStartAfterTheRandomIdsAlreadyIssued() {
+        String studentPrefix = "STU" + LocalDate.now().getYear();
+        User student = TestFixtures.student(1);
+        student.setStudentId(studentPrefix + "58213");
+        userRepository.save(student);
+        User warden = TestFixtures.warden(2);
+        warden.setEmployeeId("EMP7301");
+        userRepository.save(warden);
+        IdGeneratorServiceImpl idGenerator = newGenerator();
+
+        assertThat(idGenerator.nextStudentId()).isEqualTo(studentPrefix + "58214");
+        assertThat(idGenerator.nextEmployeeId()).isEqualTo("EMP7302");
+    }
+
+    private IdGeneratorServiceImpl newGenerator() {
+        IdGeneratorServiceImpl generator = new IdGeneratorServiceImpl(idSequenceRepository, entityManager, transactionManager);
+        ReflectionTestUtils.setField(generator, "blockSize", BLOCK_SIZE);
+        return generator;
+    }
+
+    private <T> List<T> runConcurrently(IdCall<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<T>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                Callable<List<T>> task = () -> {
+                    start.await();
+                    List<T> duplicates = new ArrayList<>();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        T duplicate = call.next(thread);
+                        if (duplicate != null) {
+                            duplicates.add(duplicate);
+                        }
+                    }
+                    return duplicates;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            List<T> duplicates = new ArrayList<>();
+            for (Future<List<T>> future : futures) {
+                duplicates.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return duplicates;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Returns the generated value if it was already seen, otherwise null
+    private interface IdCall<T> {
+        T next(int thread);
+    }
+}
@@ -0,0 +1,167 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.JpaTest;
+import com.yourproject.TestFixtures;
+import com.yourproject.config.AppConfig;
+import com.yourproject.entity.*;
+import com.yourproject.mapper.DtoMapper;
+import com.yourproject.service.AnnouncementService;
+import com.yourproject.service.ComplaintService;
+import com.yourproject.service.EmailService;
+import com.yourproject.service.FeeService;
+import com.yourproject.service.FileUploadService;
+import com.yourproject.service.IdGeneratorService;
+import com.yourproject.service.LeaveService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The page endpoints must cost a fixed number of statements however many rows the page holds:
+ * to-one associations come with the page through the "*.list" entity graphs, collections in one
+ * batch per role (default_batch_fetch_size).
+ */
+@JpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({FeeServiceImpl.class, ComplaintServiceImpl.class, LeaveServiceImpl.class, AnnouncementServiceImpl.class,
+        DtoMapper.class, KeysetPaginator.class, AppConfig.class})
+class ListPageStatementCountTest {
+
+    private static final int ROWS = 30;
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 20;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private FileUploadService fileUploadService;
+
+    @MockBean
+    private IdGeneratorService idGeneratorService;
+
+    @MockBean
+    private FeeReminderPipeline feeReminderPipeline;
+
+    @MockBean
+    private ReadReceiptBuffer readReceiptBuffer;
+
+    @MockBean
+    private AnnouncementEmailDispatcher announcementEmailDispatcher;
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User warden;
+
+    @BeforeEach
+    void seed() {
+        warden = TestFixtures.warden(1);
+        entityManager.persist(warden);
+        for (int i = 0; i < ROWS; i++) {
+            User student = TestFixtures.student(i);
+            Room room = TestFixtures.room(i, 2);
+            entityManager.persist(student);
+            entityManager.persist(room);
+
+            entityManager.persist(TestFixtures.fee(student, room, warden));
+
+            Complaint complaint = TestFixtures.complaint(student, room, "CMP" + i);
+            complaint.setAssignedTo(warden);
+            complaint.getTags().add("plumbing");
+            entityManager.persist(complaint);
+
+            Leave leave = TestFixtures.leave(student, "LV" + i);
+            leave.setApprovedBy(warden);
+            entityManager.persist(leave);
+
+            Announcement announcement = TestFixtures.announcement(warden);
+            announcement.getTargetUsers().add(student);
+            announcement.getTargetRooms().add(room);
+            announcement.getTags().add("maintenance");
+            entityManager.persist(announcement);
+            entityManager.persist(new Like(null, announcement, student, null));
+            entityManager.persist(new Comment(null, announcement, student, "Noted", null));
+            entityManager.persist(new ReadReceipt(null, announcement, student, null));
+        }
+        entityManager.flush();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void feePageStatementsDoNotGrowWithPageSize() {
+        // page, count, payment history, reminders
+        assertStatementsPerPage(4, pageable -> feeService.getAllFees(pageable, warden, null, null, null, null));
+    }
+
+    @Test
+    void complaintPageStatementsDoNotGrowWithPageSize() {
+        // page, count, images, status history, tags
+        assertStatementsPerPage(5, pageable -> complaintService.getAllComplaints(pageable, warden, null, null, null));
+    }
+
+    @Test
+    void leavePageStatementsDoNotGrowWithPageSize() {
+        // page, count, attachments, extension requests, status history
+        assertStatementsPerPage(5, pageable -> leaveService.getAllLeaveApplications(pageable, warden, null, null));
+    }
+
+    @Test
+    void announcementPageStatementsDoNotGrowWithPageSize() {
+        // page, count, current user's like/read flags, target users, target rooms, attachments, tags;
+        // likes, comments and read receipts are not loaded for the list view
+        assertStatementsPerPage(7, pageable -> announcementService.getAllAnnouncements(pageable, warden, null, null, null));
+    }
+
+    private void assertStatementsPerPage(long maxStatements, Function<Pageable, Page<?>> listEndpoint) {
+        long smallPage = statementsFor(listEndpoint, SMALL_PAGE);
+        long largePage = statementsFor(listEndpoint, LARGE_PAGE);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isLessThanOrEqualTo(maxStatements);
+    }
+
+    private long statementsFor(Function<Pageable, Page<?>> listEndpoint, int pageSize) {
+        // Start from an empty persistence context so nothing is served from the seeding
+        entityManager.clear();
+        statistics.clear();
+
+        Page<?> page = listEndpoint.apply(PageRequest.of(0, pageSize, Sort.by("id")));
+
+        assertThat(page.getContent()).hasSize(pageSize);
+        assertThat(page.getTotalElements()).isEqualTo(ROWS);
+        return statistics.getPrepareStatementCount();
+    }
+}
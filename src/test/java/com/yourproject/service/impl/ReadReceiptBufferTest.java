@@ -0,0 +1,150 @@
+package com.yourproject.service.impl;
+
+import com.yourproject.JpaTest;
+import com.yourproject.TestFixtures;
+import com.yourproject.entity.Announcement;
+import com.yourproject.entity.ReadReceipt;
+import com.yourproject.entity.User;
+import com.yourproject.repository.AnnouncementRepository;
+import com.yourproject.repository.ReadReceiptRepository;
+import com.yourproject.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@JpaTest
+// Flushes write in their own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReceiptBufferTest {
+
+    // Long enough that only the test's own flush() calls write
+    private static final long FLUSH_INTERVAL_MS = 3_600_000;
+
+    @Autowired
+    private ReadReceiptRepository readReceiptRepository;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<User> students = new ArrayList<>();
+    private Announcement announcement;
+    private Announcement otherAnnouncement;
+    private ReadReceiptBuffer buffer;
+
+    @BeforeEach
+    void seed() {
+        User warden = userRepository.save(TestFixtures.warden(1));
+        for (int i = 0; i < 4; i++) {
+            students.add(userRepository.save(TestFixtures.student(i)));
+        }
+        announcement = announcementRepository.save(TestFixtures.announcement(warden));
+        otherAnnouncement = announcementRepository.save(TestFixtures.announcement(warden));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (buffer != null) {
+            buffer.shutdown();
+        }
+        readReceiptRepository.deleteAll();
+        announcementRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void flushInsertsEachNewReadOnceAndCountsOnlyInsertedRows() {
+        // Student 0 read the announcement before the buffer saw it
+        readReceiptRepository.save(new ReadReceipt(null, announcement, students.get(0), LocalDateTime.now()));
+        buffer = newBuffer(readReceiptRepository, jdbcTemplate);
+
+        buffer.record(announcement.getId(), students.get(0).getId());
+        buffer.record(announcement.getId(), students.get(1).getId());
+        buffer.record(announcement.getId(), students.get(1).getId());
+        buffer.record(announcement.getId(), students.get(2).getId());
+        buffer.record(otherAnnouncement.getId(), students.get(1).getId());
+        buffer.record(otherAnnouncement.getId(), students.get(3).getId());
+        assertThat(buffer.getPendingCount()).isEqualTo(5);
+
+        buffer.flush();
+
+        assertThat(buffer.getPendingCount()).isZero();
+        assertThat(readReceiptRepository.count()).isEqualTo(5);
+        assertCounters(announcement, 2);
+        assertCounters(otherAnnouncement, 2);
+    }
+
+    @Test
+    void failedReadsAreRequeuedAndWrittenOnTheNextFlush() {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        JdbcTemplate failingJdbcTemplate = spy(jdbcTemplate);
+        doAnswer(invocation -> {
+            failIf(databaseDown);
+            return invocation.callRealMethod();
+        }).when(failingJdbcTemplate).update(anyString(), any(PreparedStatementSetter.class));
+        ReadReceiptRepository failingRepository = mock(ReadReceiptRepository.class);
+        doAnswer(invocation -> {
+            failIf(databaseDown);
+            return readReceiptRepository.insertIfAbsent(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        }).when(failingRepository).insertIfAbsent(any(), any(), any());
+        buffer = newBuffer(failingRepository, failingJdbcTemplate);
+
+        buffer.record(announcement.getId(), students.get(0).getId());
+        buffer.record(announcement.getId(), students.get(1).getId());
+        buffer.flush();
+
+        assertThat(buffer.getPendingCount()).isEqualTo(2);
+        assertThat(readReceiptRepository.count()).isZero();
+        assertCounters(announcement, 0);
+
+        databaseDown.set(false);
+        buffer.flush();
+
+        assertThat(buffer.getPendingCount()).isZero();
+        assertThat(readReceiptRepository.count()).isEqualTo(2);
+        assertCounters(announcement, 2);
+    }
+
+    private ReadReceiptBuffer newBuffer(ReadReceiptRepository receipts, JdbcTemplate jdbc) {
+        return new ReadReceiptBuffer(receipts, announcementRepository, jdbc, transactionManager, 100, 100, FLUSH_INTERVAL_MS);
+    }
+
+    private void assertCounters(Announcement expected, int reads) {
+        Announcement stored = announcementRepository.findById(expected.getId()).orElseThrow();
+        assertThat(stored.getReadCount()).isEqualTo(reads);
+        assertThat(stored.getViewCount()).isEqualTo(reads);
+    }
+
+    private static void failIf(AtomicBoolean databaseDown) {
+        if (databaseDown.get()) {
+            throw new QueryTimeoutException("Lock wait timeout exceeded");
+        }
+    }
+}